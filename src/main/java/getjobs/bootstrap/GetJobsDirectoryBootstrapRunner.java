@@ -1,24 +1,24 @@
 package getjobs.bootstrap;
 
 import getjobs.infrastructure.ai.config.DeepseekConfigRefreshService;
+import getjobs.modules.getjobs.service.compaction.JobCompactionService;
 import getjobs.repository.JobRepository;
-import getjobs.repository.entity.JobEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.Ordered;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
 
 /**
  * 应用启动时确保用户目录下存在 getjobs 目录（{@code ${user.home}/getjobs}），
- * 并在数据库就绪后对 job_info 按 encrypt_job_id 去重，保留创建时间最新的一条。
+ * 并在数据库就绪后执行一次性迁移：尚无 (platform, encrypt_job_id) 唯一索引时先压缩历史重复记录，再建立唯一索引，
+ * 供批量 Upsert 使用（索引建立后不会再产生重复记录，之后启动直接跳过压缩），
+ * 最后确保职位全文索引就绪，供关键字搜索使用。
  */
 @Slf4j
 @Component
@@ -28,13 +28,14 @@ public class GetJobsDirectoryBootstrapRunner implements ApplicationRunner, Order
     private static final String GETJOBS_DIR = "getjobs";
 
     private final JobRepository jobRepository;
-    private final TransactionTemplate transactionTemplate;
+    private final JobCompactionService jobCompactionService;
     private final DeepseekConfigRefreshService deepseekConfigRefreshService;
 
     @Override
     public void run(ApplicationArguments args) {
         ensureGetJobsDirectory();
-        deduplicateJobByEncryptJobId();
+        migrateUniqueKey();
+        jobRepository.ensureFullTextIndex();
         deepseekConfigRefreshService.refreshChatModel();
     }
 
@@ -56,36 +57,25 @@ public class GetJobsDirectoryBootstrapRunner implements ApplicationRunner, Order
     }
 
     /**
-     * 按 encrypt_job_id 去重：同一 encrypt_job_id 只保留 createdAt 最新的一条，删除其余历史重复记录。
+     * 建立 (platform, encrypt_job_id) 唯一索引：索引不存在时先压缩重复记录（保留创建时间最新的一条并合并旧记录的处理结果，
+     * 分批小事务删除旧记录），压缩未完成时不建索引，下次启动重试。
      */
-    private void deduplicateJobByEncryptJobId() {
+    private void migrateUniqueKey() {
         try {
-            Integer deleted = transactionTemplate.execute(status -> {
-                List<String> duplicateIds = jobRepository.findEncryptJobIdsWithDuplicates();
-                if (duplicateIds == null || duplicateIds.isEmpty()) {
-                    return 0;
+            if (!jobRepository.hasUniqueKey()) {
+                log.info("job_info 尚无 (platform, encrypt_job_id) 唯一索引，先压缩历史重复记录");
+                JobCompactionService.CompactionResult result = jobCompactionService.compact();
+                if (result.interrupted()) {
+                    log.error("job_info 重复记录压缩未完成，暂不建立唯一索引，批量写入将退化为普通插入，下次启动重试");
+                    return;
                 }
-                int totalDeleted = 0;
-                for (String encryptJobId : duplicateIds) {
-                    List<JobEntity> list = jobRepository.findAllByEncryptJobIdOrderByCreatedAtDesc(encryptJobId);
-                    if (list.size() <= 1) {
-                        continue;
-                    }
-                    // 保留第一条（createdAt 最新），删除其余
-                    List<Long> idsToDelete = list.stream()
-                            .skip(1)
-                            .map(JobEntity::getId)
-                            .toList();
-                    idsToDelete.forEach(jobRepository::deleteById);
-                    totalDeleted += idsToDelete.size();
-                }
-                return totalDeleted;
-            });
-            if (deleted != null && deleted > 0) {
-                log.info("job_info 按 encrypt_job_id 去重完成，删除重复记录数: {}", deleted);
             }
         } catch (Exception e) {
-            log.error("job_info 按 encrypt_job_id 去重失败", e);
+            log.error("job_info 重复记录压缩失败，暂不建立唯一索引，批量写入将退化为普通插入，下次启动重试", e);
+            return;
+        }
+        if (jobRepository.ensureUniqueKey()) {
+            log.info("job_info (platform, encrypt_job_id) 唯一索引已就绪");
         }
     }
 
@@ -0,0 +1,140 @@
+package getjobs.common.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * 职位内容指纹（64 位 SimHash）
+ * <p>
+ * 对归一化后的“职位名称 + 公司名称 + 职位描述”计算 SimHash，同一职位在不同平台上只是措辞、
+ * 空白或标点略有差异时指纹的汉明距离很小。职位描述为空时不计算指纹（仅凭名称与公司无法可靠判重）。
+ * </p>
+ * <p>
+ * 近邻查找采用 LSH 分段：64 位拆成 {@link #BANDS} 段，每段 16 位作为一个桶键。
+ * 汉明距离不超过 {@code BANDS - 1} 的两个指纹至少有一段完全相同（抽屉原理），因此只需比较同桶候选。
+ * </p>
+ *
+ * @author getjobs
+ */
+public final class JobContentFingerprint {
+
+    /**
+     * LSH 分段数
+     */
+    public static final int BANDS = 4;
+
+    private static final int BAND_BITS = Long.SIZE / BANDS;
+
+    private static final int SHINGLE = 3;
+
+    private static final int TITLE_WEIGHT = 4;
+
+    private static final int COMPANY_WEIGHT = 6;
+
+    private static final Pattern NON_CONTENT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern COMPANY_SUFFIX = Pattern.compile("(股份有限公司|有限责任公司|有限公司|集团|公司)$");
+
+    private JobContentFingerprint() {
+    }
+
+    /**
+     * 计算职位内容指纹
+     *
+     * @param title        职位名称
+     * @param company      公司名称
+     * @param descriptions 职位描述候选（取第一个非空的，如详情描述优先于列表摘要）
+     * @return 指纹；职位描述均为空时返回 null
+     */
+    public static Long of(String title, String company, String... descriptions) {
+        String jd = "";
+        for (String description : descriptions) {
+            jd = normalize(description);
+            if (!jd.isEmpty()) {
+                break;
+            }
+        }
+        if (jd.isEmpty()) {
+            return null;
+        }
+        int[] weights = new int[Long.SIZE];
+        addShingles(weights, jd, 1);
+        addShingles(weights, normalize(title), TITLE_WEIGHT);
+        String normalizedCompany = COMPANY_SUFFIX.matcher(normalize(company)).replaceAll("");
+        if (!normalizedCompany.isEmpty()) {
+            add(weights, hash(normalizedCompany), COMPANY_WEIGHT);
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 两个指纹的汉明距离
+     */
+    public static int distance(long left, long right) {
+        return Long.bitCount(left ^ right);
+    }
+
+    /**
+     * 指纹的 LSH 桶键（段序号占高位，避免不同段的相同取值落入同一桶）
+     */
+    public static int[] bands(long fingerprint) {
+        int[] keys = new int[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            int bits = (int) ((fingerprint >>> (band * BAND_BITS)) & ((1L << BAND_BITS) - 1));
+            keys[band] = (band << BAND_BITS) | bits;
+        }
+        return keys;
+    }
+
+    /**
+     * 归一化：转小写并去除空白与标点，仅保留文字与数字
+     */
+    private static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        return NON_CONTENT.matcher(text.toLowerCase()).replaceAll("");
+    }
+
+    private static void addShingles(int[] weights, String text, int weight) {
+        if (text.isEmpty()) {
+            return;
+        }
+        if (text.length() <= SHINGLE) {
+            add(weights, hash(text), weight);
+            return;
+        }
+        for (int i = 0; i + SHINGLE <= text.length(); i++) {
+            add(weights, hash(text.substring(i, i + SHINGLE)), weight);
+        }
+    }
+
+    private static void add(int[] weights, long hash, int weight) {
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            weights[bit] += ((hash >>> bit) & 1L) != 0 ? weight : -weight;
+        }
+    }
+
+    /**
+     * FNV-1a 64 位哈希，并经 MurmurHash3 fmix64 打散
+     */
+    private static long hash(String text) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
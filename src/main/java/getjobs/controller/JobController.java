@@ -1,8 +1,12 @@
 package getjobs.controller;
 
+import getjobs.modules.getjobs.dto.JobCursorPage;
 import getjobs.repository.entity.JobEntity;
+import getjobs.repository.projection.JobDetailFieldsDTO;
 import getjobs.modules.getjobs.service.JobService;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 
@@ -36,6 +41,48 @@ public class JobController {
         return jobService.search(platform, status, keyword, page, size);
     }
 
+    /**
+     * 轻量职位列表（游标分页）
+     * <p>
+     * 只返回列表展示字段，不做逐页 COUNT；大字段通过 {@code GET /api/jobs/{id}/details} 按需加载。
+     * </p>
+     * <p>
+     * 前端职位记录页暂仍使用 {@code GET /api/jobs}：页面依赖关键字搜索与页码跳转，本接口尚不支持，
+     * 待补充 keyword 参数后再迁移；目前供脚本与外部调用使用。
+     * </p>
+     *
+     * @param cursor    上一页返回的 nextCursor，首页不传
+     * @param size      每页大小（最大 200）
+     * @param withTotal 是否返回近似总数
+     * @return 游标分页结果
+     */
+    @GetMapping("/slim")
+    public JobCursorPage listSlim(
+            @RequestParam(value = "platform", required = false) String platform,
+            @RequestParam(value = "status", required = false) Integer status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        try {
+            return jobService.listSlim(platform, status, cursor, size, withTotal);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按需加载职位大字段（列表行展开时调用）
+     *
+     * @param id 职位主键 ID
+     * @return 职位描述、AI 匹配理由、福利等大字段
+     */
+    @GetMapping("/{id}/details")
+    public ResponseEntity<JobDetailFieldsDTO> details(@PathVariable Long id) {
+        return jobService.findDetailFields(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/reset-filter")
     public int resetFilter(@RequestParam("platform") String platform) {
         return jobService.resetFilterByPlatform(platform);
@@ -0,0 +1,62 @@
+package getjobs.infrastructure.ai.budget;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 提示词中职位描述（JD）的 token 预算配置属性
+ * <p>
+ * 通过 application.yml 中的 ai.prompts.jd-budget.* 进行配置，未单独配置的模板使用默认预算：
+ * </p>
+ *
+ * <pre>{@code
+ * ai:
+ *   prompts:
+ *     jd-budget:
+ *       enabled: true          # 是否压缩 JD（默认 true，关闭后原样注入）
+ *       default-tokens: 800    # 默认单个 JD 的 token 预算（默认 800）
+ *       templates:
+ *         job-match-batch-v1: 400
+ *         greeting-v1: 500
+ * }</pre>
+ *
+ * @author getjobs
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.prompts.jd-budget")
+public class JdBudgetProperties {
+
+    /**
+     * 是否压缩 JD
+     * <p>
+     * 默认值：true。关闭后 JD 原样注入提示词，仍统计 token 数
+     * </p>
+     */
+    private boolean enabled = true;
+
+    /**
+     * 默认单个 JD 的 token 预算
+     * <p>
+     * 默认值：800
+     * </p>
+     */
+    private int defaultTokens = 800;
+
+    /**
+     * 按模板 ID 覆盖的 token 预算（批量模板为每个 JD 的预算）
+     */
+    private Map<String, Integer> templates = new HashMap<>();
+
+    /**
+     * 获取模板的 JD token 预算
+     */
+    public int budgetOf(String templateId) {
+        Integer budget = templateId != null ? templates.get(templateId) : null;
+        return Math.max(1, budget != null ? budget : defaultTokens);
+    }
+}
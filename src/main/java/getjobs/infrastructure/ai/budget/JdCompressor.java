@@ -0,0 +1,334 @@
+package getjobs.infrastructure.ai.budget;
+
+import getjobs.infrastructure.ai.extract.KeywordExtractor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 职位描述（JD）压缩，在组装提示词前将 JD 控制在模板的 token 预算内
+ * <p>
+ * 处理步骤：
+ * <ol>
+ * <li>还原 HTML 实体、去除标签，按行与句末标点/序号切分为句子；</li>
+ * <li>去掉福利待遇、公司介绍、工作地点、联系方式等段落及福利类句子，去除重复句子；</li>
+ * <li>仍超出预算时，按 {@link KeywordExtractor#tokenize} 的词项给句子打分（JD 内词频、与求职意向重合的词项、
+ * 任职要求段落与“熟悉/经验/要求”等要求类用词加分），按分数选取句子直到用完预算，再按原顺序输出。</li>
+ * </ol>
+ * 传入用户补充判定规则时，规则可能针对工作时间、地点、福利等内容（如“必须双休”），此时不删除样板段落与福利类句子，
+ * 规则并入参考文本；包含规则中福利/样板类用词的句子优先保留。
+ * 输出只依赖输入，同一 JD 始终得到同一结果（AI 匹配缓存以提示词为键）。
+ * token 数由 {@link TokenEstimator} 本地估算，压缩前后分别计入 {@code ai.prompt.jd.tokens}（{@code stage} = raw / compressed）。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Component
+public class JdCompressor {
+
+    private static final Pattern TAG = Pattern.compile("<(br|p|div|li)\\b[^>]*>|</(p|div|li)>|<[^>]+>",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern INLINE_WHITESPACE = Pattern.compile("[\\t\\x0B\\f\\r \\u00A0\\u3000]+");
+
+    private static final Pattern SENTENCE_BREAK = Pattern.compile(
+            "(?<=[。；;！!])|(?<=[\\p{IsHan}。；;，,：:])(?=\\d{1,2}[、.．](?!\\d))|(?=(?<!\\d)\\d{1,2}、)");
+
+    private static final Pattern LIST_NUMBER = Pattern.compile("^[(（]?\\d{1,2}[、.．)）]\\s*");
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{IsHan}A-Za-z0-9]+");
+
+    private static final String REQUIREMENT_HEADERS =
+            "岗位职责|工作职责|职位描述|职位详情|工作内容|任职要求|任职资格|岗位要求|职位要求|技能要求|加分项|优先条件|你需要|我们希望你";
+
+    private static final String BOILERPLATE_HEADERS =
+            "福利待遇|薪资福利|公司福利|员工福利|我们提供|福利|公司介绍|公司简介|关于我们|团队介绍|工作地点|工作地址|上班地址|办公地点|工作时间|上班时间|联系方式";
+
+    private static final Pattern HEADER = Pattern.compile(
+            "^[\\s\\d一二三四五六七八九十、.．()（）【\\[#*]*(" + REQUIREMENT_HEADERS + "|" + BOILERPLATE_HEADERS
+                    + ")[】\\]\\s*]*(?:[：:]\\s*(.*))?$");
+
+    private static final Pattern BOILERPLATE_HEADER = Pattern.compile(BOILERPLATE_HEADERS);
+
+    private static final Pattern BOILERPLATE_LINE = Pattern.compile(
+            "五险一金|六险一金|带薪年假|节日福利|节假日福利|下午茶|零食|团建|年度旅游|年终奖|定期体检|免费班车|餐补|交通补贴|住房补贴|房补"
+                    + "|股票期权|弹性工作|双休|生日会|扁平化管理|晋升空间|晋升通道|培训机会|联系电话|联系人|简历投递|投递简历|邮箱|微信");
+
+    private static final Pattern REQUIREMENT_MARKER = Pattern.compile(
+            "熟悉|掌握|精通|了解|经验|负责|要求|优先|以上|学历|本科|硕士|能力|具备|参与|设计|开发");
+
+    /**
+     * 样板段落中出现这类要求时视为段落已结束（未识别到要求类标题的 JD）
+     */
+    private static final Pattern STRONG_REQUIREMENT = Pattern.compile("熟悉|掌握|精通|经验|学历|本科|硕士|以上");
+
+    private static final double FOCUS_WEIGHT = 2.0;
+
+    /**
+     * 命中补充规则中样板类用词的句子加分，保证在预算内优先选中
+     */
+    private static final double RULE_WEIGHT = 100.0;
+
+    private final KeywordExtractor keywordExtractor;
+    private final JdBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public JdCompressor(KeywordExtractor keywordExtractor, JdBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.keywordExtractor = keywordExtractor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 按模板的 token 预算压缩 JD
+     *
+     * @param templateId 提示词模板 ID，决定预算
+     * @param jd         职位描述，可为 null
+     * @param focus      求职意向等参考文本，其中出现的词项所在句子优先保留，可为 null
+     * @return 压缩后的职位描述；未启用压缩或 JD 为空时原样返回
+     */
+    public String compress(String templateId, String jd, String focus) {
+        return compress(templateId, jd, focus, List.of());
+    }
+
+    /**
+     * 按模板的 token 预算压缩 JD，保留补充判定规则涉及的内容
+     *
+     * @param templateId 提示词模板 ID，决定预算
+     * @param jd         职位描述，可为 null
+     * @param focus      求职意向等参考文本，其中出现的词项所在句子优先保留，可为 null
+     * @param rules      用户补充判定规则，非空时不删除样板段落与福利类句子，可为 null
+     * @return 压缩后的职位描述；未启用压缩或 JD 为空时原样返回
+     */
+    public String compress(String templateId, String jd, String focus, Collection<String> rules) {
+        if (jd == null || jd.isBlank()) {
+            return jd;
+        }
+        int before = TokenEstimator.estimate(jd);
+        String result = properties.isEnabled() ? compress(jd, focus, rules, properties.budgetOf(templateId)) : jd;
+        record(templateId, "raw", before);
+        record(templateId, "compressed", properties.isEnabled() ? TokenEstimator.estimate(result) : before);
+        return result;
+    }
+
+    private String compress(String jd, String focus, Collection<String> rules, int budget) {
+        String ruleText = rules == null ? "" : String.join("\n", rules).trim();
+        List<Sentence> sentences = split(jd, ruleText.isEmpty());
+        if (sentences.isEmpty()) {
+            return jd.trim();
+        }
+        int total = 0;
+        for (Sentence sentence : sentences) {
+            total += sentence.tokens;
+        }
+        if (total <= budget) {
+            return join(sentences);
+        }
+        if (ruleText.isEmpty()) {
+            return join(select(sentences, focus, Set.of(), budget));
+        }
+        return join(select(sentences, focus == null ? ruleText : focus + "\n" + ruleText, ruleTerms(ruleText),
+                budget));
+    }
+
+    /**
+     * 补充规则中出现的样板类用词（如“双休”“工作地点”），包含这些词的句子优先保留
+     */
+    private static Set<String> ruleTerms(String ruleText) {
+        Set<String> terms = new HashSet<>();
+        for (Pattern pattern : List.of(BOILERPLATE_LINE, BOILERPLATE_HEADER)) {
+            Matcher matcher = pattern.matcher(ruleText);
+            while (matcher.find()) {
+                terms.add(matcher.group());
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 清理并切分为句子，去掉重复句子
+     *
+     * @param stripBoilerplate 是否去掉样板段落与福利类句子
+     */
+    private static List<Sentence> split(String jd, boolean stripBoilerplate) {
+        String text = HtmlUtils.htmlUnescape(TAG.matcher(jd).replaceAll("\n"));
+        List<Sentence> sentences = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        boolean boilerplateSection = false;
+        boolean requirementSection = false;
+        for (String rawLine : text.split("\n")) {
+            String line = INLINE_WHITESPACE.matcher(rawLine).replaceAll(" ").trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            Matcher header = HEADER.matcher(line);
+            if (header.matches()) {
+                boolean boilerplateHeader = BOILERPLATE_HEADER.matcher(header.group(1)).matches();
+                requirementSection = !boilerplateHeader;
+                if (boilerplateHeader && !stripBoilerplate) {
+                    // 保留样板段落时连同标题保留，“工作时间：9:00-18:00”去掉标题后语义不完整
+                    boilerplateSection = false;
+                } else {
+                    boilerplateSection = boilerplateHeader;
+                    line = header.group(2) == null ? "" : header.group(2).trim();
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                }
+            }
+            if (boilerplateSection) {
+                if (!STRONG_REQUIREMENT.matcher(line).find()) {
+                    continue;
+                }
+                boilerplateSection = false;
+            }
+            for (String part : SENTENCE_BREAK.split(line)) {
+                String sentence = part.trim();
+                String key = dedupKey(sentence);
+                if (key.isEmpty() || (stripBoilerplate && isBoilerplate(sentence)) || !seen.add(key)) {
+                    continue;
+                }
+                sentences.add(new Sentence(sentences.size(), sentence, requirementSection));
+            }
+        }
+        return sentences;
+    }
+
+    private static boolean isBoilerplate(String sentence) {
+        return BOILERPLATE_LINE.matcher(sentence).find() && !REQUIREMENT_MARKER.matcher(sentence).find();
+    }
+
+    /**
+     * 去重键：忽略序号、标点与空白
+     */
+    private static String dedupKey(String sentence) {
+        String body = LIST_NUMBER.matcher(sentence).replaceFirst("");
+        return NON_WORD.matcher(body).replaceAll("").toLowerCase();
+    }
+
+    /**
+     * 按分数选取句子直到用完预算，按原顺序返回
+     *
+     * @param ruleTerms 补充规则中的样板类用词，包含这些词的句子优先选取
+     */
+    private List<Sentence> select(List<Sentence> sentences, String focus, Set<String> ruleTerms, int budget) {
+        Map<String, Integer> frequency = new HashMap<>();
+        List<Set<String>> terms = new ArrayList<>(sentences.size());
+        for (Sentence sentence : sentences) {
+            Set<String> sentenceTerms = new LinkedHashSet<>(keywordExtractor.tokenize(sentence.text));
+            terms.add(sentenceTerms);
+            sentenceTerms.forEach(term -> frequency.merge(term, 1, Integer::sum));
+        }
+        Set<String> focusTerms = new HashSet<>(keywordExtractor.tokenize(focus));
+
+        for (Sentence sentence : sentences) {
+            Set<String> sentenceTerms = terms.get(sentence.index);
+            double score = 0;
+            for (String term : sentenceTerms) {
+                score += Math.log(1 + frequency.get(term)) + (focusTerms.contains(term) ? FOCUS_WEIGHT : 0);
+            }
+            score = sentenceTerms.isEmpty() ? 0 : score / Math.sqrt(sentenceTerms.size());
+            if (sentence.requirement) {
+                score += 1;
+            }
+            if (REQUIREMENT_MARKER.matcher(sentence.text).find()) {
+                score += 1;
+            }
+            for (String term : ruleTerms) {
+                if (sentence.text.contains(term)) {
+                    score += RULE_WEIGHT;
+                    break;
+                }
+            }
+            sentence.score = score;
+        }
+
+        List<Sentence> ranked = new ArrayList<>(sentences);
+        ranked.sort(Comparator.comparingDouble((Sentence sentence) -> sentence.score).reversed()
+                .thenComparingInt(sentence -> sentence.index));
+        List<Sentence> selected = new ArrayList<>();
+        int used = 0;
+        for (Sentence sentence : ranked) {
+            if (used + sentence.tokens <= budget) {
+                selected.add(sentence);
+                used += sentence.tokens;
+            }
+        }
+        if (selected.isEmpty()) {
+            Sentence best = ranked.get(0);
+            selected.add(new Sentence(best.index, truncate(best.text, budget), best.requirement));
+        }
+        selected.sort(Comparator.comparingInt(sentence -> sentence.index));
+        return selected;
+    }
+
+    /**
+     * 按 token 预算截断单个句子
+     */
+    private static String truncate(String text, int budget) {
+        double tokens = 0;
+        int end = 0;
+        while (end < text.length()) {
+            int codePoint = text.codePointAt(end);
+            tokens += TokenEstimator.tokensOf(codePoint);
+            if (Math.ceil(tokens) > budget) {
+                break;
+            }
+            end += Character.charCount(codePoint);
+        }
+        return text.substring(0, end);
+    }
+
+    private static String join(List<Sentence> sentences) {
+        StringBuilder builder = new StringBuilder();
+        for (Sentence sentence : sentences) {
+            if (!builder.isEmpty()) {
+                builder.append('\n');
+            }
+            builder.append(sentence.text);
+        }
+        return builder.toString();
+    }
+
+    private void record(String templateId, String stage, int tokens) {
+        DistributionSummary.builder("ai.prompt.jd.tokens")
+                .description("提示词中职位描述的估算 token 数")
+                .tag("template", templateId == null ? "unknown" : templateId)
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(tokens);
+    }
+
+    private static final class Sentence {
+
+        private final int index;
+
+        private final String text;
+
+        private final boolean requirement;
+
+        private final int tokens;
+
+        private double score;
+
+        private Sentence(int index, String text, boolean requirement) {
+            this.index = index;
+            this.text = text;
+            this.requirement = requirement;
+            this.tokens = TokenEstimator.estimate(text);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package getjobs.infrastructure.ai.budget;
+
+/**
+ * 本地 token 数估算
+ * <p>
+ * 不依赖具体模型的分词器，按字符类别近似：汉字及全角标点约 0.6 token/字，ASCII 字符约 0.3 token/字，
+ * 其他字符约 0.5 token/字（参考 DeepSeek 文档给出的换算比例）。只用于预算控制与统计，不用于计费。
+ * </p>
+ *
+ * @author getjobs
+ */
+public final class TokenEstimator {
+
+    private static final double CJK_TOKENS = 0.6;
+
+    private static final double ASCII_TOKENS = 0.3;
+
+    private static final double OTHER_TOKENS = 0.5;
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * 估算文本的 token 数
+     *
+     * @param text 文本，可为 null
+     * @return 估算的 token 数（向上取整）
+     */
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        double tokens = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            tokens += tokensOf(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return (int) Math.ceil(tokens);
+    }
+
+    /**
+     * 单个字符的估算 token 数
+     */
+    static double tokensOf(int codePoint) {
+        if (codePoint < 0x80) {
+            return ASCII_TOKENS;
+        }
+        if (Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN
+                || (codePoint >= 0x3000 && codePoint <= 0x303F)
+                || (codePoint >= 0xFF00 && codePoint <= 0xFFEF)) {
+            return CJK_TOKENS;
+        }
+        return OTHER_TOKENS;
+    }
+}
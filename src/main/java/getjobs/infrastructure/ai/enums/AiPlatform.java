@@ -34,4 +34,19 @@ public enum AiPlatform {
                 throw new IllegalArgumentException("Unsupported AI platform: " + this);
         }
     }
+
+    /**
+     * 根据 ChatModel Bean 名称查找平台
+     *
+     * @param beanName Bean 名称
+     * @return 平台，未知的 Bean 名称返回 null
+     */
+    public static AiPlatform fromModelBeanName(String beanName) {
+        for (AiPlatform platform : values()) {
+            if (platform.getModelBeanName().equals(beanName)) {
+                return platform;
+            }
+        }
+        return null;
+    }
 }
@@ -2,6 +2,7 @@ package getjobs.infrastructure.ai.extract;
 
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,4 +31,52 @@ public class KeywordExtractor {
                 .map(Map.Entry::getKey)
                 .toList();
     }
+
+    /**
+     * 切分为检索用的词项（保留重复，用于统计词频）
+     * <p>
+     * 字母数字连续段作为一个词（转小写，长度至少 2）；汉字连续段不做分词，按相邻两字切分为二元词，
+     * 单个汉字忽略。停用词不输出。
+     * </p>
+     *
+     * @param text 文本
+     * @return 词项列表
+     */
+    public List<String> tokenize(String text) {
+        if (text == null || text.isBlank())
+            return List.of();
+        List<String> terms = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isHan(c)) {
+                int start = i;
+                while (i < length && isHan(text.charAt(i)))
+                    i++;
+                for (int j = start; j + 1 < i; j++) {
+                    String w = text.substring(j, j + 2);
+                    if (!STOP.contains(w))
+                        terms.add(w);
+                }
+            } else if (isAsciiLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && isAsciiLetterOrDigit(text.charAt(i)))
+                    i++;
+                if (i - start >= 2)
+                    terms.add(text.substring(start, i).toLowerCase());
+            } else {
+                i++;
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isHan(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
 }
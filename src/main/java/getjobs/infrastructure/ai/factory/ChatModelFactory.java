@@ -25,4 +25,11 @@ public class ChatModelFactory {
     public ChatModel getChatModel(AiPlatform platform) {
         return chatModelMap.get(platform);
     }
+
+    /**
+     * 平台是否注册了 ChatModel
+     */
+    public boolean isAvailable(AiPlatform platform) {
+        return platform != null && chatModelMap.containsKey(platform);
+    }
 }
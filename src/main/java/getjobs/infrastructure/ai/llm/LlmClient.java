@@ -2,6 +2,8 @@ package getjobs.infrastructure.ai.llm;
 
 import getjobs.infrastructure.ai.enums.AiPlatform;
 
+import reactor.core.publisher.Flux;
+
 import java.util.List;
 
 /**
@@ -49,4 +51,56 @@ public interface LlmClient {
     default String chat(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature) {
         return chat(messages, modelOverride, temperature);
     }
+
+    /**
+     * 使用默认平台和模型进行流式对话。
+     *
+     * @param messages 消息列表
+     * @return 模型回复的增量文本片段；取消订阅即停止接收（上游连接随之关闭，模型不再继续生成）
+     * @see LlmStreams
+     */
+    default Flux<String> stream(List<LlmMessage> messages) {
+        return stream(null, messages, null, null);
+    }
+
+    /**
+     * 使用指定平台、模型与温度进行流式对话。
+     * <p>
+     * 默认实现退化为一次性调用 {@link #chat(AiPlatform, List, String, Double)}，整段回复作为唯一片段发出。
+     * </p>
+     *
+     * @param platform      AI 平台，为 null 时使用默认平台
+     * @param messages      消息列表
+     * @param modelOverride 模型名，可为 null
+     * @param temperature   采样温度，可为 null（使用默认配置）
+     * @return 模型回复的增量文本片段
+     */
+    default Flux<String> stream(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature) {
+        return Flux.defer(() -> Flux.just(chat(platform, messages, modelOverride, temperature)));
+    }
+
+    /**
+     * 按调用场景进行对话，路由实现据此选择平台、故障转移与对冲策略。
+     *
+     * @param useCase       调用场景
+     * @param platform      AI 平台，为 null 时由路由策略选择；指定时只调用该平台
+     * @param messages      消息列表
+     * @param modelOverride 模型名，可为 null（指定模型时只使用首选平台）
+     * @param temperature   采样温度，可为 null（使用默认配置）
+     * @return 模型回复文本
+     */
+    default String chat(LlmUseCase useCase, AiPlatform platform, List<LlmMessage> messages, String modelOverride,
+            Double temperature) {
+        return chat(platform, messages, modelOverride, temperature);
+    }
+
+    /**
+     * 按调用场景进行流式对话。
+     *
+     * @see #chat(LlmUseCase, AiPlatform, List, String, Double)
+     */
+    default Flux<String> stream(LlmUseCase useCase, AiPlatform platform, List<LlmMessage> messages,
+            String modelOverride, Double temperature) {
+        return stream(platform, messages, modelOverride, temperature);
+    }
 }
@@ -0,0 +1,203 @@
+package getjobs.infrastructure.ai.llm;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 各 LLM 平台的实时延迟、错误率与熔断状态
+ * <p>
+ * 数据来自实际调用（{@link RoutingLlmClient}）与模型健康检查：调用成功记录延迟（EWMA 与最近
+ * {@value #WINDOW} 次的延迟窗口，用于计算对冲阈值）；失败计入错误率 EWMA 与连续失败次数，
+ * 连续失败达到阈值后熔断，熔断到期后放行请求，再次失败立即重新熔断，成功一次即恢复。
+ * 健康检查只更新成功/失败，不计入延迟。对冲中被取消的请求记为删失样本（已等待的时长），只计入延迟，
+ * 否则慢平台总被取消、只留下快的样本，分位延迟会被低估。
+ * </p>
+ * <p>
+ * 指标：{@code llm.routing.latency.ewma}、{@code llm.routing.error.rate}、{@code llm.routing.circuit.open}（按平台）。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Component
+public class LlmPlatformStats {
+
+    private static final int WINDOW = 128;
+
+    private final LlmRoutingProperties properties;
+
+    private final Map<AiPlatform, Stats> stats = new EnumMap<>(AiPlatform.class);
+
+    public LlmPlatformStats(LlmRoutingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (AiPlatform platform : AiPlatform.values()) {
+            Stats platformStats = new Stats();
+            stats.put(platform, platformStats);
+            String tag = platform.name().toLowerCase();
+            Gauge.builder("llm.routing.latency.ewma", platformStats, s -> s.latencyEwma())
+                    .description("LLM 调用延迟 EWMA（毫秒）")
+                    .tag("platform", tag)
+                    .register(meterRegistry);
+            Gauge.builder("llm.routing.error.rate", platformStats, s -> s.errorEwma())
+                    .description("LLM 调用错误率 EWMA")
+                    .tag("platform", tag)
+                    .register(meterRegistry);
+            Gauge.builder("llm.routing.circuit.open", platformStats, s -> s.isOpen(System.currentTimeMillis()) ? 1 : 0)
+                    .description("LLM 平台是否处于熔断状态")
+                    .tag("platform", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 记录一次成功调用
+     *
+     * @param platform  平台
+     * @param latencyMs 调用耗时（毫秒）
+     */
+    public void recordSuccess(AiPlatform platform, long latencyMs) {
+        stats.get(platform).success(latencyMs, properties.getEwmaAlpha());
+    }
+
+    /**
+     * 记录一次成功但不计延迟的结果（流式调用、健康检查）
+     *
+     * @param platform 平台
+     */
+    public void recordSuccess(AiPlatform platform) {
+        stats.get(platform).success(-1, properties.getEwmaAlpha());
+    }
+
+    /**
+     * 记录一次被取消请求的已等待时长（删失样本：实际延迟不低于该值），只计入延迟，不影响错误率与熔断
+     *
+     * @param platform  平台
+     * @param latencyMs 取消前已等待的时长（毫秒）
+     */
+    public void recordCensoredLatency(AiPlatform platform, long latencyMs) {
+        stats.get(platform).latency(latencyMs, properties.getEwmaAlpha());
+    }
+
+    /**
+     * 记录一次失败
+     *
+     * @param platform 平台
+     */
+    public void recordFailure(AiPlatform platform) {
+        stats.get(platform).failure(properties.getEwmaAlpha(), properties.getFailureThreshold(),
+                properties.getOpenDurationMs());
+    }
+
+    /**
+     * 平台当前是否可以调用（未熔断）
+     */
+    public boolean isAvailable(AiPlatform platform) {
+        return !stats.get(platform).isOpen(System.currentTimeMillis());
+    }
+
+    /**
+     * 平台的路由得分，越小越优先：延迟 EWMA / (1 - 错误率 EWMA)
+     *
+     * @return 得分；没有延迟样本时返回 {@link Double#MAX_VALUE}
+     */
+    public double score(AiPlatform platform) {
+        return stats.get(platform).score();
+    }
+
+    /**
+     * 平台的延迟样本数（最多为窗口大小）
+     */
+    public int sampleCount(AiPlatform platform) {
+        return stats.get(platform).sampleCount();
+    }
+
+    /**
+     * 平台最近调用延迟的分位数
+     *
+     * @param platform   平台
+     * @param percentile 分位（0~1）
+     * @return 延迟（毫秒），没有样本时返回 -1
+     */
+    public long latencyPercentile(AiPlatform platform, double percentile) {
+        return stats.get(platform).percentile(percentile);
+    }
+
+    private static final class Stats {
+
+        private final long[] window = new long[WINDOW];
+
+        private int count;
+
+        private int next;
+
+        private double latencyEwma = -1;
+
+        private double errorEwma;
+
+        private int consecutiveFailures;
+
+        private long openUntil;
+
+        synchronized void success(long latencyMs, double alpha) {
+            latency(latencyMs, alpha);
+            errorEwma = (1 - alpha) * errorEwma;
+            consecutiveFailures = 0;
+            openUntil = 0;
+        }
+
+        synchronized void latency(long latencyMs, double alpha) {
+            if (latencyMs < 0) {
+                return;
+            }
+            latencyEwma = latencyEwma < 0 ? latencyMs : alpha * latencyMs + (1 - alpha) * latencyEwma;
+            window[next] = latencyMs;
+            next = (next + 1) % WINDOW;
+            count = Math.min(WINDOW, count + 1);
+        }
+
+        synchronized void failure(double alpha, int threshold, long openDurationMs) {
+            errorEwma = alpha + (1 - alpha) * errorEwma;
+            if (++consecutiveFailures >= Math.max(1, threshold)) {
+                openUntil = System.currentTimeMillis() + openDurationMs;
+            }
+        }
+
+        synchronized boolean isOpen(long now) {
+            return now < openUntil;
+        }
+
+        synchronized double latencyEwma() {
+            return Math.max(0, latencyEwma);
+        }
+
+        synchronized double errorEwma() {
+            return errorEwma;
+        }
+
+        synchronized double score() {
+            if (latencyEwma < 0) {
+                return Double.MAX_VALUE;
+            }
+            return latencyEwma / Math.max(0.1, 1 - errorEwma);
+        }
+
+        synchronized int sampleCount() {
+            return count;
+        }
+
+        synchronized long percentile(double percentile) {
+            if (count == 0) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(window, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package getjobs.infrastructure.ai.llm;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * LLM 调用限流配置属性
+ * <p>
+ * 通过 application.yml 中的 ai.llm.rate-limit.* 进行配置，未单独配置的平台使用默认值：
+ * </p>
+ *
+ * <pre>{@code
+ * ai:
+ *   llm:
+ *     rate-limit:
+ *       default-concurrency: 4           # 默认单平台最大并发请求数（默认 4）
+ *       default-requests-per-minute: 60  # 默认单平台每分钟请求数上限（默认 60，0 表示不限）
+ *       platforms:
+ *         deepseek:
+ *           concurrency: 8
+ *           requests-per-minute: 120
+ * }</pre>
+ *
+ * @author getjobs
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.llm.rate-limit")
+public class LlmRateLimitProperties {
+
+    /**
+     * 默认单平台最大并发请求数
+     * <p>
+     * 默认值：4
+     * </p>
+     */
+    private int defaultConcurrency = 4;
+
+    /**
+     * 默认单平台每分钟请求数上限
+     * <p>
+     * 默认值：60。0 或负数表示不限速
+     * </p>
+     */
+    private int defaultRequestsPerMinute = 60;
+
+    /**
+     * 按平台覆盖的限流配置
+     */
+    private Map<AiPlatform, PlatformLimit> platforms = new EnumMap<>(AiPlatform.class);
+
+    /**
+     * 单个平台的限流配置，未设置的项使用默认值
+     */
+    @Data
+    public static class PlatformLimit {
+
+        /**
+         * 最大并发请求数
+         */
+        private Integer concurrency;
+
+        /**
+         * 每分钟请求数上限
+         */
+        private Integer requestsPerMinute;
+    }
+
+    /**
+     * 获取平台的最大并发请求数
+     */
+    public int concurrencyOf(AiPlatform platform) {
+        PlatformLimit limit = platforms.get(platform);
+        int value = limit != null && limit.getConcurrency() != null ? limit.getConcurrency() : defaultConcurrency;
+        return Math.max(1, value);
+    }
+
+    /**
+     * 获取平台的每分钟请求数上限（0 表示不限速）
+     */
+    public int requestsPerMinuteOf(AiPlatform platform) {
+        PlatformLimit limit = platforms.get(platform);
+        int value = limit != null && limit.getRequestsPerMinute() != null
+                ? limit.getRequestsPerMinute()
+                : defaultRequestsPerMinute;
+        return Math.max(0, value);
+    }
+}
@@ -0,0 +1,99 @@
+package getjobs.infrastructure.ai.llm;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * LLM 调用限流器（按 {@link AiPlatform} 隔离）
+ * <p>
+ * 每个平台一个并发信号量与一个匀速发放的请求时间槽：
+ * 调用先占用并发许可，再等待属于自己的时间槽（间隔 = 60s / requests-per-minute），然后发起请求。
+ * 限流参数见 {@link LlmRateLimitProperties}，在首次使用某平台时读取。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Component
+public class LlmRateLimiter {
+
+    private final LlmRateLimitProperties properties;
+
+    private final Map<AiPlatform, PlatformLimiter> limiters = new ConcurrentHashMap<>();
+
+    public LlmRateLimiter(LlmRateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 在平台限流约束下执行一次调用
+     *
+     * @param platform AI 平台
+     * @param call     实际调用
+     * @param <T>      返回值类型
+     * @return 调用结果
+     * @throws InterruptedException 等待许可或时间槽时被中断
+     */
+    public <T> T execute(AiPlatform platform, Supplier<T> call) throws InterruptedException {
+        PlatformLimiter limiter = limiters.computeIfAbsent(platform, key -> new PlatformLimiter(
+                properties.concurrencyOf(key), properties.requestsPerMinuteOf(key)));
+        limiter.permits.acquire();
+        try {
+            limiter.awaitSlot();
+            return call.get();
+        } finally {
+            limiter.permits.release();
+        }
+    }
+
+    /**
+     * 获取平台的最大并发请求数
+     *
+     * @param platform AI 平台
+     * @return 最大并发请求数
+     */
+    public int concurrencyOf(AiPlatform platform) {
+        return properties.concurrencyOf(platform);
+    }
+
+    private static final class PlatformLimiter {
+
+        private final Semaphore permits;
+
+        private final long intervalNanos;
+
+        private final AtomicLong nextSlotNanos = new AtomicLong(System.nanoTime());
+
+        private PlatformLimiter(int concurrency, int requestsPerMinute) {
+            this.permits = new Semaphore(concurrency, true);
+            this.intervalNanos = requestsPerMinute > 0 ? TimeUnit.MINUTES.toNanos(1) / requestsPerMinute : 0;
+        }
+
+        /**
+         * 预约下一个请求时间槽并等待其到来
+         */
+        private void awaitSlot() throws InterruptedException {
+            if (intervalNanos <= 0) {
+                return;
+            }
+            long slot;
+            while (true) {
+                long next = nextSlotNanos.get();
+                slot = Math.max(System.nanoTime(), next);
+                if (nextSlotNanos.compareAndSet(next, slot + intervalNanos)) {
+                    break;
+                }
+            }
+            long waitNanos = slot - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package getjobs.infrastructure.ai.llm;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LLM 多平台路由配置属性
+ * <p>
+ * 通过 application.yml 中的 ai.llm.routing.* 进行配置，未单独配置的场景使用 default-policy，
+ * 场景策略中未设置的项同样取 default-policy 的值。策略只作用于未指定平台的调用，调用方指定平台时只调用该平台；
+ * 开启故障转移或对冲后，提示词（含简历与职位描述）可能发往候选列表中的其他厂商：
+ * </p>
+ *
+ * <pre>{@code
+ * ai:
+ *   llm:
+ *     routing:
+ *       enabled: true                 # 是否启用路由（默认 true，关闭后只调用首选平台）
+ *       ewma-alpha: 0.2               # 延迟与错误率 EWMA 的平滑系数（默认 0.2）
+ *       failure-threshold: 3          # 连续失败多少次后熔断（默认 3）
+ *       open-duration-ms: 30000       # 熔断持续时间（默认 30 秒）
+ *       min-hedge-samples: 20         # 平台至少有多少个延迟样本才启用对冲（默认 20）
+ *       min-hedge-delay-ms: 1000      # 对冲等待时间下限（默认 1 秒）
+ *       default-policy:
+ *         platforms: [DEEPSEEK, QWEN, OPENAI]  # 候选平台，按优先级排列
+ *         failover: false                       # 失败后是否转移到下一个平台（默认 false）
+ *         hedge: false                          # 慢请求是否对冲（默认 false）
+ *         hedge-percentile: 0.9                 # 超过首选平台该分位延迟后发起对冲请求
+ *       use-cases:
+ *         greeting:
+ *           failover: true
+ *         company-evaluation:
+ *           platforms: [DEEPSEEK]
+ * }</pre>
+ *
+ * @author getjobs
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.llm.routing")
+public class LlmRoutingProperties {
+
+    /**
+     * 是否启用路由
+     * <p>
+     * 默认值：true。关闭后只调用首选平台（未指定时为 DEEPSEEK），不做故障转移与对冲
+     * </p>
+     */
+    private boolean enabled = true;
+
+    /**
+     * 延迟与错误率 EWMA 的平滑系数（0~1，越大越偏重最近的调用）
+     * <p>
+     * 默认值：0.2
+     * </p>
+     */
+    private double ewmaAlpha = 0.2;
+
+    /**
+     * 连续失败多少次后熔断
+     * <p>
+     * 默认值：3
+     * </p>
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * 熔断持续时间（毫秒），到期后放行请求，再次失败立即重新熔断
+     * <p>
+     * 默认值：30000
+     * </p>
+     */
+    private long openDurationMs = 30000;
+
+    /**
+     * 平台至少有多少个延迟样本才启用对冲
+     * <p>
+     * 默认值：20
+     * </p>
+     */
+    private int minHedgeSamples = 20;
+
+    /**
+     * 对冲等待时间下限（毫秒）
+     * <p>
+     * 默认值：1000
+     * </p>
+     */
+    private long minHedgeDelayMs = 1000;
+
+    /**
+     * 默认路由策略
+     */
+    private RoutePolicy defaultPolicy = new RoutePolicy();
+
+    /**
+     * 按场景覆盖的路由策略
+     */
+    private Map<LlmUseCase, RoutePolicy> useCases = new EnumMap<>(LlmUseCase.class);
+
+    /**
+     * 路由策略，未设置的项使用默认策略的值
+     */
+    @Data
+    public static class RoutePolicy {
+
+        /**
+         * 候选平台，按优先级排列
+         */
+        private List<AiPlatform> platforms = new ArrayList<>();
+
+        /**
+         * 失败后是否转移到下一个平台
+         */
+        private Boolean failover;
+
+        /**
+         * 慢请求是否向下一个平台发起对冲请求
+         */
+        private Boolean hedge;
+
+        /**
+         * 对冲阈值：首选平台延迟的分位数（0~1）
+         */
+        private Double hedgePercentile;
+    }
+
+    /**
+     * 获取场景的候选平台
+     */
+    public List<AiPlatform> platformsOf(LlmUseCase useCase) {
+        RoutePolicy policy = useCases.get(useCase);
+        if (policy != null && policy.getPlatforms() != null && !policy.getPlatforms().isEmpty()) {
+            return policy.getPlatforms();
+        }
+        if (defaultPolicy.getPlatforms() != null && !defaultPolicy.getPlatforms().isEmpty()) {
+            return defaultPolicy.getPlatforms();
+        }
+        return List.of(AiPlatform.DEEPSEEK, AiPlatform.QWEN, AiPlatform.OPENAI);
+    }
+
+    /**
+     * 场景是否故障转移（默认 false）
+     */
+    public boolean failoverOf(LlmUseCase useCase) {
+        RoutePolicy policy = useCases.get(useCase);
+        if (policy != null && policy.getFailover() != null) {
+            return policy.getFailover();
+        }
+        return Boolean.TRUE.equals(defaultPolicy.getFailover());
+    }
+
+    /**
+     * 场景是否对冲（默认 false）
+     */
+    public boolean hedgeOf(LlmUseCase useCase) {
+        RoutePolicy policy = useCases.get(useCase);
+        if (policy != null && policy.getHedge() != null) {
+            return policy.getHedge();
+        }
+        return Boolean.TRUE.equals(defaultPolicy.getHedge());
+    }
+
+    /**
+     * 场景的对冲分位数（默认 0.9）
+     */
+    public double hedgePercentileOf(LlmUseCase useCase) {
+        RoutePolicy policy = useCases.get(useCase);
+        Double value = policy != null && policy.getHedgePercentile() != null
+                ? policy.getHedgePercentile()
+                : defaultPolicy.getHedgePercentile();
+        return value == null ? 0.9 : Math.min(0.999, Math.max(0.5, value));
+    }
+}
@@ -0,0 +1,135 @@
+package getjobs.infrastructure.ai.llm;
+
+import reactor.core.publisher.Flux;
+
+import java.util.stream.Collectors;
+
+/**
+ * LLM 流式回复的提前截断
+ * <p>
+ * 对 {@link LlmClient#stream} 返回的片段流做截断：满足条件后发出截断后的最后一个片段并完成，
+ * 同时取消上游订阅，模型侧随连接关闭停止生成，不再为丢弃的内容消耗 token 与时间。
+ * </p>
+ *
+ * @author getjobs
+ */
+public final class LlmStreams {
+
+    private LlmStreams() {
+    }
+
+    /**
+     * 累计达到字符预算（按 Unicode 码点计，与 {@code LengthValidator} 一致）后截断
+     *
+     * @param chunks   片段流
+     * @param maxChars 最大字符数
+     * @return 总长度不超过 maxChars 的片段流
+     */
+    public static Flux<String> limitChars(Flux<String> chunks, int maxChars) {
+        if (maxChars <= 0) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            int[] used = { 0 };
+            return chunks.handle((chunk, sink) -> {
+                int remaining = maxChars - used[0];
+                int length = chunk.codePointCount(0, chunk.length());
+                if (length < remaining) {
+                    used[0] += length;
+                    sink.next(chunk);
+                    return;
+                }
+                used[0] = maxChars;
+                sink.next(chunk.substring(0, chunk.offsetByCodePoints(0, remaining)));
+                sink.complete();
+            });
+        });
+    }
+
+    /**
+     * 第一个顶层 JSON 对象（或数组）闭合后截断，其后的内容（代码块结束标记、补充说明等）不再接收
+     * <p>
+     * 开始符之前的内容（如 {@code ```json}）原样保留；字符串内的括号与转义字符不计入层级。
+     * </p>
+     *
+     * @param chunks 片段流
+     * @return 截止到 JSON 闭合处的片段流
+     */
+    public static Flux<String> untilJsonClosed(Flux<String> chunks) {
+        return Flux.defer(() -> {
+            JsonCloseTracker tracker = new JsonCloseTracker();
+            return chunks.handle((chunk, sink) -> {
+                int end = tracker.feed(chunk);
+                if (end < 0) {
+                    sink.next(chunk);
+                    return;
+                }
+                sink.next(chunk.substring(0, end));
+                sink.complete();
+            });
+        });
+    }
+
+    /**
+     * 阻塞等待并拼接完整回复
+     *
+     * @param chunks 片段流
+     * @return 完整文本，没有片段时为空串
+     */
+    public static String join(Flux<String> chunks) {
+        String text = chunks.collect(Collectors.joining()).block();
+        return text == null ? "" : text;
+    }
+
+    /**
+     * 跟踪 JSON 括号层级
+     */
+    private static final class JsonCloseTracker {
+
+        private int depth;
+
+        private boolean started;
+
+        private boolean inString;
+
+        private boolean escaped;
+
+        /**
+         * @return 顶层 JSON 在本片段中闭合时，返回闭合符之后的位置；否则返回 -1
+         */
+        int feed(String chunk) {
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = chunk.charAt(i);
+                if (!started) {
+                    if (c == '{' || c == '[') {
+                        started = true;
+                        depth = 1;
+                    }
+                    continue;
+                }
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                    continue;
+                }
+                switch (c) {
+                    case '"' -> inString = true;
+                    case '{', '[' -> depth++;
+                    case '}', ']' -> {
+                        if (--depth == 0) {
+                            return i + 1;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
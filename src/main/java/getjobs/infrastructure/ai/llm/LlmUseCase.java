@@ -0,0 +1,25 @@
+package getjobs.infrastructure.ai.llm;
+
+/**
+ * LLM 调用场景，用于按场景选择路由策略（见 {@link LlmRoutingProperties}）
+ *
+ * @author getjobs
+ */
+public enum LlmUseCase {
+    /**
+     * 未区分场景的调用
+     */
+    DEFAULT,
+    /**
+     * 岗位匹配
+     */
+    MATCH,
+    /**
+     * 招呼语生成
+     */
+    GREETING,
+    /**
+     * 公司评估
+     */
+    COMPANY_EVALUATION
+}
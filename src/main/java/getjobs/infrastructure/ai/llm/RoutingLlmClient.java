@@ -0,0 +1,295 @@
+package getjobs.infrastructure.ai.llm;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import getjobs.infrastructure.ai.factory.ChatModelFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 按延迟与健康状况在多个 LLM 平台之间路由
+ * <p>
+ * 候选平台来自场景策略（{@link LlmRoutingProperties}），只保留已注册 ChatModel 且未熔断的平台：
+ * <ul>
+ * <li>调用方指定平台时只调用该平台（即使已熔断），不转移、不对冲，提示词不会发往其他厂商；</li>
+ * <li>未指定平台时候选平台按得分排序，得分为延迟 EWMA / (1 - 错误率 EWMA)，
+ * 尚无延迟样本的平台按配置顺序排在后面；</li>
+ * <li>调用失败且策略允许故障转移时，依次尝试下一个平台；</li>
+ * <li>策略开启对冲且首选平台已有足够样本时，超过其分位延迟仍未返回则向下一个平台再发一次请求，
+ * 取先成功的结果并取消另一个，被取消的请求按已等待时长记为删失延迟样本；</li>
+ * <li>指定了模型名（modelOverride）时模型名只对首选平台有效，不做转移与对冲。</li>
+ * </ul>
+ * 流式调用只在尚未收到任何片段时故障转移，不做对冲。
+ * </p>
+ * <p>
+ * 每次非流式请求在实际发出前按该平台取得 {@link LlmRateLimiter} 许可，故障转移与对冲请求同样受目标平台的限流约束；
+ * 延迟只统计取得许可之后的请求耗时。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Component
+public class RoutingLlmClient implements LlmClient {
+
+    private final SpringAiLlmClient delegate;
+    private final ChatModelFactory chatModelFactory;
+    private final LlmPlatformStats stats;
+    private final LlmRateLimiter rateLimiter;
+    private final LlmRoutingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService hedgeExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("llm-hedge-", 0).factory());
+
+    public RoutingLlmClient(SpringAiLlmClient delegate,
+            ChatModelFactory chatModelFactory,
+            LlmPlatformStats stats,
+            LlmRateLimiter rateLimiter,
+            LlmRoutingProperties properties,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.chatModelFactory = chatModelFactory;
+        this.stats = stats;
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PreDestroy
+    public void stop() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    @Override
+    public String chat(List<LlmMessage> messages) {
+        return chat(LlmUseCase.DEFAULT, null, messages, null, null);
+    }
+
+    @Override
+    public String chat(List<LlmMessage> messages, String modelOverride) {
+        return chat(LlmUseCase.DEFAULT, null, messages, modelOverride, null);
+    }
+
+    @Override
+    public String chat(List<LlmMessage> messages, String modelOverride, Double temperature) {
+        return chat(LlmUseCase.DEFAULT, null, messages, modelOverride, temperature);
+    }
+
+    @Override
+    public String chat(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature) {
+        return chat(LlmUseCase.DEFAULT, platform, messages, modelOverride, temperature);
+    }
+
+    @Override
+    public String chat(LlmUseCase useCase, AiPlatform platform, List<LlmMessage> messages, String modelOverride,
+            Double temperature) {
+        List<AiPlatform> order = route(useCase, platform, modelOverride);
+        boolean hedge = order.size() > 1 && properties.hedgeOf(useCase);
+        Set<AiPlatform> attempted = new HashSet<>();
+        RuntimeException failure = null;
+        AiPlatform failed = null;
+        for (int i = 0; i < order.size(); i++) {
+            AiPlatform primary = order.get(i);
+            if (attempted.contains(primary)) {
+                continue;
+            }
+            if (failed != null) {
+                log.warn("LLM 平台 {} 调用失败，转移到 {}: {}", failed, primary, failure.getMessage());
+                counter("llm.routing.failover", failed).increment();
+            }
+            try {
+                long hedgeDelay = hedge && i + 1 < order.size() ? hedgeDelayOf(useCase, primary) : -1;
+                if (hedgeDelay < 0) {
+                    attempted.add(primary);
+                    return invoke(primary, messages, modelOverride, temperature, () -> false, 0);
+                }
+                return hedged(primary, order.get(i + 1), hedgeDelay, attempted, messages, modelOverride, temperature);
+            } catch (RuntimeException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // 调用方已取消，不再转移
+                    throw e;
+                }
+                failure = e;
+                failed = primary;
+            }
+        }
+        throw failure;
+    }
+
+    @Override
+    public Flux<String> stream(List<LlmMessage> messages) {
+        return stream(LlmUseCase.DEFAULT, null, messages, null, null);
+    }
+
+    @Override
+    public Flux<String> stream(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature) {
+        return stream(LlmUseCase.DEFAULT, platform, messages, modelOverride, temperature);
+    }
+
+    @Override
+    public Flux<String> stream(LlmUseCase useCase, AiPlatform platform, List<LlmMessage> messages,
+            String modelOverride, Double temperature) {
+        return Flux.defer(() -> streamFrom(route(useCase, platform, modelOverride), 0, messages, modelOverride,
+                temperature));
+    }
+
+    /**
+     * 按策略排出本次调用依次尝试的平台
+     */
+    private List<AiPlatform> route(LlmUseCase useCase, AiPlatform platform, String modelOverride) {
+        AiPlatform preferred = platform != null ? platform : SpringAiLlmClient.DEFAULT_PLATFORM;
+        if (platform != null || !properties.isEnabled() || StringUtils.hasText(modelOverride)) {
+            // 指定平台即只用该平台：熔断时照常调用并由其自身报错，而不是悄悄换成其他厂商
+            return List.of(preferred);
+        }
+        List<AiPlatform> candidates = new ArrayList<>();
+        for (AiPlatform candidate : properties.platformsOf(useCase == null ? LlmUseCase.DEFAULT : useCase)) {
+            if (!candidates.contains(candidate) && chatModelFactory.isAvailable(candidate)
+                    && stats.isAvailable(candidate)) {
+                candidates.add(candidate);
+            }
+        }
+        // 稳定排序：没有样本的平台得分相同，保持配置顺序
+        candidates.sort(Comparator.comparingDouble(stats::score));
+        if (candidates.isEmpty()) {
+            // 所有候选平台都已熔断时仍尝试首选平台，而不是直接失败
+            return List.of(preferred);
+        }
+        if (!properties.failoverOf(useCase == null ? LlmUseCase.DEFAULT : useCase)) {
+            return List.of(candidates.get(0));
+        }
+        return candidates;
+    }
+
+    /**
+     * 对冲等待时间：首选平台的分位延迟（不低于下限）；样本不足时返回 -1，不对冲
+     */
+    private long hedgeDelayOf(LlmUseCase useCase, AiPlatform primary) {
+        if (stats.sampleCount(primary) < properties.getMinHedgeSamples()) {
+            return -1;
+        }
+        long percentile = stats.latencyPercentile(primary, properties.hedgePercentileOf(useCase));
+        return Math.max(properties.getMinHedgeDelayMs(), percentile);
+    }
+
+    /**
+     * @param cancelled       调用是否已被放弃（对冲中另一方已返回），放弃后的失败不计为平台故障
+     * @param censoredFloorMs 被放弃时记录的删失延迟下限（首选平台为对冲等待时间）
+     */
+    private String invoke(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature,
+            BooleanSupplier cancelled, long censoredFloorMs) {
+        try {
+            return rateLimiter.execute(platform, () -> {
+                long start = System.nanoTime();
+                try {
+                    String result = delegate.chat(platform, messages, modelOverride, temperature);
+                    stats.recordSuccess(platform, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return result;
+                } catch (RuntimeException e) {
+                    if (cancelled.getAsBoolean()) {
+                        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        stats.recordCensoredLatency(platform, Math.max(waited, censoredFloorMs));
+                    } else {
+                        stats.recordFailure(platform);
+                    }
+                    throw e;
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待 LLM 限流许可时被中断", e);
+        }
+    }
+
+    /**
+     * 首选平台超过 delayMs 仍未返回时向备选平台发起对冲请求，返回先成功的结果
+     */
+    private String hedged(AiPlatform primary, AiPlatform backup, long delayMs, Set<AiPlatform> attempted,
+            List<LlmMessage> messages, String modelOverride, Double temperature) {
+        CompletionService<String> completion = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<String>> futures = new ArrayList<>(2);
+        AtomicBoolean settled = new AtomicBoolean();
+        attempted.add(primary);
+        futures.add(completion.submit(() -> invoke(primary, messages, modelOverride, temperature, settled::get,
+                delayMs)));
+        try {
+            Future<String> done = completion.poll(delayMs, TimeUnit.MILLISECONDS);
+            if (done == null) {
+                log.debug("LLM 平台 {} 超过 {}ms 未返回，向 {} 发起对冲请求", primary, delayMs, backup);
+                counter("llm.routing.hedged", primary).increment();
+                attempted.add(backup);
+                futures.add(completion.submit(() -> invoke(backup, messages, modelOverride, temperature, settled::get,
+                        0)));
+            }
+            RuntimeException failure = null;
+            for (int pending = futures.size(); pending > 0; pending--) {
+                Future<String> next = done != null ? done : completion.take();
+                done = null;
+                try {
+                    return next.get();
+                } catch (ExecutionException e) {
+                    failure = e.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException
+                            : new IllegalStateException(e.getCause());
+                }
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待 LLM 响应时被中断", e);
+        } finally {
+            settled.set(true);
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Flux<String> streamFrom(List<AiPlatform> order, int index, List<LlmMessage> messages,
+            String modelOverride, Double temperature) {
+        AiPlatform platform = order.get(index);
+        AtomicBoolean emitted = new AtomicBoolean();
+        Flux<String> chunks = delegate.stream(platform, messages, modelOverride, temperature)
+                .doOnNext(chunk -> emitted.set(true))
+                .doOnComplete(() -> stats.recordSuccess(platform))
+                .doOnCancel(() -> {
+                    // 调用方提前截断
+                    if (emitted.get()) {
+                        stats.recordSuccess(platform);
+                    }
+                })
+                .doOnError(e -> stats.recordFailure(platform));
+        if (index + 1 >= order.size()) {
+            return chunks;
+        }
+        return chunks.onErrorResume(e -> !emitted.get(), e -> {
+            log.warn("LLM 平台 {} 流式调用失败，转移到 {}: {}", platform, order.get(index + 1), e.getMessage());
+            counter("llm.routing.failover", platform).increment();
+            return streamFrom(order, index + 1, messages, modelOverride, temperature);
+        });
+    }
+
+    private Counter counter(String name, AiPlatform platform) {
+        return Counter.builder(name)
+                .tag("platform", platform.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,176 @@
+package getjobs.infrastructure.ai.llm;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 合并并发的相同 LLM 请求（single-flight）
+ * <p>
+ * 以“场景 + 平台 + 模型 + 温度 + 消息”的 SHA-256 为键：同一键已有请求在途时，后到的调用不再发起请求，
+ * 而是等待并共享在途请求的结果（包括异常）。请求结束后即移除，不缓存结果，之后的相同请求会重新调用。
+ * 流式调用不合并，直接委托。合并后的请求交给 {@link RoutingLlmClient} 选择平台。
+ * </p>
+ * <p>
+ * 指标：{@code llm.single.flight.requests}（{@code result} = leader / coalesced）与
+ * {@code llm.single.flight.in.flight}（在途请求数）。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Primary
+@Component
+public class SingleFlightLlmClient implements LlmClient {
+
+    private final LlmClient delegate;
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+
+    private final Counter coalesced;
+
+    public SingleFlightLlmClient(RoutingLlmClient delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.leaders = counter(meterRegistry, "leader");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        Gauge.builder("llm.single.flight.in.flight", inFlight, Map::size)
+                .description("在途的 LLM 请求数（已合并的相同请求只计一次）")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String chat(List<LlmMessage> messages) {
+        return chat(null, messages, null, null);
+    }
+
+    @Override
+    public String chat(List<LlmMessage> messages, String modelOverride) {
+        return chat(null, messages, modelOverride, null);
+    }
+
+    @Override
+    public String chat(List<LlmMessage> messages, String modelOverride, Double temperature) {
+        return chat(null, messages, modelOverride, temperature);
+    }
+
+    @Override
+    public String chat(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature) {
+        return chat(LlmUseCase.DEFAULT, platform, messages, modelOverride, temperature);
+    }
+
+    @Override
+    public String chat(LlmUseCase useCase, AiPlatform platform, List<LlmMessage> messages, String modelOverride,
+            Double temperature) {
+        String key = keyOf(useCase, platform, messages, modelOverride, temperature);
+
+        CompletableFuture<String> own = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("合并相同的 LLM 请求 - useCase={}, platform={}, model={}", useCase, platform, modelOverride);
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            String result = delegate.chat(useCase, platform, messages, modelOverride, temperature);
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    @Override
+    public Flux<String> stream(List<LlmMessage> messages) {
+        return delegate.stream(messages);
+    }
+
+    @Override
+    public Flux<String> stream(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature) {
+        return delegate.stream(platform, messages, modelOverride, temperature);
+    }
+
+    @Override
+    public Flux<String> stream(LlmUseCase useCase, AiPlatform platform, List<LlmMessage> messages,
+            String modelOverride, Double temperature) {
+        return delegate.stream(useCase, platform, messages, modelOverride, temperature);
+    }
+
+    /**
+     * 已发起的 LLM 请求数
+     */
+    public long leaderCount() {
+        return (long) leaders.count();
+    }
+
+    /**
+     * 被合并、共享在途结果的请求数
+     */
+    public long coalescedCount() {
+        return (long) coalesced.count();
+    }
+
+    private static String await(CompletableFuture<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待在途 LLM 请求时被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static String keyOf(LlmUseCase useCase, AiPlatform platform, List<LlmMessage> messages,
+            String modelOverride, Double temperature) {
+        StringBuilder source = new StringBuilder()
+                .append(useCase == null ? "" : useCase.name()).append('\u0000')
+                .append(platform == null ? "" : platform.name()).append('\u0000')
+                .append(modelOverride == null ? "" : modelOverride).append('\u0000')
+                .append(temperature == null ? "" : temperature.toString()).append('\u0000');
+        for (LlmMessage message : messages) {
+            source.append(message.role()).append('\u0001').append(message.content()).append('\u0000');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("llm.single.flight.requests")
+                .description("LLM 请求数：leader 为实际发起的请求，coalesced 为合并到在途请求的调用")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -8,10 +8,12 @@ import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -22,7 +24,7 @@ import java.util.List;
 @Component
 public class SpringAiLlmClient implements LlmClient {
 
-    private static final AiPlatform DEFAULT_PLATFORM = AiPlatform.DEEPSEEK;
+    static final AiPlatform DEFAULT_PLATFORM = AiPlatform.DEEPSEEK;
 
     private final ChatModelFactory chatModelFactory;
 
@@ -48,20 +50,49 @@ public class SpringAiLlmClient implements LlmClient {
     @Override
     public String chat(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature) {
         if (platform == null) platform = DEFAULT_PLATFORM;
+        ChatModel chatModel = chatModelOf(platform);
+        Prompt prompt = buildPrompt(platform, toSpringMessages(messages), modelOverride, temperature);
+        var resp = chatModel.call(prompt);
+        return resp.getResult().getOutput().getText();
+    }
+
+    @Override
+    public Flux<String> stream(AiPlatform platform, List<LlmMessage> messages, String modelOverride, Double temperature) {
+        AiPlatform target = platform == null ? DEFAULT_PLATFORM : platform;
+        return Flux.defer(() -> {
+            ChatModel chatModel = chatModelOf(target);
+            Prompt prompt = buildPrompt(target, toSpringMessages(messages), modelOverride, temperature);
+            return chatModel.stream(prompt)
+                    .map(SpringAiLlmClient::textOf)
+                    .filter(StringUtils::hasLength);
+        });
+    }
+
+    private ChatModel chatModelOf(AiPlatform platform) {
         ChatModel chatModel = chatModelFactory.getChatModel(platform);
         if (chatModel == null) {
             throw new IllegalArgumentException("No ChatModel registered for platform: " + platform);
         }
+        return chatModel;
+    }
 
-        var springMsgs = messages.stream().<Message>map(m -> switch (m.role()) {
+    private static List<Message> toSpringMessages(List<LlmMessage> messages) {
+        return messages.stream().<Message>map(m -> switch (m.role()) {
             case "system" -> new SystemMessage(m.content());
             case "assistant" -> new AssistantMessage(m.content());
             default -> new UserMessage(m.content());
         }).toList();
+    }
 
-        Prompt prompt = buildPrompt(platform, springMsgs, modelOverride, temperature);
-        var resp = chatModel.call(prompt);
-        return resp.getResult().getOutput().getText();
+    /**
+     * 流式响应片段中的文本；结束片段（仅含 finish_reason / usage）没有文本，返回空串
+     */
+    private static String textOf(ChatResponse chunk) {
+        if (chunk == null || chunk.getResult() == null || chunk.getResult().getOutput() == null) {
+            return "";
+        }
+        String text = chunk.getResult().getOutput().getText();
+        return text == null ? "" : text;
     }
 
     /**
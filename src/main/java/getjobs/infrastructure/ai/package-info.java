@@ -6,6 +6,7 @@
  * <ul>
  *   <li>{@link getjobs.infrastructure.ai.config} — Spring 配置（OpenAI/Deepseek Bean、动态刷新）</li>
  *   <li>{@link getjobs.infrastructure.ai.llm} — LLM 端口与 Spring AI 适配器</li>
+ *   <li>{@link getjobs.infrastructure.ai.budget} — 提示词 token 预算（JD 压缩与本地 token 估算）</li>
  * </ul>
  */
 package getjobs.infrastructure.ai;
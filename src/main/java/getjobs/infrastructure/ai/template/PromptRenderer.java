@@ -1,15 +1,44 @@
 package getjobs.infrastructure.ai.template;
 
 import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
 
+/**
+ * 提示词渲染器
+ * <p>
+ * 模板仓库加载模板时即通过 {@link #compile} 编译各段落，渲染段落时直接执行已编译的模板，不再重复解析 Mustache 源码。
+ * </p>
+ */
 @Component
 public class PromptRenderer {
-    private final Mustache.Compiler compiler = Mustache.compiler();
+    private final Mustache.Compiler compiler = Mustache.compiler().defaultValue("");
 
+    /**
+     * 编译 Mustache 源码（编译结果不可变、线程安全，可重复执行）
+     */
+    public Template compile(String raw) {
+        return compiler.compile(raw);
+    }
+
+    /**
+     * 渲染模板段落，优先使用加载时编译好的模板
+     */
+    public String render(PromptTemplate.Segment segment, Map<String, Object> vars) {
+        Template compiled = segment.getCompiled();
+        if (compiled == null) {
+            compiled = compile(segment.getContent());
+            segment.setCompiled(compiled);
+        }
+        return compiled.execute(vars);
+    }
+
+    /**
+     * 渲染临时的 Mustache 源码（每次调用都会解析）
+     */
     public String render(String raw, Map<String, Object> vars) {
-        return compiler.defaultValue("").compile(raw).execute(vars);
+        return compile(raw).execute(vars);
     }
 }
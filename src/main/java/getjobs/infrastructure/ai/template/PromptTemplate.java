@@ -1,7 +1,11 @@
 package getjobs.infrastructure.ai.template;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.samskivert.mustache.Template;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.List;
 
@@ -17,9 +21,37 @@ public class PromptTemplate {
 
     private List<Segment> segments;
 
+    /**
+     * 模板版本：模板文件内容 SHA-256 的前 12 位，由 {@link TemplateRepository} 加载时设置
+     */
+    @JsonIgnore
+    private String version;
+
+    /**
+     * 模板来源（classpath 资源或文件路径），由 {@link TemplateRepository} 加载时设置
+     */
+    @JsonIgnore
+    private String source;
+
+    /**
+     * 带版本的模板 ID（id@version），用于审计实际生效的模板
+     */
+    @JsonIgnore
+    public String getVersionedId() {
+        return version == null ? id : id + "@" + version;
+    }
+
     @Data
     public static class Segment {
         private PromptSegmentType type;
         private String content;
+
+        /**
+         * 编译后的 Mustache 模板，由 {@link TemplateRepository} 加载时设置
+         */
+        @JsonIgnore
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
+        private Template compiled;
     }
 }
@@ -0,0 +1,21 @@
+package getjobs.infrastructure.ai.template;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 在 /actuator/info 中暴露当前生效的提示词模板版本（id -> id@version），便于审计
+ */
+@Component
+@RequiredArgsConstructor
+public class PromptTemplateInfoContributor implements InfoContributor {
+
+    private final TemplateRepository templateRepository;
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("prompts", templateRepository.versions());
+    }
+}
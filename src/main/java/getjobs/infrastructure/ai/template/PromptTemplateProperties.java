@@ -0,0 +1,42 @@
+package getjobs.infrastructure.ai.template;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 提示词模板配置属性
+ * <p>
+ * 通过 application.yml 中的 ai.prompts.* 进行配置：
+ * </p>
+ *
+ * <pre>{@code
+ * ai:
+ *   prompts:
+ *     dir: ./prompts     # 可选的提示词目录，其中的 *.yml 覆盖 classpath:prompts 中同 ID 的模板（默认不启用）
+ *     watch: true        # 是否监听目录变化并热加载（默认 true）
+ * }</pre>
+ *
+ * @author getjobs
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.prompts")
+public class PromptTemplateProperties {
+
+    /**
+     * 文件系统提示词目录，为空时只使用 classpath:prompts 中的模板
+     * <p>
+     * 默认值：空
+     * </p>
+     */
+    private String dir;
+
+    /**
+     * 是否用 WatchService 监听提示词目录，文件新增、修改后重新编译并替换，删除后恢复 classpath 中的同名模板
+     * <p>
+     * 默认值：true
+     * </p>
+     */
+    private boolean watch = true;
+}
@@ -1,6 +1,7 @@
 package getjobs.infrastructure.ai.template;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
@@ -10,15 +11,35 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 提示词模板仓库
  * <p>
  * 负责从 classpath:prompts/*.yml 加载提示词模板并缓存。
- * 使用 Jackson YAML 将 YAML 文件映射到 {@link PromptTemplate} 对象。
+ * 使用 Jackson YAML 将 YAML 文件映射到 {@link PromptTemplate} 对象，加载时即编译各段落的 Mustache 模板，
+ * 并以文件内容哈希作为模板版本（{@link PromptTemplate#getVersionedId()}）。
+ * </p>
+ * <p>
+ * 配置 {@code ai.prompts.dir} 后，目录中的 *.yml 覆盖 classpath 中同 ID 的模板；开启 {@code ai.prompts.watch} 时
+ * 通过 WatchService 监听目录，文件变化后重新解析、编译，成功后整体替换缓存中的模板对象（失败时保留旧版本），
+ * 正在使用旧模板对象的渲染不受影响。文件删除后恢复 classpath 中的同 ID 模板。
  * </p>
  */
 @Slf4j
@@ -27,6 +48,27 @@ public class TemplateRepository {
     private final Map<String, PromptTemplate> cache = new ConcurrentHashMap<>();
     private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
 
+    /**
+     * classpath 中的模板，目录模板被删除时据此恢复
+     */
+    private final Map<String, PromptTemplate> classpathTemplates = new HashMap<>();
+
+    /**
+     * 目录中的模板文件 -> 模板 ID
+     */
+    private final Map<Path, String> directoryTemplates = new HashMap<>();
+
+    private final PromptRenderer renderer;
+    private final PromptTemplateProperties properties;
+
+    private volatile WatchService watchService;
+    private Thread watcherThread;
+
+    public TemplateRepository(PromptRenderer renderer, PromptTemplateProperties properties) {
+        this.renderer = renderer;
+        this.properties = properties;
+    }
+
     /**
      * 在 Bean 初始化后自动加载所有提示词模板
      */
@@ -39,11 +81,12 @@ public class TemplateRepository {
 
         for (Resource resource : resources) {
             try (InputStream inputStream = resource.getInputStream()) {
-                PromptTemplate template = yamlMapper.readValue(inputStream, PromptTemplate.class);
-                if (template != null && template.getId() != null) {
+                PromptTemplate template = parse(inputStream.readAllBytes(), "classpath:prompts/" + resource.getFilename());
+                if (template != null) {
+                    classpathTemplates.put(template.getId(), template);
                     cache.put(template.getId(), template);
                     log.info("Loaded prompt template: id={}, description={}, segments={}",
-                            template.getId(), template.getDescription(),
+                            template.getVersionedId(), template.getDescription(),
                             template.getSegments() != null ? template.getSegments().size() : 0);
                 } else {
                     log.warn("Skipping invalid template from {}: missing id", resource.getFilename());
@@ -55,6 +98,14 @@ public class TemplateRepository {
         }
 
         log.info("Successfully loaded {} prompt templates", cache.size());
+
+        Path dir = promptDirectory();
+        if (dir != null) {
+            loadDirectory(dir);
+            if (properties.isWatch()) {
+                startWatcher(dir);
+            }
+        }
     }
 
     /**
@@ -68,4 +119,167 @@ public class TemplateRepository {
         return Optional.ofNullable(cache.get(id))
                 .orElseThrow(() -> new IllegalArgumentException("Template not found: " + id));
     }
+
+    /**
+     * 当前生效的模板版本
+     *
+     * @return 模板 ID -> 带版本的模板 ID（按 ID 排序）
+     */
+    public Map<String, String> versions() {
+        Map<String, String> versions = new TreeMap<>();
+        cache.forEach((id, template) -> versions.put(id, template.getVersionedId()));
+        return versions;
+    }
+
+    @PreDestroy
+    public void stop() {
+        WatchService current = watchService;
+        watchService = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn("Failed to close prompt directory watcher: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Path promptDirectory() {
+        String dir = properties.getDir();
+        if (dir == null || dir.isBlank()) {
+            return null;
+        }
+        Path path = Paths.get(dir.trim()).toAbsolutePath().normalize();
+        if (!Files.isDirectory(path)) {
+            log.warn("Prompt directory {} does not exist, using classpath templates only", path);
+            return null;
+        }
+        return path;
+    }
+
+    private void loadDirectory(Path dir) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.yml")) {
+            for (Path file : files) {
+                loadFile(file);
+            }
+        } catch (IOException e) {
+            log.error("Failed to list prompt directory {}: {}", dir, e.getMessage(), e);
+        }
+        log.info("Loaded {} prompt templates from directory {}", directoryTemplates.size(), dir);
+    }
+
+    /**
+     * 解析、编译目录中的模板文件，成功后替换缓存中的同 ID 模板
+     */
+    private synchronized void loadFile(Path file) {
+        PromptTemplate template;
+        try {
+            template = parse(Files.readAllBytes(file), file.toString());
+        } catch (Exception e) {
+            log.error("Failed to reload template from {}, keeping previous version: {}", file, e.getMessage());
+            return;
+        }
+        if (template == null) {
+            log.warn("Skipping invalid template from {}: missing id", file);
+            return;
+        }
+        String previousId = directoryTemplates.put(file, template.getId());
+        if (previousId != null && !previousId.equals(template.getId())) {
+            restoreClasspathTemplate(previousId);
+        }
+        PromptTemplate previous = cache.put(template.getId(), template);
+        log.info("Loaded prompt template from {}: {} (previous: {})", file, template.getVersionedId(),
+                previous != null ? previous.getVersionedId() : "none");
+    }
+
+    private synchronized void unloadFile(Path file) {
+        String id = directoryTemplates.remove(file);
+        if (id != null) {
+            restoreClasspathTemplate(id);
+            log.info("Prompt template file {} removed, template {} restored to {}", file, id,
+                    cache.containsKey(id) ? cache.get(id).getVersionedId() : "none");
+        }
+    }
+
+    private void restoreClasspathTemplate(String id) {
+        PromptTemplate original = classpathTemplates.get(id);
+        if (original != null) {
+            cache.put(id, original);
+        } else {
+            cache.remove(id);
+        }
+    }
+
+    private void startWatcher(Path dir) throws IOException {
+        WatchService service = dir.getFileSystem().newWatchService();
+        dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        watchService = service;
+        watcherThread = new Thread(() -> watch(dir, service), "prompt-template-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("Watching prompt directory {} for changes", dir);
+    }
+
+    private void watch(Path dir, WatchService service) {
+        try {
+            while (watchService == service) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        loadDirectory(dir);
+                        continue;
+                    }
+                    Path file = dir.resolve((Path) event.context());
+                    if (!file.getFileName().toString().endsWith(".yml")) {
+                        continue;
+                    }
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        unloadFile(file);
+                    } else if (Files.isRegularFile(file)) {
+                        loadFile(file);
+                    }
+                }
+                if (!key.reset()) {
+                    log.warn("Prompt directory {} is no longer accessible, stop watching", dir);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // 应用关闭
+        }
+    }
+
+    /**
+     * 解析模板并编译各段落
+     *
+     * @return 模板；缺少 ID 时返回 null
+     */
+    private PromptTemplate parse(byte[] content, String source) throws IOException {
+        PromptTemplate template = yamlMapper.readValue(content, PromptTemplate.class);
+        if (template == null || template.getId() == null) {
+            return null;
+        }
+        template.setVersion(versionOf(content));
+        template.setSource(source);
+        if (template.getSegments() != null) {
+            for (PromptTemplate.Segment segment : template.getSegments()) {
+                if (segment.getContent() != null) {
+                    segment.setCompiled(renderer.compile(segment.getContent()));
+                }
+            }
+        }
+        return template;
+    }
+
+    private static String versionOf(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
 }
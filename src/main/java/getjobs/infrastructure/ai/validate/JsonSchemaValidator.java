@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 极简占位：仅校验 JSON 可解析与包含关键字段。
  * 若要正式 Schema 校验，可引入 networknt/json-schema。
@@ -22,4 +25,39 @@ public class JsonSchemaValidator {
             throw new IllegalArgumentException("invalid json: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * 校验 JSON 为数组并返回其中的元素；元素字段由调用方通过 {@link #hasFields} 逐个校验，
+     * 以便单个元素不合法时只丢弃该元素。
+     *
+     * @param json JSON 文本
+     * @return 数组元素
+     * @throws IllegalArgumentException JSON 无法解析或不是数组
+     */
+    public List<JsonNode> checkArray(String json) {
+        JsonNode n;
+        try {
+            n = mapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("invalid json: " + e.getMessage(), e);
+        }
+        if (n == null || !n.isArray())
+            throw new IllegalArgumentException("expected json array");
+        List<JsonNode> items = new ArrayList<>(n.size());
+        n.forEach(items::add);
+        return items;
+    }
+
+    /**
+     * 判断 JSON 对象是否包含全部字段（且值不为 null）
+     */
+    public boolean hasFields(JsonNode node, String... fields) {
+        if (node == null || !node.isObject())
+            return false;
+        for (String field : fields) {
+            if (!node.hasNonNull(field))
+                return false;
+        }
+        return true;
+    }
 }
@@ -76,6 +76,9 @@ public class PrimaryDataSourceConfig {
     @Value("${spring.datasource.hikari.max-lifetime:1800000}")
     private long maxLifetime;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
     /**
      * 创建主数据源（SQLite）
      * <p>
@@ -140,6 +143,10 @@ public class PrimaryDataSourceConfig {
         properties.put("hibernate.hbm2ddl.auto", "update");
         properties.put("hibernate.format_sql", "true");
         properties.put("hibernate.show_sql", "false");
+        // 批量写入：job_info 的批量 Upsert 同样复用该批大小
+        properties.put("hibernate.jdbc.batch_size", String.valueOf(jdbcBatchSize));
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
 
         LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
         factoryBean.setDataSource(dataSource);
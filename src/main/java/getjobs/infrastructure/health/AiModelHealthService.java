@@ -1,5 +1,7 @@
 package getjobs.infrastructure.health;
 
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import getjobs.infrastructure.ai.llm.LlmPlatformStats;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +23,8 @@ import java.util.Map;
 /**
  * AI 模型健康检查服务
  * <p>
- * 提供对各种 AI 模型的健康检查功能
+ * 提供对各种 AI 模型的健康检查功能。检查结果同时计入 {@link LlmPlatformStats}，供 LLM 路由判断平台是否可用：
+ * PING / API_CALL 失败计入熔断；只有 API_CALL 成功才可提前结束熔断（网络可达不代表接口可用）。
  * </p>
  *
  * @author getjobs
@@ -33,6 +36,7 @@ import java.util.Map;
 public class AiModelHealthService {
 
     private final AiModelHealthProperties properties;
+    private final LlmPlatformStats platformStats;
 
     /**
      * 检查模型健康状态
@@ -49,22 +53,43 @@ public class AiModelHealthService {
             Map<String, Object> modelInfo = extractModelInfo(beanName, model);
 
             // 根据检查类型执行检查
+            HealthCheckResult result;
             switch (properties.getCheckType()) {
-                case PING:
-                    return checkPing(beanName, model, modelInfo);
                 case API_CALL:
-                    return checkApiCall(beanName, model, modelInfo);
+                    result = checkApiCall(beanName, model, modelInfo);
+                    break;
                 case MODEL_INFO:
                     return checkModelInfo(beanName, model, modelInfo);
+                case PING:
                 default:
-                    return checkPing(beanName, model, modelInfo);
+                    result = checkPing(beanName, model, modelInfo);
+                    break;
             }
+            recordPlatformHealth(beanName, result, properties.getCheckType() == AiModelHealthProperties.CheckType.API_CALL);
+            return result;
         } catch (Exception e) {
             log.error("检查模型 {} 时发生异常", beanName, e);
             return HealthCheckResult.failure("检查异常: " + e.getMessage(), null);
         }
     }
 
+    /**
+     * 将检查结果计入对应平台的路由统计
+     */
+    private void recordPlatformHealth(String beanName, HealthCheckResult result, boolean apiCall) {
+        AiPlatform platform = AiPlatform.fromModelBeanName(beanName);
+        if (platform == null) {
+            return;
+        }
+        if (result.isHealthy()) {
+            if (apiCall) {
+                platformStats.recordSuccess(platform);
+            }
+        } else {
+            platformStats.recordFailure(platform);
+        }
+    }
+
     /**
      * PING 检查：测试网络连接
      */
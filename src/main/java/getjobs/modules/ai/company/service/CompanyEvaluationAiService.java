@@ -8,6 +8,7 @@ import getjobs.modules.ai.company.dto.RecommendationCode;
 import getjobs.infrastructure.ai.enums.AiPlatform;
 import getjobs.infrastructure.ai.llm.LlmClient;
 import getjobs.infrastructure.ai.llm.LlmMessage;
+import getjobs.infrastructure.ai.llm.LlmUseCase;
 import getjobs.repository.CompanyEvaluationRepository;
 import getjobs.repository.entity.CompanyEvaluationEntity;
 import lombok.RequiredArgsConstructor;
@@ -75,7 +76,7 @@ public class CompanyEvaluationAiService {
         }
 
         List<LlmMessage> messages = assembler.assemble(templateId, normalizedInput);
-        String rawResponse = llmClient.chat(platform, messages, modelOverride, 0.0).trim();
+        String rawResponse = llmClient.chat(LlmUseCase.COMPANY_EVALUATION, platform, messages, modelOverride, 0.0).trim();
 
         CompanyEvaluationResult result = parseEvaluationResult(rawResponse);
         fillDerivedFromRiskScore(result);
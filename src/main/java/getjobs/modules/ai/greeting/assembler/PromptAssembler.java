@@ -1,6 +1,7 @@
 package getjobs.modules.ai.greeting.assembler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import getjobs.infrastructure.ai.budget.JdCompressor;
 import getjobs.infrastructure.ai.llm.LlmMessage;
 import getjobs.modules.ai.greeting.dto.GreetingRequest;
 import getjobs.infrastructure.ai.extract.KeywordExtractor;
@@ -21,6 +22,7 @@ public class PromptAssembler {
     private final TemplateRepository repo;
     private final PromptRenderer renderer;
     private final KeywordExtractor extractor;
+    private final JdCompressor jdCompressor;
 
     public List<LlmMessage> assemble(String templateId, GreetingRequest req) {
         List<String> keywords = req.getJdKeywords();
@@ -31,7 +33,7 @@ public class PromptAssembler {
         vars.put(PromptVariables.TONE, req.getParams().getTone());
         vars.put(PromptVariables.MAX_CHARS, req.getParams().getMaxChars());
         vars.put(PromptVariables.SHOW_WEAKNESS, req.getParams().isShowWeakness());
-        vars.put(PromptVariables.JD_TEXT, req.getJdText());
+        vars.put(PromptVariables.JD_TEXT, jdCompressor.compress(templateId, req.getJdText(), String.join(" ", keywords)));
         vars.put(PromptVariables.JD_KEYWORDS, keywords);
         vars.put(PromptVariables.PROFILE_JSON, toJson(req.getProfile()));
 
@@ -39,7 +41,7 @@ public class PromptAssembler {
         List<LlmMessage> messages = new ArrayList<>();
 
         for (PromptTemplate.Segment seg : tpl.getSegments()) {
-            String content = renderer.render(seg.getContent(), vars);
+            String content = renderer.render(seg, vars);
             switch (seg.getType()) {
                 case SYSTEM -> messages.add(LlmMessage.system(content));
                 case GUIDELINES -> messages.add(LlmMessage.system(content));
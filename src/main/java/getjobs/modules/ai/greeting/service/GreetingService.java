@@ -1,6 +1,9 @@
 package getjobs.modules.ai.greeting.service;
 
 import getjobs.infrastructure.ai.llm.LlmClient;
+import getjobs.infrastructure.ai.llm.LlmMessage;
+import getjobs.infrastructure.ai.llm.LlmStreams;
+import getjobs.infrastructure.ai.llm.LlmUseCase;
 import getjobs.modules.ai.greeting.ab.ExperimentService;
 import getjobs.modules.ai.greeting.assembler.PromptAssembler;
 import getjobs.modules.ai.greeting.dto.GreetingRequest;
@@ -10,6 +13,7 @@ import getjobs.infrastructure.ai.validate.KeywordCoverageValidator;
 import getjobs.infrastructure.ai.validate.LengthValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -24,13 +28,15 @@ public class GreetingService {
     private final ExperimentService experimentService;
     private final KeywordExtractor extractor;
 
+    /**
+     * 生成招呼语
+     * <p>
+     * 以流式方式接收模型回复，达到 maxChars 后即截断并停止生成。
+     * </p>
+     */
     public GreetingResponse generate(GreetingRequest req) {
-        String templateId = experimentService.pickVariant("greeting", req.getParams());
-        var messages = assembler.assemble(templateId, req);
-
-        String raw = llm.chat(messages).trim();
-
         int max = req.getParams().getMaxChars();
+        String raw = LlmStreams.join(stream(messagesOf(req), max)).trim();
         lengthValidator.check(raw, max);
 
         List<String> kws = (req.getJdKeywords() == null || req.getJdKeywords().isEmpty())
@@ -41,4 +47,23 @@ public class GreetingService {
         // 这里可按需加一次“轻重写”逻辑；示例先直接返回
         return new GreetingResponse(raw, used, "贴合JD关键词", req.getParams().getTone(), raw.length());
     }
+
+    /**
+     * 流式生成招呼语，供前端逐段展示
+     *
+     * @param req 招呼语生成请求
+     * @return 增量文本片段，总长度不超过 maxChars
+     */
+    public Flux<String> stream(GreetingRequest req) {
+        return stream(messagesOf(req), req.getParams().getMaxChars());
+    }
+
+    private Flux<String> stream(List<LlmMessage> messages, int maxChars) {
+        return LlmStreams.limitChars(llm.stream(LlmUseCase.GREETING, null, messages, null, null), maxChars);
+    }
+
+    private List<LlmMessage> messagesOf(GreetingRequest req) {
+        String templateId = experimentService.pickVariant("greeting", req.getParams());
+        return assembler.assemble(templateId, req);
+    }
 }
@@ -1,5 +1,6 @@
 package getjobs.modules.ai.job.assembler;
 
+import getjobs.infrastructure.ai.budget.JdCompressor;
 import getjobs.infrastructure.ai.llm.LlmMessage;
 import getjobs.infrastructure.ai.template.PromptRenderer;
 import getjobs.infrastructure.ai.template.PromptTemplate;
@@ -20,7 +21,8 @@ import java.util.stream.IntStream;
  * 职位匹配提示词组装器
  * <p>
  * 负责将职位匹配的提示词模板与实际数据组装成可供 LLM 使用的消息列表。
- * 参考 greeting 模块的 PromptAssembler 设计。
+ * 参考 greeting 模块的 PromptAssembler 设计。职位描述注入前经 {@link JdCompressor} 压缩到模板的 token 预算内，
+ * 压缩时保留补充判定规则涉及的内容（如工作时间、福利）。
  * </p>
  */
 @Component
@@ -29,6 +31,7 @@ public class JobPromptAssembler {
 
     private final TemplateRepository templateRepository;
     private final PromptRenderer renderer;
+    private final JdCompressor jdCompressor;
 
     /**
      * 用户自定义补充判定规则，持久化在内存中（通过 API 读写）
@@ -64,14 +67,14 @@ public class JobPromptAssembler {
     public List<LlmMessage> assemble(String templateId, String myJd, String jd, List<String> extraRules) {
         Map<String, Object> variables = new HashMap<>();
         variables.put(JobPromptVariables.MY_JD, myJd);
-        variables.put(JobPromptVariables.JD, jd);
+        variables.put(JobPromptVariables.JD, jdCompressor.compress(templateId, jd, myJd, extraRules));
         variables.put(JobPromptVariables.EXTRA_RULES, formatExtraRules(extraRules));
 
         PromptTemplate template = templateRepository.get(templateId);
         List<LlmMessage> messages = new ArrayList<>();
 
         for (PromptTemplate.Segment segment : template.getSegments()) {
-            String content = renderer.render(segment.getContent(), variables);
+            String content = renderer.render(segment, variables);
             switch (segment.getType()) {
                 case SYSTEM -> messages.add(LlmMessage.system(content));
                 case GUIDELINES -> messages.add(LlmMessage.system(content));
@@ -113,7 +116,46 @@ public class JobPromptAssembler {
         List<LlmMessage> messages = new ArrayList<>();
 
         for (PromptTemplate.Segment segment : template.getSegments()) {
-            String content = renderer.render(segment.getContent(), variables);
+            String content = renderer.render(segment, variables);
+            switch (segment.getType()) {
+                case SYSTEM -> messages.add(LlmMessage.system(content));
+                case GUIDELINES -> messages.add(LlmMessage.system(content));
+                case USER -> messages.add(LlmMessage.user(content));
+                case FEW_SHOTS -> messages.add(LlmMessage.user(content));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * 组装批量职位匹配的提示词消息列表（一次请求判断多个职位）
+     *
+     * @param templateId 模板 ID（例如 "job-match-batch-v1"）
+     * @param myJd       候选人期望从事的工作内容
+     * @param jds        职位编号 -> 职位描述（按插入顺序渲染）
+     * @param extraRules 用户补充判定规则列表
+     * @return LLM 消息列表
+     */
+    public List<LlmMessage> assembleBatch(String templateId, String myJd, Map<String, String> jds,
+            List<String> extraRules) {
+        List<Map<String, Object>> jobs = new ArrayList<>(jds.size());
+        jds.forEach((id, jd) -> {
+            Map<String, Object> job = new HashMap<>();
+            job.put(JobPromptVariables.JOB_ID, id);
+            job.put(JobPromptVariables.JD, jdCompressor.compress(templateId, jd, myJd, extraRules));
+            jobs.add(job);
+        });
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(JobPromptVariables.MY_JD, myJd);
+        variables.put(JobPromptVariables.JOBS, jobs);
+        variables.put(JobPromptVariables.EXTRA_RULES, formatExtraRules(extraRules));
+
+        PromptTemplate template = templateRepository.get(templateId);
+        List<LlmMessage> messages = new ArrayList<>();
+
+        for (PromptTemplate.Segment segment : template.getSegments()) {
+            String content = renderer.render(segment, variables);
             switch (segment.getType()) {
                 case SYSTEM -> messages.add(LlmMessage.system(content));
                 case GUIDELINES -> messages.add(LlmMessage.system(content));
@@ -31,4 +31,14 @@ public final class JobPromptVariables {
      * 用户自定义补充规则（动态注入到 GUIDELINES 中）
      */
     public static final String EXTRA_RULES = "extra_rules";
+
+    /**
+     * 批量匹配的职位列表（每项包含 {@link #JOB_ID} 与 {@link #JD}）
+     */
+    public static final String JOBS = "jobs";
+
+    /**
+     * 批量匹配中的职位编号
+     */
+    public static final String JOB_ID = "id";
 }
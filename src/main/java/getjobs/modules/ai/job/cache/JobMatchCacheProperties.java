@@ -0,0 +1,43 @@
+package getjobs.modules.ai.job.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 岗位匹配结论缓存配置属性
+ * <p>
+ * 通过 application.yml 中的 ai.job-match.cache.* 进行配置：
+ * </p>
+ *
+ * <pre>{@code
+ * ai:
+ *   job-match:
+ *     cache:
+ *       enabled: true      # 是否启用结论缓存（默认 true）
+ *       lru-size: 2000     # 内存 LRU 容量（默认 2000），未命中时再查 job_match_verdict 表
+ * }</pre>
+ *
+ * @author getjobs
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai.job-match.cache")
+public class JobMatchCacheProperties {
+
+    /**
+     * 是否启用结论缓存
+     * <p>
+     * 默认值：true
+     * </p>
+     */
+    private boolean enabled = true;
+
+    /**
+     * 内存 LRU 容量
+     * <p>
+     * 默认值：2000
+     * </p>
+     */
+    private int lruSize = 2000;
+}
@@ -0,0 +1,221 @@
+package getjobs.modules.ai.job.cache;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import getjobs.infrastructure.ai.llm.LlmMessage;
+import getjobs.modules.ai.job.dto.JobMatchResult;
+import getjobs.repository.JobMatchVerdictRepository;
+import getjobs.repository.entity.JobMatchVerdictEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * AI 岗位匹配结论缓存（内存 LRU + job_match_verdict 表）
+ * <p>
+ * 缓存键为“模板 ID + 平台:模型 + 组装后的提示词消息”的 SHA-256。提示词消息已包含求职意向、
+ * 归一化后的职位描述与补充规则，因此其中任一项或模板内容变化都会自然换键；
+ * 只调整黑名单、薪资等非 AI 规则后重新过滤时全部命中缓存，不再调用 AI。
+ * 缓存启用时匹配请求固定发往键中的平台（见 {@link #platformOf}），结论不会记在其他平台名下。
+ * 缓存读写失败只记录日志，不影响匹配本身。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Component
+public class JobMatchVerdictCache {
+
+    /**
+     * 缓存键
+     *
+     * @param hash       SHA-256 十六进制摘要
+     * @param templateId 提示词模板 ID
+     * @param model      平台:模型名
+     */
+    public record VerdictKey(String hash, String templateId, String model) {
+    }
+
+    private static final AiPlatform DEFAULT_PLATFORM = AiPlatform.DEEPSEEK;
+
+    private final JobMatchVerdictRepository repository;
+    private final JobMatchCacheProperties properties;
+    private final Environment environment;
+
+    private final Map<String, JobMatchResult> lru;
+
+    public JobMatchVerdictCache(JobMatchVerdictRepository repository,
+            JobMatchCacheProperties properties,
+            Environment environment) {
+        this.repository = repository;
+        this.properties = properties;
+        this.environment = environment;
+        int capacity = Math.max(1, properties.getLruSize());
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JobMatchResult> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * 本次匹配应调用的平台
+     * <p>
+     * 缓存启用时未指定平台按默认平台调用：指定平台的请求只由该平台处理，结论与键中的平台:模型一致；
+     * 若交由路由选择平台，其他厂商的结论会被记在默认平台名下。缓存未启用时原样返回，由路由选择。
+     * </p>
+     *
+     * @param platform 调用方指定的 AI 平台，可为 null
+     * @return 实际传给 LLM 客户端的平台
+     */
+    public AiPlatform platformOf(AiPlatform platform) {
+        return platform == null && properties.isEnabled() ? DEFAULT_PLATFORM : platform;
+    }
+
+    /**
+     * 计算缓存键
+     *
+     * @param platform      AI 平台，为 null 时按默认平台计算
+     * @param modelOverride 模型名覆盖，为空时使用平台当前配置的模型
+     * @param templateId    提示词模板 ID
+     * @param messages      组装后的提示词消息
+     * @return 缓存键
+     */
+    public VerdictKey keyOf(AiPlatform platform, String modelOverride, String templateId, List<LlmMessage> messages) {
+        String model = resolveModel(platform, modelOverride);
+        StringBuilder source = new StringBuilder()
+                .append(templateId).append('\u0000')
+                .append(model).append('\u0000');
+        for (LlmMessage message : messages) {
+            source.append(message.role()).append('\u0001').append(message.content()).append('\u0000');
+        }
+        return new VerdictKey(sha256(source.toString()), templateId, model);
+    }
+
+    /**
+     * 仅查询缓存，不调用 AI
+     *
+     * @param key 缓存键
+     * @return 缓存的结论副本，未命中或缓存未启用时返回 null
+     */
+    public JobMatchResult peek(VerdictKey key) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        JobMatchResult cached;
+        synchronized (lru) {
+            cached = lru.get(key.hash());
+        }
+        if (cached == null) {
+            try {
+                cached = repository.findByCacheKey(key.hash())
+                        .map(entity -> new JobMatchResult(Boolean.TRUE.equals(entity.getMatched()),
+                                entity.getReason(), entity.getConfidence()))
+                        .orElse(null);
+            } catch (Exception e) {
+                log.warn("读取AI岗位匹配缓存失败: {}", e.getMessage());
+                return null;
+            }
+            if (cached == null) {
+                return null;
+            }
+            remember(key.hash(), cached);
+        }
+        return copyOf(cached);
+    }
+
+    /**
+     * 查询缓存，未命中时调用 AI 并写入缓存
+     *
+     * @param key    缓存键
+     * @param loader 实际的 AI 匹配调用
+     * @return 匹配结论
+     */
+    public JobMatchResult getOrLoad(VerdictKey key, Supplier<JobMatchResult> loader) {
+        JobMatchResult cached = peek(key);
+        if (cached != null) {
+            log.debug("AI岗位匹配缓存命中 - template={}, model={}", key.templateId(), key.model());
+            return cached;
+        }
+        JobMatchResult result = loader.get();
+        put(key, result);
+        return result;
+    }
+
+    /**
+     * 写入一条结论
+     *
+     * @param key    缓存键
+     * @param result 匹配结论
+     */
+    public void put(VerdictKey key, JobMatchResult result) {
+        if (properties.isEnabled() && result != null) {
+            remember(key.hash(), copyOf(result));
+            persist(key, result);
+        }
+    }
+
+    private void persist(VerdictKey key, JobMatchResult result) {
+        JobMatchVerdictEntity entity = new JobMatchVerdictEntity();
+        entity.setCacheKey(key.hash());
+        entity.setTemplateId(key.templateId());
+        entity.setModel(key.model());
+        entity.setMatched(result.isMatched());
+        entity.setReason(result.getReason());
+        entity.setConfidence(result.getConfidence());
+        try {
+            repository.save(entity);
+        } catch (DataIntegrityViolationException e) {
+            // 并发匹配同一内容时另一线程已写入，保留先写入的结论
+            log.debug("AI岗位匹配结论已存在: {}", key.hash());
+        } catch (Exception e) {
+            log.warn("写入AI岗位匹配缓存失败: {}", e.getMessage());
+        }
+    }
+
+    private void remember(String hash, JobMatchResult result) {
+        synchronized (lru) {
+            lru.put(hash, result);
+        }
+    }
+
+    /**
+     * 解析本次调用实际使用的模型名，读取当前环境配置以反映运行时刷新的模型
+     */
+    private String resolveModel(AiPlatform platform, String modelOverride) {
+        AiPlatform effective = platform != null ? platform : DEFAULT_PLATFORM;
+        if (StringUtils.hasText(modelOverride)) {
+            return effective.name() + ":" + modelOverride;
+        }
+        String model = switch (effective) {
+            case DEEPSEEK -> environment.getProperty("spring.ai.deepseek.chat.options.model");
+            case OPENAI -> environment.getProperty("spring.ai.openai.chat.options.model");
+            case QWEN -> environment.getProperty("spring.ai.qwen.chat.options.model", "qwen-plus");
+        };
+        return effective.name() + ":" + (model != null ? model : "default");
+    }
+
+    private static JobMatchResult copyOf(JobMatchResult result) {
+        return new JobMatchResult(result.isMatched(), result.getReason(), result.getConfidence());
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 算法不可用", e);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package getjobs.modules.ai.job.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import getjobs.infrastructure.ai.enums.AiPlatform;
 import getjobs.infrastructure.ai.llm.LlmClient;
 import getjobs.infrastructure.ai.llm.LlmMessage;
+import getjobs.infrastructure.ai.llm.LlmUseCase;
+import getjobs.infrastructure.ai.validate.JsonSchemaValidator;
 import getjobs.modules.ai.job.assembler.JobPromptAssembler;
+import getjobs.modules.ai.job.cache.JobMatchVerdictCache;
+import getjobs.modules.ai.job.cache.JobMatchVerdictCache.VerdictKey;
 import getjobs.modules.ai.job.dto.JobMatchResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,8 +17,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,6 +33,7 @@ import java.util.regex.Pattern;
  * 该服务使用 AI 模型来评估候选人的简历（或个人简介）与职位描述（JD）的匹配度。
  * 使用新的提示词架构，通过 {@link JobPromptAssembler} 组装提示词，
  * 调用 {@link LlmClient} 与 LLM 交互，并解析返回结果得出匹配度。
+ * 匹配结论经 {@link JobMatchVerdictCache} 按提示词内容缓存，相同内容不重复调用 AI。
  * </p>
  */
 @Slf4j
@@ -30,17 +42,29 @@ import java.util.regex.Pattern;
 public class JobMatchAiService {
 
     private static final Pattern BOOLEAN_PATTERN = Pattern.compile("\\b(true|false)\\b", Pattern.CASE_INSENSITIVE);
-    private static final String DEFAULT_TEMPLATE_ID = "job-match-v1";
+    /**
+     * 单职位匹配模板 ID
+     */
+    public static final String DEFAULT_TEMPLATE_ID = "job-match-v1";
     private static final String DEFAULT_TITLE_TEMPLATE_ID = "job-match-by-title-v1";
+    /**
+     * 批量匹配模板 ID
+     */
+    public static final String BATCH_TEMPLATE_ID = "job-match-batch-v1";
+    private static final Pattern CODE_FENCE = Pattern.compile("^```(?:json)?\\s*|\\s*```$");
     /**
      * 职位描述的最小有效长度阈值（字符数）
      * 低于此长度将视为无效，使用职位名称进行推断匹配
      */
     private static final int MIN_JD_LENGTH = 50;
+    private static final Pattern INLINE_WHITESPACE = Pattern.compile("[\\t\\x0B\\f\\u00A0\\u3000 ]+");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\s*\\R\\s*");
 
     private final JobPromptAssembler assembler;
     private final LlmClient llmClient;
     private final ObjectMapper objectMapper;
+    private final JobMatchVerdictCache verdictCache;
+    private final JsonSchemaValidator jsonSchemaValidator;
 
     /**
      * 判断候选人的简历是否与职位描述匹配（返回详细结果）。
@@ -70,14 +94,130 @@ public class JobMatchAiService {
     }
 
     public JobMatchResult matchWithReason(String myJd, String jobDescription, String templateId, List<String> extraRules) {
-        List<LlmMessage> messages = assembler.assemble(templateId, myJd, jobDescription, extraRules);
-        String rawResponse = llmClient.chat(messages).trim();
+        return matchWithReason(null, myJd, jobDescription, templateId, extraRules);
+    }
 
-        JobMatchResult result = parseJobMatchResult(rawResponse);
-        log.info("Job match evaluation - template={}, matched={}, reason={}",
-                templateId, result.isMatched(), result.getReason());
-        log.debug("Raw AI response: {}", rawResponse);
-        return result;
+    /**
+     * 使用指定 AI 平台判断候选人的简历是否与职位描述匹配。
+     *
+     * @param platform       AI 平台，为 null 时使用默认平台
+     * @param myJd           候选人的简历或个人简介文本。
+     * @param jobDescription 招聘网站上的职位描述文本。
+     * @return 匹配结果，包含是否匹配和判定原因。
+     */
+    public JobMatchResult matchWithReason(AiPlatform platform, String myJd, String jobDescription) {
+        return matchWithReason(platform, myJd, jobDescription, DEFAULT_TEMPLATE_ID, Collections.emptyList());
+    }
+
+    public JobMatchResult matchWithReason(AiPlatform platform, String myJd, String jobDescription, String templateId,
+            List<String> extraRules) {
+        return matchWithReason(platform, myJd, jobDescription, templateId, extraRules, UnaryOperator.identity());
+    }
+
+    /**
+     * 使用指定 AI 平台判断候选人的简历是否与职位描述匹配，并包装实际的 AI 调用。
+     * <p>
+     * 提示词只组装、哈希一次；{@code invoker} 包装后的调用仅在缓存未命中时执行，
+     * 调用方可借此只对真正发出的请求计时、计数，未执行即为缓存命中。
+     * </p>
+     *
+     * @param platform       AI 平台，为 null 时使用默认平台
+     * @param myJd           候选人的简历或个人简介文本。
+     * @param jobDescription 招聘网站上的职位描述文本。
+     * @param invoker        AI 调用的包装
+     * @return 匹配结果，包含是否匹配和判定原因。
+     */
+    public JobMatchResult matchWithReason(AiPlatform platform, String myJd, String jobDescription,
+            UnaryOperator<Supplier<JobMatchResult>> invoker) {
+        return matchWithReason(platform, myJd, jobDescription, DEFAULT_TEMPLATE_ID, Collections.emptyList(), invoker);
+    }
+
+    private JobMatchResult matchWithReason(AiPlatform platform, String myJd, String jobDescription, String templateId,
+            List<String> extraRules, UnaryOperator<Supplier<JobMatchResult>> invoker) {
+        AiPlatform target = verdictCache.platformOf(platform);
+        List<LlmMessage> messages = assembler.assemble(templateId, myJd, normalizeJobDescription(jobDescription),
+                extraRules);
+        VerdictKey key = verdictCache.keyOf(target, null, templateId, messages);
+        return verdictCache.getOrLoad(key, invoker.apply(() -> {
+            String rawResponse = llmClient.chat(LlmUseCase.MATCH, target, messages, null, null).trim();
+
+            JobMatchResult result = parseJobMatchResult(rawResponse);
+            log.info("Job match evaluation - template={}, matched={}, reason={}",
+                    templateId, result.isMatched(), result.getReason());
+            log.debug("Raw AI response: {}", rawResponse);
+            return result;
+        }));
+    }
+
+    /**
+     * 一次请求批量判断多个职位描述是否匹配（模板 job-match-batch-v1）。
+     * <p>
+     * 系统提示词与候选人信息只发送一次。返回数组中字段缺失、编号未知的元素被丢弃，
+     * 对应职位不在结果中，由调用方拆分重试；整体无法解析为 JSON 数组时抛出异常。
+     * 得到的结论按“单职位批量提示词”写入缓存，可由 {@link #findCachedBatchMatch} 查询。
+     * 批量模板不返回置信度，结论的 confidence 为 null，由调用方决定默认值。
+     * </p>
+     *
+     * @param platform        AI 平台，为 null 时使用默认平台
+     * @param myJd            候选人的简历或个人简介文本
+     * @param jobDescriptions 职位键 -> 职位描述
+     * @return 职位键 -> 匹配结果（仅包含解析成功的职位）
+     * @throws IllegalArgumentException 响应不是合法的 JSON 数组
+     */
+    public Map<String, JobMatchResult> matchBatch(AiPlatform platform, String myJd, Map<String, String> jobDescriptions) {
+        Map<String, String> jds = new LinkedHashMap<>();
+        Map<String, String> keysById = new HashMap<>();
+        jobDescriptions.forEach((key, jobDescription) -> {
+            String id = "J" + (jds.size() + 1);
+            jds.put(id, normalizeJobDescription(jobDescription));
+            keysById.put(id, key);
+        });
+
+        AiPlatform target = verdictCache.platformOf(platform);
+        List<LlmMessage> messages = assembler.assembleBatch(BATCH_TEMPLATE_ID, myJd, jds, Collections.emptyList());
+        String rawResponse = llmClient.chat(LlmUseCase.MATCH, target, messages, null, null).trim();
+        log.debug("Raw AI batch response: {}", rawResponse);
+
+        Map<String, JobMatchResult> results = new LinkedHashMap<>();
+        for (JsonNode item : jsonSchemaValidator.checkArray(CODE_FENCE.matcher(rawResponse).replaceAll(""))) {
+            if (!jsonSchemaValidator.hasFields(item, "id", "matched", "reason") || !item.get("matched").isBoolean()) {
+                log.debug("Skipping invalid batch verdict: {}", item);
+                continue;
+            }
+            String id = item.get("id").asText();
+            String key = keysById.get(id);
+            if (key == null || results.containsKey(key)) {
+                continue;
+            }
+            JobMatchResult result = new JobMatchResult(item.get("matched").asBoolean(), item.get("reason").asText(), null);
+            results.put(key, result);
+            verdictCache.put(batchItemKey(target, myJd, jds.get(id)), result);
+        }
+        log.info("Job match batch evaluation - template={}, jobs={}, parsed={}",
+                BATCH_TEMPLATE_ID, jobDescriptions.size(), results.size());
+        return results;
+    }
+
+    /**
+     * 仅查询批量匹配模板下的结论缓存，不调用 AI。
+     *
+     * @param platform       AI 平台，为 null 时使用默认平台
+     * @param myJd           候选人的简历或个人简介文本
+     * @param jobDescription 职位描述
+     * @return 缓存的匹配结果，未命中时返回 null
+     */
+    public JobMatchResult findCachedBatchMatch(AiPlatform platform, String myJd, String jobDescription) {
+        return verdictCache.peek(batchItemKey(verdictCache.platformOf(platform), myJd,
+                normalizeJobDescription(jobDescription)));
+    }
+
+    /**
+     * 批量结论的缓存键：以只含该职位的批量提示词计算，与同批的其他职位无关
+     */
+    private VerdictKey batchItemKey(AiPlatform platform, String myJd, String normalizedJobDescription) {
+        List<LlmMessage> messages = assembler.assembleBatch(BATCH_TEMPLATE_ID, myJd,
+                Map.of("J1", normalizedJobDescription), Collections.emptyList());
+        return verdictCache.keyOf(platform, null, BATCH_TEMPLATE_ID, messages);
     }
 
     /**
@@ -112,14 +252,19 @@ public class JobMatchAiService {
     }
 
     public JobMatchResult matchByTitle(String myJd, String jobTitle, String templateId, List<String> extraRules) {
-        List<LlmMessage> messages = assembler.assembleByTitle(templateId, myJd, jobTitle, extraRules);
-        String rawResponse = llmClient.chat(messages).trim();
+        List<LlmMessage> messages = assembler.assembleByTitle(templateId, myJd,
+                jobTitle != null ? jobTitle.trim() : null, extraRules);
+        AiPlatform target = verdictCache.platformOf(null);
+        VerdictKey key = verdictCache.keyOf(target, null, templateId, messages);
+        return verdictCache.getOrLoad(key, () -> {
+            String rawResponse = llmClient.chat(LlmUseCase.MATCH, target, messages, null, null).trim();
 
-        JobMatchResult result = parseJobMatchResult(rawResponse);
-        log.info("Job match by title evaluation - template={}, matched={}, confidence={}, reason={}",
-                templateId, result.isMatched(), result.getConfidence(), result.getReason());
-        log.debug("Raw AI response: {}", rawResponse);
-        return result;
+            JobMatchResult result = parseJobMatchResult(rawResponse);
+            log.info("Job match by title evaluation - template={}, matched={}, confidence={}, reason={}",
+                    templateId, result.isMatched(), result.getConfidence(), result.getReason());
+            log.debug("Raw AI response: {}", rawResponse);
+            return result;
+        });
     }
 
     /**
@@ -206,6 +351,20 @@ public class JobMatchAiService {
         return matchWithReason(myJd, jobDescription, templateId).isMatched();
     }
 
+    /**
+     * 归一化职位描述：去除首尾空白，合并行内连续空白与多余空行。
+     * <p>
+     * 不同平台抓取的同一职位描述常只在空白上有差异，归一化后可命中同一条缓存结论。
+     * </p>
+     */
+    private static String normalizeJobDescription(String jobDescription) {
+        if (jobDescription == null) {
+            return null;
+        }
+        String collapsed = INLINE_WHITESPACE.matcher(jobDescription.trim()).replaceAll(" ");
+        return BLANK_LINES.matcher(collapsed).replaceAll("\n");
+    }
+
     /**
      * 从 AI 模型的响应内容中解析职位匹配结果。
      * <p>
@@ -0,0 +1,236 @@
+package getjobs.modules.ai.job.service;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import getjobs.infrastructure.ai.llm.LlmRateLimiter;
+import getjobs.modules.ai.job.dto.JobMatchResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 职位匹配批量 AI 服务
+ * <p>
+ * 每个任务一个虚拟线程，实际在途请求数由 {@link LlmRateLimiter} 按平台的并发数与每分钟请求数约束
+ * （在 LLM 客户端内按实际处理请求的平台取得许可，故障转移与对冲请求同样受限），
+ * 总耗时约为“单次 LLM 延迟 × 请求数 / 并发数”。已有缓存结论的职位直接返回，不占用限流配额；
+ * 单职位模式下提示词只组装、哈希一次，缓存命中数以缓存实际未发出请求的职位计。
+ * 单个职位匹配失败只记录日志，不影响其他职位。
+ * </p>
+ * <p>
+ * 批量大小大于 1 时，每 K 个职位合并为一次请求（模板 job-match-batch-v1）；某批响应中有职位未能解析时，
+ * 只对这些职位重试，整批解析失败则对半拆分重试，拆到单个职位时改用单职位模板。
+ * </p>
+ * <p>
+ * 每次请求的耗时（含限流等待）记录在 {@code job.filter.ai.request}（按平台与 single / batch 区分，含 P50/P90/P99），
+ * 不含等待的请求延迟见 {@code llm.routing.latency.ewma}。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobMatchBatchService {
+
+    private final JobMatchAiService jobMatchAiService;
+    private final LlmRateLimiter llmRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 并发匹配一批职位（每个职位一次请求）
+     *
+     * @see #matchAll(AiPlatform, String, Map, int)
+     */
+    public Map<String, JobMatchResult> matchAll(AiPlatform platform, String myJd, Map<String, String> jobDescriptions) {
+        return matchAll(platform, myJd, jobDescriptions, 1);
+    }
+
+    /**
+     * 并发匹配一批职位
+     * <p>
+     * 调用线程被中断（任务取消）时取消尚未完成的匹配并恢复中断标记，已完成的结果照常返回。
+     * </p>
+     *
+     * @param platform        AI 平台
+     * @param myJd            候选人的简历或个人简介文本
+     * @param jobDescriptions 职位键 -> 职位描述
+     * @param batchSize       每次请求匹配的职位数，小于等于 1 时逐个职位请求
+     * @return 职位键 -> 匹配结果；匹配失败或被取消的职位不在结果中
+     */
+    public Map<String, JobMatchResult> matchAll(AiPlatform platform, String myJd, Map<String, String> jobDescriptions,
+            int batchSize) {
+        Map<String, JobMatchResult> results = new ConcurrentHashMap<>();
+        if (jobDescriptions == null || jobDescriptions.isEmpty()) {
+            return results;
+        }
+
+        long start = System.currentTimeMillis();
+        AtomicInteger cacheHits = new AtomicInteger();
+        AtomicInteger requests = new AtomicInteger();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("job-ai-match-", 0).factory())) {
+            List<Future<?>> futures = new ArrayList<>();
+            if (batchSize <= 1) {
+                jobDescriptions.forEach((key, jobDescription) -> futures.add(executor.submit(() -> {
+                    try {
+                        matchSingle(platform, myJd, key, jobDescription, results, cacheHits, requests);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })));
+            } else {
+                Map<String, String> misses = new LinkedHashMap<>();
+                jobDescriptions.forEach((key, jobDescription) -> {
+                    JobMatchResult cached = jobMatchAiService.findCachedBatchMatch(platform, myJd, jobDescription);
+                    if (cached != null) {
+                        results.put(key, cached);
+                        cacheHits.incrementAndGet();
+                    } else {
+                        misses.put(key, jobDescription);
+                    }
+                });
+                for (Map<String, String> chunk : partition(misses, batchSize)) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            matchChunk(platform, myJd, chunk, results, cacheHits, requests);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }));
+                }
+            }
+
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                log.warn("AI岗位匹配被取消，已完成 {}/{}", results.size(), jobDescriptions.size());
+            } catch (ExecutionException e) {
+                log.warn("AI岗位匹配任务异常: {}", e.getMessage());
+            }
+        }
+
+        log.info("AI岗位匹配完成，平台: {}, 职位数: {}, 成功: {}, 缓存命中: {}, 请求数: {}, 批量: {}, 并发: {}, 耗时: {}ms",
+                platform, jobDescriptions.size(), results.size(), cacheHits.get(), requests.get(),
+                Math.max(1, batchSize), llmRateLimiter.concurrencyOf(platform), System.currentTimeMillis() - start);
+        return results;
+    }
+
+    /**
+     * 批量匹配一组职位，未能解析出结论的职位拆分后重试
+     */
+    private void matchChunk(AiPlatform platform, String myJd, Map<String, String> chunk,
+            Map<String, JobMatchResult> results, AtomicInteger cacheHits, AtomicInteger requests)
+            throws InterruptedException {
+        if (chunk.size() == 1) {
+            Map.Entry<String, String> only = chunk.entrySet().iterator().next();
+            matchSingle(platform, myJd, only.getKey(), only.getValue(), results, cacheHits, requests);
+            return;
+        }
+
+        Map<String, JobMatchResult> scored;
+        try {
+            requests.incrementAndGet();
+            scored = timed(platform, "batch", () -> jobMatchAiService.matchBatch(platform, myJd, chunk)).get();
+        } catch (Exception e) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException("AI岗位批量匹配被取消");
+            }
+            log.warn("AI岗位批量匹配失败，职位数: {}, 原因: {}", chunk.size(), e.getMessage());
+            scored = Map.of();
+        }
+        results.putAll(scored);
+
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : chunk.entrySet()) {
+            if (!scored.containsKey(entry.getKey())) {
+                missing.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        if (missing.size() < chunk.size()) {
+            // 部分职位未解析：只重试这些职位
+            matchChunk(platform, myJd, missing, results, cacheHits, requests);
+            return;
+        }
+        // 整批失败：对半拆分重试
+        for (Map<String, String> half : partition(missing, (missing.size() + 1) / 2)) {
+            matchChunk(platform, myJd, half, results, cacheHits, requests);
+        }
+    }
+
+    /**
+     * 单职位匹配；缓存命中时不发出请求，也不计入请求耗时
+     */
+    private void matchSingle(AiPlatform platform, String myJd, String key, String jobDescription,
+            Map<String, JobMatchResult> results, AtomicInteger cacheHits, AtomicInteger requests)
+            throws InterruptedException {
+        try {
+            AtomicBoolean requested = new AtomicBoolean();
+            JobMatchResult result = jobMatchAiService.matchWithReason(platform, myJd, jobDescription,
+                    call -> () -> {
+                        requested.set(true);
+                        requests.incrementAndGet();
+                        return timed(platform, "single", call).get();
+                    });
+            results.put(key, result);
+            if (!requested.get()) {
+                cacheHits.incrementAndGet();
+            }
+        } catch (Exception e) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException("AI岗位匹配被取消");
+            }
+            log.warn("AI岗位匹配失败，职位: {}, 原因: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 记录单次请求耗时（含 LLM 客户端内的限流等待）
+     */
+    private <T> Supplier<T> timed(AiPlatform platform, String mode, Supplier<T> call) {
+        Timer timer = Timer.builder("job.filter.ai.request")
+                .description("AI岗位匹配单次请求耗时")
+                .tag("platform", platform.name().toLowerCase())
+                .tag("mode", mode)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        return () -> timer.record(call);
+    }
+
+    private static List<Map<String, String>> partition(Map<String, String> source, int size) {
+        List<Map<String, String>> chunks = new ArrayList<>();
+        Map<String, String> current = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : source.entrySet()) {
+            current.put(entry.getKey(), entry.getValue());
+            if (current.size() >= size) {
+                chunks.add(current);
+                current = new LinkedHashMap<>();
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+}
@@ -43,7 +43,7 @@ public class JobSkillPromptAssembler {
         List<LlmMessage> messages = new ArrayList<>();
 
         for (PromptTemplate.Segment segment : template.getSegments()) {
-            String content = renderer.render(segment.getContent(), variables);
+            String content = renderer.render(segment, variables);
             switch (segment.getType()) {
                 case SYSTEM -> messages.add(LlmMessage.system(content));
                 case GUIDELINES -> messages.add(LlmMessage.system(content));
@@ -3,11 +3,13 @@ package getjobs.modules.ai.onboarding.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import getjobs.infrastructure.ai.llm.LlmClient;
 import getjobs.infrastructure.ai.llm.LlmMessage;
+import getjobs.infrastructure.ai.llm.LlmStreams;
 import getjobs.modules.ai.onboarding.assembler.OnboardingPromptAssembler;
 import getjobs.modules.ai.onboarding.dto.OnboardingParseResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.regex.Matcher;
@@ -30,16 +32,36 @@ public class OnboardingParseService {
     }
 
     public OnboardingParseResponse parse(String description, String templateId, String modelOverride) {
-        List<LlmMessage> messages = assembler.assemble(templateId, description);
-        String raw = llmClient.chat(messages).trim();
+        String raw = LlmStreams.join(stream(description, templateId, modelOverride)).trim();
         log.debug("[Onboarding] AI raw response: {}", raw);
         return parseJson(raw);
     }
 
+    /**
+     * 流式解析，供前端逐段展示；JSON 闭合后即停止生成
+     *
+     * @param description 用户的求职描述
+     * @return 增量文本片段
+     */
+    public Flux<String> stream(String description) {
+        return stream(description, DEFAULT_TEMPLATE_ID, null);
+    }
+
+    private Flux<String> stream(String description, String templateId, String modelOverride) {
+        List<LlmMessage> messages = assembler.assemble(templateId, description);
+        return LlmStreams.untilJsonClosed(llmClient.stream(null, messages, modelOverride, null));
+    }
+
     private OnboardingParseResponse parseJson(String raw) {
-        // 优先尝试提取 markdown 代码块中的 JSON
+        // 优先尝试提取 markdown 代码块中的 JSON；流式截断后代码块没有结束标记，退回到从第一个 { 开始截取
         Matcher matcher = JSON_BLOCK.matcher(raw);
-        String json = matcher.find() ? matcher.group(1).trim() : raw;
+        String json;
+        if (matcher.find()) {
+            json = matcher.group(1).trim();
+        } else {
+            int start = raw.indexOf('{');
+            json = start > 0 ? raw.substring(start) : raw;
+        }
 
         try {
             return objectMapper.readValue(json, OnboardingParseResponse.class);
@@ -8,9 +8,11 @@ import getjobs.repository.UserProfileRepository;
 import getjobs.repository.entity.UserProfile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -31,6 +33,14 @@ public class OnboardingController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 流式解析求职描述（SSE），逐段返回模型输出的 JSON 文本，JSON 闭合后结束
+     */
+    @PostMapping(value = "/parse/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<String> parseStream(@RequestBody OnboardingParseRequest request) {
+        return onboardingParseService.stream(request.getDescription());
+    }
+
     @PostMapping("/save-profile")
     @Transactional
     public ResponseEntity<Map<String, Object>> saveProfile(@RequestBody OnboardingParseResponse data) {
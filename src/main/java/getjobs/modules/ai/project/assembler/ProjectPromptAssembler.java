@@ -45,7 +45,7 @@ public class ProjectPromptAssembler {
         List<LlmMessage> messages = new ArrayList<>();
 
         for (PromptTemplate.Segment segment : template.getSegments()) {
-            String rendered = renderer.render(segment.getContent(), variables);
+            String rendered = renderer.render(segment, variables);
             switch (segment.getType()) {
                 case SYSTEM, GUIDELINES -> messages.add(LlmMessage.system(rendered));
                 case USER, FEW_SHOTS -> messages.add(LlmMessage.user(rendered));
@@ -7,8 +7,10 @@ import getjobs.modules.ai.job.dto.JobMatchResult;
 import getjobs.modules.ai.job.service.JobMatchAiService;
 import getjobs.modules.ai.web.dto.JobMatchRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 /**
  * AI 能力 REST API
@@ -39,6 +41,20 @@ public class AiController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 流式生成个性化招呼语（SSE）
+     * <p>
+     * 逐段返回模型输出，达到 maxChars 后结束；客户端断开时停止生成。
+     * </p>
+     *
+     * @param request 招呼语生成请求
+     * @return 增量文本片段
+     */
+    @PostMapping(value = "/greeting/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<String> streamGreeting(@RequestBody GreetingRequest request) {
+        return greetingService.stream(request);
+    }
+
     /**
      * 评估职位匹配度（智能匹配）
      * <p>
@@ -49,6 +49,16 @@ public class JobDTO implements Serializable {
      */
     private String salaryDesc;
 
+    /**
+     * 最低月薪（元，入库时由薪资描述解析）
+     */
+    private Integer salaryMinMonthly;
+
+    /**
+     * 最高月薪（元，入库时由薪资描述解析）
+     */
+    private Integer salaryMaxMonthly;
+
     /**
      * 工作经验要求
      */
@@ -232,6 +242,21 @@ public class JobDTO implements Serializable {
      */
     private String aiMatchReason;
 
+    /**
+     * 当前过滤结论对应的职位内容指纹（{@code FilterFingerprint#ofJob}）
+     */
+    private Long filterContentHash;
+
+    /**
+     * 当前过滤结论对应的过滤配置指纹
+     */
+    private Long filterConfigHash;
+
+    /**
+     * 当前 AI 匹配结论对应的 AI 结论指纹，结论不是由 AI 得出时为 null
+     */
+    private Long aiVerdictHash;
+
     /**
      * 是否收藏
      */
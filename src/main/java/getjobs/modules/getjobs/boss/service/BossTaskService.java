@@ -192,37 +192,35 @@ public class BossTaskService {
             AbstractRecruitmentService bossService = (AbstractRecruitmentService) serviceFactory
                     .getService(RecruitmentPlatformEnum.BOSS_ZHIPIN);
 
-            // 只查询状态为待处理的职位实体，用于过滤
-            List<JobEntity> allJobEntities = jobService
-                    .findPendingJobEntitiesByPlatform(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode());
-            if (allJobEntities == null || allJobEntities.isEmpty()) {
+            // 薪资范围不符的待处理职位先在数据库中批量过滤，不再加载
+            int prefiltered = bossService.prefilterPendingJobs();
+
+            // 只读取状态为待处理的职位，按批过滤（JobFilterService会直接更新数据库，返回通过过滤的职位）
+            List<JobDTO> passedJobs = new ArrayList<>();
+            int originalCount = jobService.forEachJobChunk(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(),
+                    JobStatusEnum.PENDING.getCode(), JobService.JOB_CHUNK_SIZE, chunk -> {
+                        passedJobs.addAll(bossService.filterJobs(chunk));
+                        return true;
+                    });
+            originalCount += prefiltered;
+            if (originalCount == 0) {
                 throw new IllegalArgumentException("数据库中未找到待处理状态的职位数据或数据为空");
             }
-
-            // 转换为DTO
-            List<JobDTO> jobDTOS = new ArrayList<>();
-            for (JobEntity entity : allJobEntities) {
-                JobDTO job = jobService.convertToDTO(entity);
-                jobDTOS.add(job);
-            }
-
-            // 执行过滤逻辑（JobFilterService会直接更新数据库，返回通过过滤的职位）
-            List<JobDTO> passedJobs = bossService.filterJobs(jobDTOS);
-            int filteredCount = allJobEntities.size() - passedJobs.size();
+            int filteredCount = originalCount - passedJobs.size();
 
             FilterResult result = new FilterResult();
-            result.setOriginalCount(allJobEntities.size());
+            result.setOriginalCount(originalCount);
             result.setFilteredCount(passedJobs.size());
             result.setJobs(passedJobs);
             String message = String.format("原始岗位 %d 个，过滤后剩余 %d 个，已过滤 %d 个",
-                    allJobEntities.size(), passedJobs.size(), filteredCount);
+                    originalCount, passedJobs.size(), filteredCount);
             result.setMessage(message);
             result.setTimestamp(new Date());
 
             publishTaskUpdate(TaskStage.FILTER, TaskStatus.SUCCESS, passedJobs.size(), message);
 
             log.info("岗位过滤操作完成，原始 {} 个，过滤后 {} 个，已过滤 {} 个",
-                    allJobEntities.size(), passedJobs.size(), filteredCount);
+                    originalCount, passedJobs.size(), filteredCount);
             return result;
 
         } catch (Exception e) {
@@ -16,11 +16,11 @@ import getjobs.common.dto.ConfigDTO;
 import getjobs.modules.getjobs.boss.dto.JobDTO;
 import getjobs.common.enums.JobStatusEnum;
 import getjobs.modules.getjobs.service.JobFilterService;
+import getjobs.modules.getjobs.service.JobService;
 import getjobs.modules.getjobs.boss.service.playwright.BossApiMonitorService;
 import getjobs.repository.JobRepository;
 import getjobs.repository.UserProfileRepository;
 import getjobs.repository.entity.ConfigEntity;
-import getjobs.repository.entity.JobEntity;
 import getjobs.repository.entity.UserProfile;
 import getjobs.modules.getjobs.service.AbstractRecruitmentService;
 import getjobs.modules.getjobs.service.ConfigService;
@@ -65,19 +65,21 @@ public class BossRecruitmentServiceImpl extends AbstractRecruitmentService {
     private final BossApiMonitorService bossApiMonitorService;
     private final JobRepository jobRepository;
     private final JobFilterService jobFilterService;
+    private final JobService jobService;
     private final PlaywrightService playwrightService;
     private final GreetingService greetingService;
 
     private Page page;
 
     public BossRecruitmentServiceImpl(ConfigService configService, BossApiMonitorService bossApiMonitorService,
-            JobRepository jobRepository, JobFilterService jobFilterService,
+            JobRepository jobRepository, JobFilterService jobFilterService, JobService jobService,
             PlaywrightService playwrightService, GreetingService greetingService,
             UserProfileRepository userProfileRepository) {
-        super(configService, userProfileRepository);
+        super(configService, userProfileRepository, jobFilterService);
         this.bossApiMonitorService = bossApiMonitorService;
         this.jobRepository = jobRepository;
         this.jobFilterService = jobFilterService;
+        this.jobService = jobService;
         this.playwrightService = playwrightService;
         this.greetingService = greetingService;
     }
@@ -172,6 +174,8 @@ public class BossRecruitmentServiceImpl extends AbstractRecruitmentService {
                 Thread.currentThread().interrupt();
                 throw e; // 重新抛出，让外层捕获
             }
+            // 写完入库队列与合并窗口内的职位详情，避免统计与后续流程读到未写入的数据
+            bossApiMonitorService.flushCollected();
 
             // 统计采集期间新增的岗位数量
             LocalDateTime collectionEndTime = LocalDateTime.now();
@@ -337,25 +341,15 @@ public class BossRecruitmentServiceImpl extends AbstractRecruitmentService {
     }
 
     /**
-     * 根据加密职位ID更新职位状态与原因
+     * 根据加密职位ID更新职位投递状态与原因（单条 UPDATE，不加载实体）
      */
     private void updateJobStatus(JobDTO jobDTO, int status, String reason) {
         try {
             if (jobDTO == null || jobDTO.getEncryptJobId() == null) {
                 return;
             }
-            // 历史数据可能同一 encryptJobId 存在多条，取创建时间最新的一条
-            List<JobEntity> candidates = jobRepository.findAllByEncryptJobIdIn(Collections.singletonList(jobDTO.getEncryptJobId()));
-            JobEntity entity = candidates.isEmpty() ? null
-                    : candidates.stream().max(Comparator.comparing(JobEntity::getCreatedAt)).orElse(null);
-            if (entity == null) {
-                return;
-            }
-            entity.setStatus(status);
-            if (reason != null && !reason.isEmpty()) {
-                entity.setFilterReason(reason);
-            }
-            jobRepository.save(entity);
+            jobService.markDelivered(getPlatform().getPlatformCode(), List.of(jobDTO.getEncryptJobId()),
+                    status == JobStatusEnum.DELIVERED_SUCCESS.getCode(), reason, null);
         } catch (Exception e) {
             log.debug("更新职位状态失败: {} - {} - {}", jobDTO.getCompanyName(), jobDTO.getJobName(), e.getMessage());
         }
@@ -1275,30 +1269,4 @@ public class BossRecruitmentServiceImpl extends AbstractRecruitmentService {
         profileDTO.setLinks(userProfile.getLinks());
         return profileDTO;
     }
-
-    /**
-     * Boss直聘平台特定的城市过滤逻辑
-     * Boss直聘主要使用城市代码（cityCode）进行严格匹配
-     * 
-     * @param job              职位信息
-     * @param allowedCityCodes 允许的城市代码列表
-     * @return 过滤原因，null表示通过过滤
-     */
-    @Override
-    public String filterByCity(JobDTO job, List<String> allowedCityCodes) {
-        if (allowedCityCodes == null || allowedCityCodes.isEmpty()) {
-            return null; // 如果未配置城市过滤，则默认通过
-        }
-
-        // Boss直聘使用城市代码进行严格匹配
-        if (job.getCityCode() == null) {
-            return null; // 如果职位没有城市代码，默认通过
-        }
-
-        if (!allowedCityCodes.contains(String.valueOf(job.getCityCode()))) {
-            return "Boss直聘-城市代码不符合要求: " + job.getCityCode();
-        }
-
-        return null;
-    }
 }
@@ -1,24 +1,27 @@
 package getjobs.modules.getjobs.boss.service.playwright;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.openjson.JSONArray;
 import com.github.openjson.JSONObject;
 import com.microsoft.playwright.*;
 import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.infrastructure.playwright.PlaywrightService;
-import getjobs.modules.getjobs.boss.dto.BossApiResponse;
 import getjobs.repository.entity.JobEntity;
 import getjobs.repository.JobRepository;
-import getjobs.modules.getjobs.utils.BossJobDataConverter;
+import getjobs.modules.getjobs.service.JobIngestionDedupService;
+import getjobs.modules.getjobs.service.ingest.JobDetailMergeService;
+import getjobs.modules.getjobs.service.ingest.JobIngestionPipeline;
+import getjobs.modules.getjobs.service.ingest.JobIngestionProperties;
+import getjobs.modules.getjobs.utils.BossJobListStreamDecoder;
+import getjobs.modules.getjobs.utils.SalaryParser;
+import getjobs.modules.getjobs.utils.SalaryParser.SalaryRange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PostConstruct;
 
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Boss接口监控服务
@@ -33,9 +36,12 @@ import java.util.stream.Collectors;
 public class BossApiMonitorService {
 
     private final JobRepository jobRepository;
-    private final BossJobDataConverter dataConverter;
+    private final BossJobListStreamDecoder jobListDecoder;
+    private final JobIngestionDedupService jobIngestionDedupService;
+    private final JobIngestionPipeline jobIngestionPipeline;
+    private final JobDetailMergeService jobDetailMergeService;
+    private final JobIngestionProperties jobIngestionProperties;
     private final PlaywrightService playwrightService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * 初始化监控服务
@@ -112,9 +118,9 @@ public class BossApiMonitorService {
             log.debug("响应体长度: {} 字符", body.length());
             log.debug("响应体内容: {}", body);
 
-            JSONObject jsonResponse = new JSONObject(body);
-            // 解析并保存职位数据
-            parseAndUpdateJobDetail(jsonResponse);
+            // 交由入库流水线的写线程解析并更新，回调线程不触碰数据库
+            jobIngestionPipeline.submit(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(), "岗位详情", body,
+                    (detailBody, source) -> parseAndUpdateJobDetail(new JSONObject(detailBody)));
 
         } catch (PlaywrightException e) {
             log.error("读取响应体失败: {}", e.getMessage());
@@ -137,11 +143,13 @@ public class BossApiMonitorService {
             log.debug("响应体长度: {} 字符", body.length());
             log.debug("响应体内容: {}", body);
 
-            // 尝试解析JSON并美化输出
-            formatJsonResponse(body);
+            // 仅在 debug 日志开启时才解析并美化输出
+            if (log.isDebugEnabled()) {
+                formatJsonResponse(body);
+            }
 
-            // 解析并保存职位数据
-            parseAndSaveJobData(body, "岗位搜索");
+            // 交由入库流水线的写线程解析并保存，回调线程不触碰数据库
+            jobIngestionPipeline.submit(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(), "岗位搜索", body, this::parseAndSaveJobData);
 
         } catch (PlaywrightException e) {
             log.error("读取响应体失败: {}", e.getMessage());
@@ -161,13 +169,15 @@ public class BossApiMonitorService {
         try {
             String body = res.text();
             log.info("响应体长度: {} 字符", body.length());
-            log.info("响应体内容: {}", body);
+            log.debug("响应体内容: {}", body);
 
-            // 尝试解析JSON并美化输出
-            formatJsonResponse(body);
+            // 仅在 debug 日志开启时才解析并美化输出
+            if (log.isDebugEnabled()) {
+                formatJsonResponse(body);
+            }
 
-            // 解析并保存职位数据
-            parseAndSaveJobData(body, "推荐岗位");
+            // 交由入库流水线的写线程解析并保存，回调线程不触碰数据库
+            jobIngestionPipeline.submit(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(), "推荐岗位", body, this::parseAndSaveJobData);
 
         } catch (PlaywrightException e) {
             log.error("读取响应体失败: {}", e.getMessage());
@@ -189,54 +199,40 @@ public class BossApiMonitorService {
 
     /**
      * 解析并保存职位数据
+     * <p>
+     * 由入库流水线写线程调用，事务由流水线的 TransactionTemplate 提供，本方法自身不开启事务。
+     * </p>
      * 
      * @param body   响应体JSON字符串
      * @param source 数据来源描述
      */
-    @Transactional
     public void parseAndSaveJobData(String body, String source) {
         try {
-            // 解析BOSS直聘API响应
-            BossApiResponse response = objectMapper.readValue(body, BossApiResponse.class);
+            // 流式解码BOSS直聘API响应，直接得到职位实体
+            BossJobListStreamDecoder.Result response = jobListDecoder.decode(body);
 
-            if (response.getCode() != 0) {
-                log.warn("BOSS直聘API响应错误，code: {}, message: {}", response.getCode(), response.getMessage());
+            if (response.code() == null || response.code() != 0) {
+                log.warn("BOSS直聘API响应错误，code: {}, message: {}", response.code(), response.message());
                 return;
             }
 
-            if (response.getZpData() == null || response.getZpData().getJobList() == null) {
+            List<JobEntity> jobEntities = response.jobs();
+            if (jobEntities.isEmpty()) {
                 log.warn("BOSS直聘API响应中没有职位数据");
                 return;
             }
+            log.info("从{}获取到 {} 个职位数据", source, jobEntities.size());
 
-            List<Map<String, Object>> jobList = response.getZpData().getJobList();
-            log.info("从{}获取到 {} 个职位数据", source, jobList.size());
-
-            // 转换为JobEntity并保存
-            List<JobEntity> jobEntities = jobList.stream()
-                    .map(dataConverter::convertToJobEntity)
-                    .filter(entity -> entity != null)
-                    .collect(Collectors.toList());
-
-            if (!jobEntities.isEmpty()) {
-                // 同一次 API 响应中同一职位可能出现多次（不同 itemId/searchId），先按 encryptJobId 去重，避免本批内重复插入
-                List<JobEntity> distinctEntities = new ArrayList<>(
-                        jobEntities.stream()
-                                .collect(Collectors.toMap(JobEntity::getEncryptJobId, e -> e, (a, b) -> a))
-                                .values());
-                // 再过滤掉库里已存在的
-                List<JobEntity> newJobs = distinctEntities.stream()
-                        .filter(entity -> !isJobExists(entity.getEncryptJobId()))
-                        .collect(Collectors.toList());
-
-                if (!newJobs.isEmpty()) {
-                    jobRepository.saveAll(newJobs);
-                    log.info("成功保存 {} 个新职位到数据库，来源: {}", newJobs.size(), source);
-                } else {
-                    log.info("所有职位都已存在，跳过保存，来源: {}", source);
-                }
+            // 同一次 API 响应中同一职位可能出现多次（不同 itemId/searchId），去重服务先按 encryptJobId 去重，再批量剔除库里已存在的
+            List<JobEntity> newJobs = jobIngestionDedupService.filterNewJobs(
+                    RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(), jobEntities);
+
+            if (!newJobs.isEmpty()) {
+                jobRepository.upsertAll(newJobs);
+                jobIngestionDedupService.markPersisted(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(), newJobs);
+                log.info("成功保存 {} 个新职位到数据库，来源: {}", newJobs.size(), source);
             } else {
-                log.warn("没有有效的职位数据可以保存，来源: {}", source);
+                log.info("所有职位都已存在，跳过保存，来源: {}", source);
             }
 
         } catch (Exception e) {
@@ -244,25 +240,6 @@ public class BossApiMonitorService {
         }
     }
 
-    /**
-     * 检查职位是否已存在
-     * 
-     * @param encryptJobId 加密职位ID
-     * @return 是否存在
-     */
-    private boolean isJobExists(String encryptJobId) {
-        if (encryptJobId == null || encryptJobId.trim().isEmpty()) {
-            return false;
-        }
-
-        try {
-            return jobRepository.existsByEncryptJobId(encryptJobId);
-        } catch (Exception e) {
-            log.warn("检查职位是否存在时发生错误: {}", e.getMessage());
-            return false;
-        }
-    }
-
     /**
      * 手动启动监控（如果需要重新启动）
      */
@@ -271,6 +248,19 @@ public class BossApiMonitorService {
         setupJobApiMonitor();
     }
 
+    /**
+     * 采集结束时写完已拦截的数据：先等待入库流水线写完（详情响应由写线程提交到合并服务），
+     * 再立即写入仍在合并窗口内的职位详情
+     */
+    public void flushCollected() {
+        long timeoutMs = jobIngestionProperties.getDrainTimeoutMs();
+        if (!jobIngestionPipeline.awaitIdle(timeoutMs)) {
+            log.warn("等待Boss直聘采集数据入库超时({}ms)，仍有 {} 个响应未写入", timeoutMs,
+                    jobIngestionPipeline.getUnfinishedCount());
+        }
+        jobDetailMergeService.flushAll();
+    }
+
     /**
      * 检查监控服务状态
      */
@@ -285,36 +275,29 @@ public class BossApiMonitorService {
     }
 
     /**
-     * 解析职位明细数据并更新到数据库
+     * 解析职位明细数据并提交合并写入
      *
      * @param jsonResponse 职位明细JSON响应
      */
-    @Transactional
     protected void parseAndUpdateJobDetail(JSONObject jsonResponse) {
-        String encryptId = jsonResponse.optJSONObject("zpData")
-                .optJSONObject("jobInfo")
-                .optString("encryptId");
+        JSONObject zpData = jsonResponse.optJSONObject("zpData");
+        JSONObject jobInfo = zpData == null ? null : zpData.optJSONObject("jobInfo");
+        String encryptId = jobInfo == null ? null : jobInfo.optString("encryptId", null);
         parseAndUpdateJobDetail(jsonResponse, encryptId);
     }
 
     /**
-     * 解析职位明细数据并更新到数据库
+     * 解析职位明细数据并提交合并写入
+     * <p>
+     * 只把响应中出现的字段整理为“实体字段名 -> 值”，由 {@link JobDetailMergeService} 合并窗口内的多次响应，
+     * 并仅对发生变化的列执行增量更新。
+     * </p>
      * 
      * @param jsonResponse 职位明细JSON响应
      * @param encryptJobId 加密JobId
      */
-    @Transactional
     protected void parseAndUpdateJobDetail(JSONObject jsonResponse, String encryptJobId) {
         try {
-            // 历史数据可能同一 encryptJobId 存在多条，取创建时间最新的一条
-            List<JobEntity> candidates = jobRepository.findAllByEncryptJobIdIn(Collections.singletonList(encryptJobId));
-            JobEntity jobEntity = candidates.isEmpty() ? null
-                    : candidates.stream().max(Comparator.comparing(JobEntity::getCreatedAt)).orElse(null);
-            if (jobEntity == null) {
-                log.warn("未找到encryptJobId为 {} 的职位记录", encryptJobId);
-                return;
-            }
-
             // 获取zpData节点
             JSONObject zpData = jsonResponse.optJSONObject("zpData");
             if (zpData == null) {
@@ -322,242 +305,146 @@ public class BossApiMonitorService {
                 return;
             }
 
+            Map<String, Object> fields = new LinkedHashMap<>();
+
             // 解析jobInfo节点
             JSONObject jobInfo = zpData.optJSONObject("jobInfo");
             if (jobInfo != null) {
-                updateJobEntityFromJobInfo(jobEntity, jobInfo);
+                collectJobInfoFields(fields, jobInfo);
             }
 
             // 解析bossInfo节点
             JSONObject bossInfo = zpData.optJSONObject("bossInfo");
             if (bossInfo != null) {
-                updateJobEntityFromBossInfo(jobEntity, bossInfo);
+                collectBossInfoFields(fields, bossInfo);
             }
 
             // 解析brandComInfo节点
             JSONObject brandComInfo = zpData.optJSONObject("brandComInfo");
             if (brandComInfo != null) {
-                updateJobEntityFromBrandComInfo(jobEntity, brandComInfo);
+                collectBrandComInfoFields(fields, brandComInfo);
             }
 
-            // 保存更新后的实体
-            jobRepository.save(jobEntity);
-            log.debug("成功更新职位明细信息，encryptJobId: {}, 职位: {}", encryptJobId, jobEntity.getJobTitle());
+            jobDetailMergeService.submit(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(), encryptJobId, fields);
+            log.debug("已提交职位明细合并写入，encryptJobId: {}, 字段数: {}", encryptJobId, fields.size());
 
         } catch (Exception e) {
-            log.error("解析并更新职位明细数据失败，encryptJobId: {}", encryptJobId, e);
+            log.error("解析职位明细数据失败，encryptJobId: {}", encryptJobId, e);
         }
     }
 
     /**
-     * 从jobInfo节点更新JobEntity
-     * 
-     * @param jobEntity JobEntity实例
-     * @param jobInfo   jobInfo JSON对象
+     * 收集jobInfo节点字段
      */
-    private void updateJobEntityFromJobInfo(JobEntity jobEntity, JSONObject jobInfo) {
-        try {
-            // 基础职位信息
-            if (jobInfo.has("encryptId") && !jobInfo.isNull("encryptId")) {
-                jobEntity.setEncryptJobDetailId(jobInfo.getString("encryptId"));
-            }
-            if (jobInfo.has("encryptUserId") && !jobInfo.isNull("encryptUserId")) {
-                jobEntity.setEncryptJobUserId(jobInfo.getString("encryptUserId"));
-            }
-            if (jobInfo.has("invalidStatus")) {
-                jobEntity.setJobInvalidStatus(jobInfo.getBoolean("invalidStatus"));
-            }
-            if (jobInfo.has("jobName") && !jobInfo.isNull("jobName")) {
-                jobEntity.setJobTitle(jobInfo.getString("jobName"));
-            }
-            if (jobInfo.has("position")) {
-                jobEntity.setJobPositionCode(jobInfo.getLong("position"));
-            }
-            if (jobInfo.has("positionName") && !jobInfo.isNull("positionName")) {
-                jobEntity.setJobPositionName(jobInfo.getString("positionName"));
-            }
-            if (jobInfo.has("location")) {
-                jobEntity.setJobLocationCode(jobInfo.getLong("location"));
-            }
-            if (jobInfo.has("locationName") && !jobInfo.isNull("locationName")) {
-                jobEntity.setJobLocationName(jobInfo.getString("locationName"));
-            }
-            if (jobInfo.has("locationUrl") && !jobInfo.isNull("locationUrl")) {
-                jobEntity.setJobLocationUrl(jobInfo.getString("locationUrl"));
-            }
-            if (jobInfo.has("experienceName") && !jobInfo.isNull("experienceName")) {
-                jobEntity.setJobExperienceName(jobInfo.getString("experienceName"));
-            }
-            if (jobInfo.has("degreeName") && !jobInfo.isNull("degreeName")) {
-                jobEntity.setJobDegreeName(jobInfo.getString("degreeName"));
-            }
-            if (jobInfo.has("jobType")) {
-                jobEntity.setJobDetailType(jobInfo.getInt("jobType"));
-            }
-            if (jobInfo.has("proxyJob")) {
-                jobEntity.setJobProxyJob(jobInfo.getInt("proxyJob"));
-            }
-            if (jobInfo.has("proxyType")) {
-                jobEntity.setJobProxyType(jobInfo.getInt("proxyType"));
-            }
-            if (jobInfo.has("salaryDesc") && !jobInfo.isNull("salaryDesc")) {
-                jobEntity.setSalaryDesc(jobInfo.getString("salaryDesc"));
-            }
-            if (jobInfo.has("payTypeDesc") && !jobInfo.isNull("payTypeDesc")) {
-                jobEntity.setJobPayTypeDesc(jobInfo.getString("payTypeDesc"));
-            }
-            if (jobInfo.has("postDescription") && !jobInfo.isNull("postDescription")) {
-                jobEntity.setJobPostDescription(jobInfo.getString("postDescription"));
-            }
-            if (jobInfo.has("encryptAddressId") && !jobInfo.isNull("encryptAddressId")) {
-                jobEntity.setEncryptAddressId(jobInfo.getString("encryptAddressId"));
-            }
-            if (jobInfo.has("address") && !jobInfo.isNull("address")) {
-                jobEntity.setJobAddress(jobInfo.getString("address"));
-            }
-            if (jobInfo.has("longitude")) {
-                jobEntity.setJobLongitude(new BigDecimal(jobInfo.getString("longitude")));
-            }
-            if (jobInfo.has("latitude")) {
-                jobEntity.setJobLatitude(new BigDecimal(jobInfo.getString("latitude")));
-            }
-            if (jobInfo.has("staticMapUrl") && !jobInfo.isNull("staticMapUrl")) {
-                jobEntity.setJobStaticMapUrl(jobInfo.getString("staticMapUrl"));
-            }
-            if (jobInfo.has("pcStaticMapUrl") && !jobInfo.isNull("pcStaticMapUrl")) {
-                jobEntity.setJobPcStaticMapUrl(jobInfo.getString("pcStaticMapUrl"));
-            }
-            if (jobInfo.has("baiduStaticMapUrl") && !jobInfo.isNull("baiduStaticMapUrl")) {
-                jobEntity.setJobBaiduStaticMapUrl(jobInfo.getString("baiduStaticMapUrl"));
-            }
-            if (jobInfo.has("baiduPcStaticMapUrl") && !jobInfo.isNull("baiduPcStaticMapUrl")) {
-                jobEntity.setJobBaiduPcStaticMapUrl(jobInfo.getString("baiduPcStaticMapUrl"));
-            }
-            if (jobInfo.has("showSkills")) {
-                jobEntity.setJobShowSkills(jobInfo.getJSONArray("showSkills").toString());
-            }
-            if (jobInfo.has("anonymous")) {
-                jobEntity.setJobAnonymous(jobInfo.getInt("anonymous"));
-            }
-            if (jobInfo.has("jobStatusDesc") && !jobInfo.isNull("jobStatusDesc")) {
-                jobEntity.setJobStatusDesc(jobInfo.getString("jobStatusDesc"));
-            }
-
-            log.debug("成功更新jobInfo信息到JobEntity");
-        } catch (Exception e) {
-            log.error("更新jobInfo信息失败: {}", e.getMessage(), e);
+    private void collectJobInfoFields(Map<String, Object> fields, JSONObject jobInfo) {
+        // 基础职位信息
+        fields.put("encryptJobDetailId", string(jobInfo, "encryptId"));
+        fields.put("encryptJobUserId", string(jobInfo, "encryptUserId"));
+        fields.put("jobInvalidStatus", bool(jobInfo, "invalidStatus"));
+        fields.put("jobTitle", string(jobInfo, "jobName"));
+        fields.put("jobPositionCode", longValue(jobInfo, "position"));
+        fields.put("jobPositionName", string(jobInfo, "positionName"));
+        fields.put("jobLocationCode", longValue(jobInfo, "location"));
+        fields.put("jobLocationName", string(jobInfo, "locationName"));
+        fields.put("jobLocationUrl", string(jobInfo, "locationUrl"));
+        fields.put("jobExperienceName", string(jobInfo, "experienceName"));
+        fields.put("jobDegreeName", string(jobInfo, "degreeName"));
+        fields.put("jobDetailType", integer(jobInfo, "jobType"));
+        fields.put("jobProxyJob", integer(jobInfo, "proxyJob"));
+        fields.put("jobProxyType", integer(jobInfo, "proxyType"));
+        fields.put("salaryDesc", string(jobInfo, "salaryDesc"));
+        SalaryRange salary = SalaryParser.parse(string(jobInfo, "salaryDesc"));
+        if (salary != null) {
+            fields.put("salaryMinMonthly", salary.minMonthly());
+            fields.put("salaryMaxMonthly", salary.maxMonthly());
+            fields.put("salaryMonths", salary.months());
         }
+        fields.put("jobPayTypeDesc", string(jobInfo, "payTypeDesc"));
+        fields.put("jobPostDescription", string(jobInfo, "postDescription"));
+        fields.put("encryptAddressId", string(jobInfo, "encryptAddressId"));
+        fields.put("jobAddress", string(jobInfo, "address"));
+        fields.put("jobLongitude", decimal(jobInfo, "longitude"));
+        fields.put("jobLatitude", decimal(jobInfo, "latitude"));
+        fields.put("jobStaticMapUrl", string(jobInfo, "staticMapUrl"));
+        fields.put("jobPcStaticMapUrl", string(jobInfo, "pcStaticMapUrl"));
+        fields.put("jobBaiduStaticMapUrl", string(jobInfo, "baiduStaticMapUrl"));
+        fields.put("jobBaiduPcStaticMapUrl", string(jobInfo, "baiduPcStaticMapUrl"));
+        fields.put("jobShowSkills", array(jobInfo, "showSkills"));
+        fields.put("jobAnonymous", integer(jobInfo, "anonymous"));
+        fields.put("jobStatusDesc", string(jobInfo, "jobStatusDesc"));
     }
 
     /**
-     * 从bossInfo节点更新JobEntity
-     * 
-     * @param jobEntity JobEntity实例
-     * @param bossInfo  bossInfo JSON对象
+     * 收集bossInfo节点字段
      */
-    private void updateJobEntityFromBossInfo(JobEntity jobEntity, JSONObject bossInfo) {
-        try {
-            if (bossInfo.has("name") && !bossInfo.isNull("name")) {
-                jobEntity.setBossName(bossInfo.getString("name"));
-            }
-            if (bossInfo.has("title") && !bossInfo.isNull("title")) {
-                jobEntity.setBossTitle(bossInfo.getString("title"));
-            }
-            if (bossInfo.has("tiny") && !bossInfo.isNull("tiny")) {
-                jobEntity.setBossTiny(bossInfo.getString("tiny"));
-            }
-            if (bossInfo.has("large") && !bossInfo.isNull("large")) {
-                jobEntity.setBossLarge(bossInfo.getString("large"));
-            }
-            if (bossInfo.has("activeTimeDesc") && !bossInfo.isNull("activeTimeDesc")) {
-                jobEntity.setBossActiveTimeDesc(bossInfo.getString("activeTimeDesc"));
-            }
-            if (bossInfo.has("bossOnline")) {
-                jobEntity.setBossOnline(bossInfo.getBoolean("bossOnline"));
-            }
-            if (bossInfo.has("brandName") && !bossInfo.isNull("brandName")) {
-                jobEntity.setBossBrandName(bossInfo.getString("brandName"));
-            }
-            if (bossInfo.has("bossSource")) {
-                jobEntity.setBossSource(bossInfo.getInt("bossSource"));
-            }
-            if (bossInfo.has("certificated")) {
-                jobEntity.setBossCertificated(bossInfo.getBoolean("certificated"));
-            }
-            if (bossInfo.has("tagIconUrl") && !bossInfo.isNull("tagIconUrl")) {
-                jobEntity.setBossTagIconUrl(bossInfo.getString("tagIconUrl"));
-            }
-            if (bossInfo.has("avatarStickerUrl") && !bossInfo.isNull("avatarStickerUrl")) {
-                jobEntity.setBossAvatarStickerUrl(bossInfo.getString("avatarStickerUrl"));
-            }
-
-            log.debug("成功更新bossInfo信息到JobEntity");
-        } catch (Exception e) {
-            log.error("更新bossInfo信息失败: {}", e.getMessage(), e);
-        }
+    private void collectBossInfoFields(Map<String, Object> fields, JSONObject bossInfo) {
+        fields.put("bossName", string(bossInfo, "name"));
+        fields.put("bossTitle", string(bossInfo, "title"));
+        fields.put("bossTiny", string(bossInfo, "tiny"));
+        fields.put("bossLarge", string(bossInfo, "large"));
+        fields.put("bossActiveTimeDesc", string(bossInfo, "activeTimeDesc"));
+        fields.put("bossOnline", bool(bossInfo, "bossOnline"));
+        fields.put("bossBrandName", string(bossInfo, "brandName"));
+        fields.put("bossSource", integer(bossInfo, "bossSource"));
+        fields.put("bossCertificated", bool(bossInfo, "certificated"));
+        fields.put("bossTagIconUrl", string(bossInfo, "tagIconUrl"));
+        fields.put("bossAvatarStickerUrl", string(bossInfo, "avatarStickerUrl"));
     }
 
     /**
-     * 从brandComInfo节点更新JobEntity
-     * 
-     * @param jobEntity    JobEntity实例
-     * @param brandComInfo brandComInfo JSON对象
+     * 收集brandComInfo节点字段
      */
-    private void updateJobEntityFromBrandComInfo(JobEntity jobEntity, JSONObject brandComInfo) {
-        try {
-            if (brandComInfo.has("encryptBrandId") && !brandComInfo.isNull("encryptBrandId")) {
-                jobEntity.setEncryptBrandId(brandComInfo.getString("encryptBrandId"));
-            }
-            if (brandComInfo.has("brandName") && !brandComInfo.isNull("brandName")) {
-                jobEntity.setBrandName(brandComInfo.getString("brandName"));
-            }
-            if (brandComInfo.has("logo") && !brandComInfo.isNull("logo")) {
-                jobEntity.setBrandLogo(brandComInfo.getString("logo"));
-            }
-            if (brandComInfo.has("stage")) {
-                jobEntity.setBrandStage(brandComInfo.getLong("stage"));
-            }
-            if (brandComInfo.has("stageName") && !brandComInfo.isNull("stageName")) {
-                jobEntity.setBrandStageName(brandComInfo.getString("stageName"));
-            }
-            if (brandComInfo.has("scale")) {
-                jobEntity.setBrandScale(brandComInfo.getLong("scale"));
-            }
-            if (brandComInfo.has("scaleName") && !brandComInfo.isNull("scaleName")) {
-                jobEntity.setBrandScaleName(brandComInfo.getString("scaleName"));
-            }
-            if (brandComInfo.has("industry")) {
-                jobEntity.setBrandIndustry(brandComInfo.getLong("industry"));
-            }
-            if (brandComInfo.has("industryName") && !brandComInfo.isNull("industryName")) {
-                jobEntity.setBrandIndustryName(brandComInfo.getString("industryName"));
-            }
-            if (brandComInfo.has("introduce") && !brandComInfo.isNull("introduce")) {
-                jobEntity.setBrandIntroduce(brandComInfo.getString("introduce"));
-            }
-            if (brandComInfo.has("labels")) {
-                jobEntity.setBrandLabels(brandComInfo.getJSONArray("labels").toString());
-            }
-            if (brandComInfo.has("activeTime")) {
-                jobEntity.setBrandActiveTime(brandComInfo.getLong("activeTime"));
-            }
-            if (brandComInfo.has("visibleBrandInfo")) {
-                jobEntity.setVisibleBrandInfo(brandComInfo.getBoolean("visibleBrandInfo"));
-            }
-            if (brandComInfo.has("focusBrand")) {
-                jobEntity.setFocusBrand(brandComInfo.getBoolean("focusBrand"));
-            }
-            if (brandComInfo.has("customerBrandName") && !brandComInfo.isNull("customerBrandName")) {
-                jobEntity.setCustomerBrandName(brandComInfo.getString("customerBrandName"));
-            }
-            if (brandComInfo.has("customerBrandStageName") && !brandComInfo.isNull("customerBrandStageName")) {
-                jobEntity.setCustomerBrandStageName(brandComInfo.getString("customerBrandStageName"));
-            }
+    private void collectBrandComInfoFields(Map<String, Object> fields, JSONObject brandComInfo) {
+        fields.put("encryptBrandId", string(brandComInfo, "encryptBrandId"));
+        fields.put("brandName", string(brandComInfo, "brandName"));
+        fields.put("brandLogo", string(brandComInfo, "logo"));
+        fields.put("brandStage", longValue(brandComInfo, "stage"));
+        fields.put("brandStageName", string(brandComInfo, "stageName"));
+        fields.put("brandScale", longValue(brandComInfo, "scale"));
+        fields.put("brandScaleName", string(brandComInfo, "scaleName"));
+        fields.put("brandIndustry", longValue(brandComInfo, "industry"));
+        fields.put("brandIndustryName", string(brandComInfo, "industryName"));
+        fields.put("brandIntroduce", string(brandComInfo, "introduce"));
+        fields.put("brandLabels", array(brandComInfo, "labels"));
+        fields.put("brandActiveTime", longValue(brandComInfo, "activeTime"));
+        fields.put("visibleBrandInfo", bool(brandComInfo, "visibleBrandInfo"));
+        fields.put("focusBrand", bool(brandComInfo, "focusBrand"));
+        fields.put("customerBrandName", string(brandComInfo, "customerBrandName"));
+        fields.put("customerBrandStageName", string(brandComInfo, "customerBrandStageName"));
+    }
+
+    private static String string(JSONObject node, String key) {
+        return node.isNull(key) ? null : node.optString(key, null);
+    }
 
-            log.debug("成功更新brandComInfo信息到JobEntity");
+    private static Integer integer(JSONObject node, String key) {
+        Object value = node.opt(key);
+        return value instanceof Number number ? number.intValue() : null;
+    }
+
+    private static Long longValue(JSONObject node, String key) {
+        Object value = node.opt(key);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private static Boolean bool(JSONObject node, String key) {
+        Object value = node.opt(key);
+        return value instanceof Boolean bool ? bool : null;
+    }
+
+    private static BigDecimal decimal(JSONObject node, String key) {
+        if (node.isNull(key)) {
+            return null;
+        }
+        try {
+            return new BigDecimal(node.getString(key));
         } catch (Exception e) {
-            log.error("更新brandComInfo信息失败: {}", e.getMessage(), e);
+            return null;
         }
     }
 
+    private static String array(JSONObject node, String key) {
+        JSONArray value = node.optJSONArray(key);
+        return value == null ? null : value.toString();
+    }
 }
@@ -0,0 +1,16 @@
+package getjobs.modules.getjobs.dto;
+
+import getjobs.repository.projection.JobListItemDTO;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ *
+ * @param items            当前页数据
+ * @param nextCursor       下一页游标，没有更多数据时为 null
+ * @param hasMore          是否还有更多数据
+ * @param approximateTotal 近似总数（仅在请求时返回，可能有短暂延迟），未请求时为 null
+ */
+public record JobCursorPage(List<JobListItemDTO> items, String nextCursor, boolean hasMore, Long approximateTotal) {
+}
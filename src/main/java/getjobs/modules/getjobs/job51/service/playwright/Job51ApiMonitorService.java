@@ -7,17 +7,17 @@ import getjobs.infrastructure.playwright.PlaywrightService;
 import getjobs.modules.getjobs.job51.dto.Job51ApiResponse;
 import getjobs.repository.entity.JobEntity;
 import getjobs.repository.JobRepository;
+import getjobs.modules.getjobs.service.JobIngestionDedupService;
+import getjobs.modules.getjobs.service.ingest.JobIngestionPipeline;
 import getjobs.modules.getjobs.utils.Job51DataConverter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PostConstruct;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * 51Job接口监控服务
@@ -33,6 +33,8 @@ public class Job51ApiMonitorService {
 
     private final JobRepository jobRepository;
     private final Job51DataConverter dataConverter;
+    private final JobIngestionDedupService jobIngestionDedupService;
+    private final JobIngestionPipeline jobIngestionPipeline;
     private final PlaywrightService playwrightService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -94,11 +96,13 @@ public class Job51ApiMonitorService {
             log.info("响应体长度: {} 字符", body.length());
             log.debug("响应体内容: {}", body);
 
-            // 尝试解析JSON并美化输出
-            formatJsonResponse(body);
+            // 仅在 debug 日志开启时才解析并美化输出，避免每个响应都被额外解析一遍
+            if (log.isDebugEnabled()) {
+                formatJsonResponse(body);
+            }
 
-            // 解析并保存职位数据
-            parseAndSaveJob51Data(body, "51Job职位搜索");
+            // 交由入库流水线的写线程解析并保存，回调线程不触碰数据库
+            jobIngestionPipeline.submit(RecruitmentPlatformEnum.JOB_51.getPlatformCode(), "51Job职位搜索", body, this::parseAndSaveJob51Data);
 
         } catch (PlaywrightException e) {
             log.error("读取51Job响应体失败: {}", e.getMessage());
@@ -124,8 +128,10 @@ public class Job51ApiMonitorService {
      * 
      * @param body   响应体JSON字符串
      * @param source 数据来源描述
+     * <p>
+     * 由入库流水线写线程调用，事务由流水线的 TransactionTemplate 提供。
+     * </p>
      */
-    @Transactional
     public void parseAndSaveJob51Data(String body, String source) {
         try {
             // 解析51Job API响应
@@ -165,13 +171,13 @@ public class Job51ApiMonitorService {
                     .toList();
 
             if (!jobEntities.isEmpty()) {
-                // 检查是否已存在相同的职位（基于encryptJobId）
-                List<JobEntity> newJobs = jobEntities.stream()
-                        .filter(entity -> !isJobExists(entity.getEncryptJobId()))
-                        .collect(Collectors.toList());
+                // 按 encryptJobId 批量去重（本批内重复 + 库里已存在）
+                List<JobEntity> newJobs = jobIngestionDedupService.filterNewJobs(
+                        RecruitmentPlatformEnum.JOB_51.getPlatformCode(), jobEntities);
 
                 if (!newJobs.isEmpty()) {
-                    jobRepository.saveAll(newJobs);
+                    jobRepository.upsertAll(newJobs);
+                    jobIngestionDedupService.markPersisted(RecruitmentPlatformEnum.JOB_51.getPlatformCode(), newJobs);
                     log.info("成功保存 {} 个新职位到数据库，来源: {}", newJobs.size(), source);
 
                     // 打印保存的职位信息
@@ -189,25 +195,6 @@ public class Job51ApiMonitorService {
         }
     }
 
-    /**
-     * 检查职位是否已存在
-     * 
-     * @param encryptJobId 职位ID
-     * @return 是否存在
-     */
-    private boolean isJobExists(String encryptJobId) {
-        if (encryptJobId == null || encryptJobId.trim().isEmpty()) {
-            return false;
-        }
-
-        try {
-            return jobRepository.existsByEncryptJobId(encryptJobId);
-        } catch (Exception e) {
-            log.warn("检查职位是否存在时发生错误: {}", e.getMessage());
-            return false;
-        }
-    }
-
     /**
      * 手动启动监控（如果需要重新启动）
      */
@@ -290,7 +277,6 @@ public class Job51ApiMonitorService {
         }
     }
 
-
     /**
      * 获取监控统计信息
      */
@@ -9,16 +9,16 @@ import getjobs.infrastructure.playwright.PlaywrightService;
 import getjobs.modules.getjobs.liepin.dto.LiePinApiResponse;
 import getjobs.repository.JobRepository;
 import getjobs.repository.entity.JobEntity;
+import getjobs.modules.getjobs.service.JobIngestionDedupService;
+import getjobs.modules.getjobs.service.ingest.JobIngestionPipeline;
 import getjobs.modules.getjobs.utils.LiePinDataConverter;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -27,6 +27,8 @@ public class LiePinApiMonitorService {
 
     private final JobRepository jobRepository;
     private final LiePinDataConverter dataConverter;
+    private final JobIngestionDedupService jobIngestionDedupService;
+    private final JobIngestionPipeline jobIngestionPipeline;
     private final PlaywrightService playwrightService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -78,7 +80,7 @@ public class LiePinApiMonitorService {
                     byte[] bodyBytes = response.body();
                     String body = new String(bodyBytes, java.nio.charset.StandardCharsets.UTF_8);
                     log.info("响应体长度: {} 字符", body.length());
-                    parseAndSaveLiePinData(body, "猎聘职位搜索");
+                    jobIngestionPipeline.submit(RecruitmentPlatformEnum.LIEPIN.getPlatformCode(), "猎聘职位搜索", body, this::parseAndSaveLiePinData);
                 } catch (PlaywrightException e) {
                     // 响应体读取失败，可能是请求对象已清理
                     if (e.getMessage() != null && e.getMessage().contains("Cannot find parent object")) {
@@ -103,7 +105,12 @@ public class LiePinApiMonitorService {
         }
     }
 
-    @Transactional
+    /**
+     * 解析并保存猎聘职位数据
+     * <p>
+     * 由入库流水线写线程调用，事务由流水线的 TransactionTemplate 提供。
+     * </p>
+     */
     public void parseAndSaveLiePinData(String body, String source) {
         try {
             LiePinApiResponse response = objectMapper.readValue(body, LiePinApiResponse.class);
@@ -133,12 +140,12 @@ public class LiePinApiMonitorService {
                     .toList();
 
             if (!jobEntities.isEmpty()) {
-                List<JobEntity> newJobs = jobEntities.stream()
-                        .filter(entity -> !isJobExists(entity.getEncryptJobId()))
-                        .collect(Collectors.toList());
+                List<JobEntity> newJobs = jobIngestionDedupService.filterNewJobs(
+                        RecruitmentPlatformEnum.LIEPIN.getPlatformCode(), jobEntities);
 
                 if (!newJobs.isEmpty()) {
-                    jobRepository.saveAll(newJobs);
+                    jobRepository.upsertAll(newJobs);
+                    jobIngestionDedupService.markPersisted(RecruitmentPlatformEnum.LIEPIN.getPlatformCode(), newJobs);
                     log.info("成功保存 {} 个新职位到数据库，来源: {}", newJobs.size(), source);
                     newJobs.forEach(job -> log.info("保存职位: {} - {} - {}",
                             job.getJobTitle(), job.getCompanyName(), job.getSalaryDesc()));
@@ -153,16 +160,4 @@ public class LiePinApiMonitorService {
             log.error("解析并保存猎聘职位数据失败，来源: {}", source, e);
         }
     }
-
-    private boolean isJobExists(String encryptJobId) {
-        if (encryptJobId == null || encryptJobId.trim().isEmpty()) {
-            return false;
-        }
-        try {
-            return jobRepository.existsByEncryptJobId(encryptJobId);
-        } catch (Exception e) {
-            log.warn("检查职位是否存在时发生错误: {}", e.getMessage());
-            return false;
-        }
-    }
 }
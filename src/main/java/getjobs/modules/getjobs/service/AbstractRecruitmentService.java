@@ -1,14 +1,11 @@
 package getjobs.modules.getjobs.service;
 
 import getjobs.common.dto.ConfigDTO;
-import getjobs.modules.getjobs.boss.dto.JobDTO;
 import getjobs.repository.UserProfileRepository;
 import getjobs.repository.entity.ConfigEntity;
 import getjobs.repository.entity.UserProfile;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
-
 /**
  * 招聘服务抽象基类
  * 提供通用的配置转换逻辑
@@ -21,6 +18,11 @@ public abstract class AbstractRecruitmentService implements RecruitmentService {
         protected final ConfigService configService;
         protected final UserProfileRepository userProfileRepository;
 
+        /**
+         * 岗位过滤服务，为 null 时平台不做批量预过滤
+         */
+        private final JobFilterService jobFilterService;
+
         /**
          * 任务执行管理器，用于检查任务是否请求终止
          */
@@ -28,8 +30,19 @@ public abstract class AbstractRecruitmentService implements RecruitmentService {
 
         protected AbstractRecruitmentService(ConfigService configService,
                         UserProfileRepository userProfileRepository) {
+                this(configService, userProfileRepository, null);
+        }
+
+        /**
+         * @param jobFilterService 岗位过滤服务；传入时按平台配置执行批量预过滤（薪资范围），
+         *                         过滤时不检查薪资的平台不应传入
+         */
+        protected AbstractRecruitmentService(ConfigService configService,
+                        UserProfileRepository userProfileRepository,
+                        JobFilterService jobFilterService) {
                 this.configService = configService;
                 this.userProfileRepository = userProfileRepository;
+                this.jobFilterService = jobFilterService;
         }
 
         /**
@@ -63,6 +76,22 @@ public abstract class AbstractRecruitmentService implements RecruitmentService {
                 }
         }
 
+        /**
+         * 按当前平台配置批量预过滤待处理岗位
+         * 未传入岗位过滤服务或平台配置不存在时返回 0
+         */
+        @Override
+        public int prefilterPendingJobs() {
+                if (jobFilterService == null) {
+                        return 0;
+                }
+                ConfigDTO config = loadPlatformConfig();
+                if (config == null) {
+                        return 0;
+                }
+                return jobFilterService.prefilterPendingJobs(getPlatform().getPlatformCode(), config);
+        }
+
         /**
          * 将ConfigEntity转换为ConfigDTO
          * 使用反射创建ConfigDTO实例，因为构造函数是私有的
@@ -247,40 +276,4 @@ public abstract class AbstractRecruitmentService implements RecruitmentService {
                 }
                 return convertConfigEntityToDTO(configEntity);
         }
-
-        /**
-         * 默认城市过滤实现
-         * 优先使用城市代码（cityCode）进行匹配，如果没有则尝试使用城市名称（workCity）
-         * 子类可以覆盖此方法实现平台特定的城市过滤逻辑
-         * 
-         * @param job              职位信息
-         * @param allowedCityCodes 允许的城市代码列表
-         * @return 过滤原因，null表示通过过滤
-         */
-        @Override
-        public String filterByCity(JobDTO job, List<String> allowedCityCodes) {
-                if (allowedCityCodes == null || allowedCityCodes.isEmpty()) {
-                        return null; // 如果未配置城市过滤，则默认通过
-                }
-
-                // 优先使用城市代码匹配
-                if (job.getCityCode() != null) {
-                        if (!allowedCityCodes.contains(String.valueOf(job.getCityCode()))) {
-                                return getPlatform().getPlatformName() + "-城市代码不符合要求: " + job.getCityCode();
-                        }
-                        return null;
-                }
-
-                // 如果没有城市代码，尝试使用城市名称匹配
-                if (job.getWorkCity() != null && !job.getWorkCity().isEmpty()) {
-                        boolean cityMatched = allowedCityCodes.stream()
-                                        .anyMatch(code -> job.getWorkCity().contains(code)
-                                                        || code.contains(job.getWorkCity()));
-                        if (!cityMatched) {
-                                return getPlatform().getPlatformName() + "-城市名称不符合要求: " + job.getWorkCity();
-                        }
-                }
-
-                return null;
-        }
 }
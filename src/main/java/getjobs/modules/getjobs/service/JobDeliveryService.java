@@ -1,6 +1,7 @@
 package getjobs.modules.getjobs.service;
 
 import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.JobStatusEnum;
 import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.common.enums.TaskExecutionStep;
 import getjobs.modules.getjobs.boss.dto.JobDTO;
@@ -9,6 +10,9 @@ import getjobs.repository.entity.UserProfile;
 import getjobs.modules.getjobs.boss.service.impl.BossRecruitmentServiceImpl;
 import getjobs.modules.getjobs.job51.service.impl.Job51RecruitmentServiceImpl;
 import getjobs.modules.getjobs.liepin.service.impl.LiepinRecruitmentServiceImpl;
+import getjobs.modules.getjobs.service.ingest.JobDetailMergeService;
+import getjobs.modules.getjobs.service.ingest.JobIngestionPipeline;
+import getjobs.modules.getjobs.service.ingest.JobIngestionProperties;
 import getjobs.modules.getjobs.zhilian.service.impl.ZhiLianRecruitmentServiceImpl;
 import getjobs.modules.task.quickdelivery.dto.DeliveryFlowOptions;
 import getjobs.modules.task.quickdelivery.dto.QuickDeliveryResult;
@@ -31,6 +35,8 @@ import java.util.*;
  * 4. 执行投递（deliverJobs）
  * 5. 返回投递结果统计
  * 
+ * 步骤3、4 按批从数据库读取待处理岗位，逐批过滤并投递，内存占用与历史岗位总量无关。
+ * 
  * @author getjobs
  */
 @Slf4j
@@ -46,6 +52,9 @@ public class JobDeliveryService {
     private final JobService jobService;
     private final TaskExecutionManager taskExecutionManager;
     private final UserProfileRepository userProfileRepository;
+    private final JobIngestionPipeline jobIngestionPipeline;
+    private final JobDetailMergeService jobDetailMergeService;
+    private final JobIngestionProperties jobIngestionProperties;
 
     /**
      * 执行指定平台的一键投递（默认执行全部步骤）
@@ -136,9 +145,8 @@ public class JobDeliveryService {
                 log.info("✓ {}登录成功", platform.getPlatformName());
             }
 
-            List<JobDTO> collectedJobs;
-            int totalScanned;
-
+            // 采集后处理待处理岗位；跳过采集时处理已过滤待投递的岗位
+            Integer sourceStatus;
             if (doCollect) {
                 // 步骤2: 触发岗位采集（异步入库）
                 taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.COLLECT_JOBS, "采集搜索岗位");
@@ -148,23 +156,23 @@ public class JobDeliveryService {
                     taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.COLLECT_RECOMMEND_JOBS, "采集推荐岗位");
                     recruitmentService.collectRecommendJobs();
                 }
-                taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.LOAD_JOBS_FROM_DB, "从数据库加载待处理岗位");
-                log.info("从数据库获取{}平台待处理状态的岗位", platform.getPlatformName());
-                collectedJobs = jobService.findPendingJobsAsDTO(platform.getPlatformCode());
-                if (collectedJobs == null) {
-                    collectedJobs = new ArrayList<>();
-                }
-                totalScanned = collectedJobs.size();
-                log.info("✓ {}岗位采集完成，共采集到 {} 个岗位", platform.getPlatformName(), totalScanned);
+                awaitIngestion(platform);
+                sourceStatus = JobStatusEnum.PENDING.getCode();
             } else {
                 log.info("步骤2: 未开启采集，跳过；从数据库加载待处理岗位");
-                taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.LOAD_JOBS_FROM_DB, "从数据库加载待处理岗位");
-                collectedJobs = jobService.findPendingDelivery(platform.getPlatformCode());
-                if (collectedJobs == null) {
-                    collectedJobs = new ArrayList<>();
+                sourceStatus = JobStatusEnum.PENDING_DELIVERY.getCode();
+            }
+            if (doFilter && JobStatusEnum.PENDING.getCode() == sourceStatus) {
+                // 可由结构化列判定的岗位（如薪资范围）直接在数据库中过滤，不再逐批加载
+                int prefiltered = recruitmentService.prefilterPendingJobs();
+                if (prefiltered > 0) {
+                    log.info("✓ {}按薪资范围预过滤 {} 个岗位", platform.getPlatformName(), prefiltered);
                 }
-                totalScanned = collectedJobs.size();
             }
+            taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.LOAD_JOBS_FROM_DB, "从数据库加载待处理岗位");
+            int totalScanned = (int) jobService.preparePendingJobs(platform.getPlatformCode(), sourceStatus);
+            log.info("✓ {}共有 {} 个待处理岗位，按每批 {} 个分批过滤、投递",
+                    platform.getPlatformName(), totalScanned, JobService.JOB_CHUNK_SIZE);
 
             resultBuilder.totalScanned(totalScanned);
             taskExecutionManager.setTaskMetadata(platform, "totalScanned", totalScanned);
@@ -182,25 +190,48 @@ public class JobDeliveryService {
                         .build();
             }
 
-            List<JobDTO> filteredJobs;
-            int filteredCount;
-            int skippedCount;
-
-            if (doFilter) {
-                taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.FILTER_JOBS,
-                        String.format("过滤岗位（共%d个）", totalScanned));
-                log.info("步骤3: 开始过滤{}岗位", platform.getPlatformName());
-                filteredJobs = recruitmentService.filterJobs(collectedJobs);
-                filteredCount = filteredJobs.size();
-                skippedCount = totalScanned - filteredCount;
-                log.info("✓ {}岗位过滤完成，过滤后剩余 {} 个岗位，跳过 {} 个岗位",
-                        platform.getPlatformName(), filteredCount, skippedCount);
-            } else {
-                log.info("步骤3: 未开启过滤，跳过；使用全部 {} 个岗位", totalScanned);
-                filteredJobs = collectedJobs;
-                filteredCount = totalScanned;
-                skippedCount = 0;
+            if (!doFilter) {
+                log.info("步骤3: 未开启过滤，跳过；使用全部岗位");
             }
+            if (!doDeliver) {
+                log.info("步骤4: 未开启投递，跳过");
+            }
+
+            // 步骤3、4: 逐批过滤并投递，内存中只保留当前批次
+            ChunkProgress progress = new ChunkProgress();
+            int processedCount = jobService.forEachJobChunk(platform.getPlatformCode(), sourceStatus,
+                    JobService.JOB_CHUNK_SIZE, chunk -> {
+                        if (recruitmentService.isTerminateRequested()) {
+                            log.info("收到终止请求，停止处理后续批次");
+                            return false;
+                        }
+                        List<JobDTO> passedJobs = chunk;
+                        if (doFilter) {
+                            taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.FILTER_JOBS,
+                                    String.format("过滤岗位（%d/%d）", progress.processed + chunk.size(), totalScanned));
+                            passedJobs = recruitmentService.filterJobs(chunk);
+                        }
+                        progress.processed += chunk.size();
+                        progress.passed += passedJobs.size();
+
+                        if (doDeliver && !passedJobs.isEmpty()) {
+                            if (recruitmentService.isDeliveryLimitReached()) {
+                                log.warn("达到投递上限，停止处理后续批次");
+                                return false;
+                            }
+                            taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.DELIVER_JOBS,
+                                    String.format("投递岗位（已通过过滤%d个）", progress.passed));
+                            int delivered = recruitmentService.deliverJobs(passedJobs);
+                            progress.delivered += delivered;
+                            progress.attempted += passedJobs.size();
+                        }
+                        return true;
+                    });
+
+            int filteredCount = progress.passed;
+            int skippedCount = progress.processed - progress.passed;
+            log.info("✓ {}分批处理完成，读取 {} 个岗位，通过过滤 {} 个，跳过 {} 个",
+                    platform.getPlatformName(), processedCount, filteredCount, skippedCount);
 
             resultBuilder.skippedCount(skippedCount);
             taskExecutionManager.setTaskMetadata(platform, "filteredCount", filteredCount);
@@ -218,21 +249,11 @@ public class JobDeliveryService {
                         .build();
             }
 
-            int successCount;
-            int failedCount;
-
+            int successCount = progress.delivered;
+            int failedCount = progress.attempted - progress.delivered;
             if (doDeliver) {
-                taskExecutionManager.updateTaskStep(platform, TaskExecutionStep.DELIVER_JOBS,
-                        String.format("投递岗位（共%d个）", filteredCount));
-                log.info("步骤4: 开始执行{}岗位投递", platform.getPlatformName());
-                successCount = recruitmentService.deliverJobs(filteredJobs);
-                failedCount = filteredCount - successCount;
                 log.info("✓ {}岗位投递完成，成功 {} 个，失败 {} 个",
                         platform.getPlatformName(), successCount, failedCount);
-            } else {
-                log.info("步骤4: 未开启投递，跳过");
-                successCount = 0;
-                failedCount = 0;
             }
 
             taskExecutionManager.setTaskMetadata(platform, "successCount", successCount);
@@ -335,6 +356,26 @@ public class JobDeliveryService {
         };
     }
 
+    /**
+     * 等待采集期间拦截到的响应全部入库，并立即写入仍在合并窗口内的职位详情
+     * 采集是异步入库的，不等待就从数据库加载会漏掉尚在队列中的岗位，
+     * 预处理中清理空职位要求的步骤也可能删掉详情尚未写入的岗位。
+     *
+     * @param platform 招聘平台枚举
+     */
+    private void awaitIngestion(RecruitmentPlatformEnum platform) {
+        long timeoutMs = jobIngestionProperties.getDrainTimeoutMs();
+        long start = System.currentTimeMillis();
+        if (jobIngestionPipeline.awaitIdle(timeoutMs)) {
+            log.info("✓ {}采集数据已全部入库，等待 {}ms", platform.getPlatformName(), System.currentTimeMillis() - start);
+        } else {
+            log.warn("等待{}采集数据入库超时({}ms)，仍有 {} 个响应未写入，这部分岗位将留到下一次投递处理",
+                    platform.getPlatformName(), timeoutMs, jobIngestionPipeline.getUnfinishedCount());
+        }
+        // 详情响应由流水线写线程提交到合并服务，须在流水线写完之后刷新
+        jobDetailMergeService.flushAll();
+    }
+
     /**
      * 是否启用登录检查（从公共配置 UserProfile 读取）
      * 未配置或为 false 时跳过登录检查，默认已登录。
@@ -377,4 +418,14 @@ public class JobDeliveryService {
             return null;
         }
     }
+
+    /**
+     * 分批过滤、投递过程中的累计统计
+     */
+    private static final class ChunkProgress {
+        private int processed;
+        private int passed;
+        private int attempted;
+        private int delivered;
+    }
 }
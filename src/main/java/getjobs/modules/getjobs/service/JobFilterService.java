@@ -2,21 +2,37 @@ package getjobs.modules.getjobs.service;
 
 import getjobs.common.dto.ConfigDTO;
 import getjobs.common.enums.JobStatusEnum;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.infrastructure.ai.budget.JdBudgetProperties;
+import getjobs.infrastructure.ai.template.TemplateRepository;
 import getjobs.modules.ai.job.dto.JobMatchResult;
 import getjobs.modules.ai.job.service.JobMatchAiService;
+import getjobs.modules.ai.job.service.JobMatchBatchService;
 import getjobs.modules.getjobs.boss.dto.JobDTO;
-import getjobs.repository.JobRepository;
+import getjobs.modules.getjobs.dict.api.DictGroup;
+import getjobs.modules.getjobs.dict.api.DictGroupKey;
+import getjobs.modules.getjobs.dict.api.DictItem;
+import getjobs.modules.getjobs.dict.service.DictFacade;
+import getjobs.modules.getjobs.service.filter.CityFilterIndex;
+import getjobs.modules.getjobs.service.filter.FilterFingerprint;
+import getjobs.modules.getjobs.service.filter.JobFilterMetrics;
+import getjobs.modules.getjobs.service.filter.JobFilterMetrics.Stage;
+import getjobs.modules.getjobs.service.filter.JobFilterProperties;
+import getjobs.modules.getjobs.service.filter.JobFilterProperties.NearDuplicateMode;
+import getjobs.modules.getjobs.service.filter.JobNearDuplicateService;
+import getjobs.modules.getjobs.service.filter.JobNearDuplicateService.Neighbour;
+import getjobs.modules.getjobs.service.filter.JobRelevanceScorer;
+import getjobs.modules.getjobs.service.filter.JobRelevanceScorer.RelevanceQuery;
+import getjobs.modules.getjobs.utils.AhoCorasickMatcher;
 import getjobs.repository.UserProfileRepository;
-import getjobs.repository.entity.JobEntity;
 import getjobs.repository.entity.UserProfile;
+import getjobs.repository.projection.UserProfileVersionDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,323 +40,606 @@ public class JobFilterService {
 
     private Set<String> blackRecruiters = new HashSet<>();
 
-    private final JobMatchAiService jobMatchAiService;
+    /**
+     * 过滤所需的求职信息快照：职位角色与编译后的黑名单匹配器
+     *
+     * @param version            构建快照时的求职信息版本
+     * @param role               职位角色（AI 匹配使用）
+     * @param relevanceText      职位角色、期望职位、技能、技术栈与领域拼接的文本（本地相关度评分使用）
+     * @param fingerprint        参与过滤的求职信息（职位角色、相关度文本、各黑名单）的指纹
+     * @param positionBlacklist  岗位名称黑名单
+     * @param companyBlacklist   公司名称黑名单
+     * @param recruiterBlacklist 招聘者黑名单
+     */
+    private record ProfileSnapshot(UserProfileVersionDTO version, String role, String relevanceText, long fingerprint,
+            AhoCorasickMatcher positionBlacklist, AhoCorasickMatcher companyBlacklist,
+            AhoCorasickMatcher recruiterBlacklist) {
+    }
+
+    /**
+     * 最近一次构建的快照，求职信息保存后版本变化即重建
+     */
+    private volatile ProfileSnapshot profileSnapshot;
+
+    private final JobMatchBatchService jobMatchBatchService;
 
     private final UserProfileRepository userProfileRepository;
 
-    private final RecruitmentServiceFactory recruitmentServiceFactory;
+    private final DictFacade dictFacade;
 
     private final SalaryFilterService salaryFilterService;
 
-    private final JobRepository jobRepository;
+    private final JobService jobService;
+
+    private final JobFilterProperties jobFilterProperties;
+
+    private final JobNearDuplicateService jobNearDuplicateService;
 
-    public JobFilterService(JobMatchAiService jobMatchAiService,
+    private final JobRelevanceScorer jobRelevanceScorer;
+
+    private final JobFilterMetrics jobFilterMetrics;
+
+    private final TemplateRepository templateRepository;
+
+    private final JdBudgetProperties jdBudgetProperties;
+
+    public JobFilterService(JobMatchBatchService jobMatchBatchService,
             UserProfileRepository userProfileRepository,
-            @Lazy RecruitmentServiceFactory recruitmentServiceFactory,
+            DictFacade dictFacade,
             SalaryFilterService salaryFilterService,
-            JobRepository jobRepository) {
-        this.jobMatchAiService = jobMatchAiService;
+            JobService jobService,
+            JobFilterProperties jobFilterProperties,
+            JobNearDuplicateService jobNearDuplicateService,
+            JobRelevanceScorer jobRelevanceScorer,
+            JobFilterMetrics jobFilterMetrics,
+            TemplateRepository templateRepository,
+            JdBudgetProperties jdBudgetProperties) {
+        this.jobMatchBatchService = jobMatchBatchService;
         this.userProfileRepository = userProfileRepository;
-        this.recruitmentServiceFactory = recruitmentServiceFactory;
+        this.dictFacade = dictFacade;
         this.salaryFilterService = salaryFilterService;
-        this.jobRepository = jobRepository;
+        this.jobService = jobService;
+        this.jobFilterProperties = jobFilterProperties;
+        this.jobNearDuplicateService = jobNearDuplicateService;
+        this.jobRelevanceScorer = jobRelevanceScorer;
+        this.jobFilterMetrics = jobFilterMetrics;
+        this.templateRepository = templateRepository;
+        this.jdBudgetProperties = jdBudgetProperties;
     }
 
     public List<JobDTO> filterJobs(List<JobDTO> jobDTOS, ConfigDTO config) {
         return filterJobs(jobDTOS, config, true);
     }
 
+    /**
+     * 逐批过滤前，用 SQL 批量过滤可直接由结构化列判定的待处理职位（目前为薪资范围）
+     *
+     * @param platform 平台代码
+     * @param config   配置信息
+     * @return 被过滤的职位数量
+     */
+    public int prefilterPendingJobs(String platform, ConfigDTO config) {
+        return salaryFilterService.filterPendingBySalary(platform, config);
+    }
+
     /**
      * 过滤职位并直接更新数据库记录
+     * <p>
+     * 分两个阶段：先对全部职位执行黑名单、薪资、HR 活跃度、城市等确定性过滤；
+     * 再仅对通过的职位并发执行 AI 匹配（并发数与每分钟请求数按 AI 平台限流）。
+     * 两阶段之间按内容指纹查找其他平台的同一职位，复用其 AI 结论或跳过重复投递；
+     * 再按本地相关度预筛，明显不相关的直接过滤、高度相关的直接通过，只有中间区间的职位调用 AI。
+     * AI 匹配失败或被取消的职位不更新状态，保留在原状态等待下次过滤。
+     * 过滤期间不持有数据库事务，结果按状态分组批量写回。
+     * </p>
+     * <p>
+     * 写回时同时记录职位内容指纹与过滤配置指纹；开启 {@code job.filter.incremental} 时，
+     * 两个指纹均与上次结论一致的待投递职位直接沿用结论，不再重新过滤。
+     * AI 结论另记 AI 结论指纹（只含影响 AI 判断的输入），近似重复职位跨平台复用结论时比较该指纹。
+     * </p>
      * 
      * @param jobDTOS        职位列表
      * @param config         配置信息
      * @param salaryExpected 是否检查薪资
      * @return 过滤后的职位列表（通过过滤的职位）
      */
-    @Transactional
     public List<JobDTO> filterJobs(List<JobDTO> jobDTOS, ConfigDTO config, boolean salaryExpected) {
         log.info("开始Boss直聘岗位过滤，原始岗位数量: {}", jobDTOS.size());
 
-        // 预先加载所有需要的JobEntity，建立映射关系
-        List<String> allJobIds = jobDTOS.stream()
-                .map(JobDTO::getEncryptJobId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
-        Map<String, JobEntity> jobEntityMap = new HashMap<>();
-        if (!allJobIds.isEmpty()) {
-            List<JobEntity> entities = jobRepository.findAllByEncryptJobIdIn(allJobIds);
-            // 同一 encryptJobId 可能有多条库记录（如不同搜索/列表位出现），toMap 需合并函数否则抛 Duplicate key
-            jobEntityMap = entities.stream()
-                    .collect(Collectors.toMap(JobEntity::getEncryptJobId, entity -> entity, (existing, replacement) -> existing));
-        }
-
-        // 用于收集通过过滤的职位
-        List<JobDTO> passedJobs = new ArrayList<>();
-        List<JobEntity> entitiesToUpdate = new ArrayList<>();
-
-        // 执行过滤逻辑，并直接更新对应的JobEntity
+        // 本轮过滤共用一份求职信息快照，不再逐个职位查询求职信息
+        ProfileSnapshot profile = currentProfileSnapshot();
+        // 城市过滤索引每轮构建一次，逐个职位判断时不再查找平台服务与字典
+        CityFilterIndex cityIndex = buildCityIndex(config);
+        // 各阶段的进入数、过滤数与耗时在本轮内累加，结束时一次性写入 Micrometer
+        JobFilterMetrics.Run metrics = jobFilterMetrics.start(config.getPlatformType());
+
+        // 职位与过滤配置均未变化的职位沿用上次结论
+        long aiVerdictFingerprint = aiVerdictFingerprint(profile);
+        long configFingerprint = configFingerprint(config, salaryExpected, profile, aiVerdictFingerprint);
+        List<JobDTO> unchangedPassed = new ArrayList<>();
+        List<JobDTO> toEvaluate = new ArrayList<>(jobDTOS.size());
         for (JobDTO job : jobDTOS) {
-            JobEntity entity = jobEntityMap.get(job.getEncryptJobId());
-            if (entity == null) {
-                log.warn("未找到职位实体: {}", job.getEncryptJobId());
+            long contentFingerprint = FilterFingerprint.ofJob(job);
+            boolean unchanged = jobFilterProperties.isIncremental()
+                    && Objects.equals(job.getFilterContentHash(), contentFingerprint)
+                    && Objects.equals(job.getFilterConfigHash(), configFingerprint)
+                    && Objects.equals(job.getStatus(), JobStatusEnum.PENDING_DELIVERY.getCode());
+            if (unchanged) {
+                unchangedPassed.add(job);
                 continue;
             }
+            job.setFilterContentHash(contentFingerprint);
+            job.setFilterConfigHash(configFingerprint);
+            toEvaluate.add(job);
+        }
+        if (!unchangedPassed.isEmpty()) {
+            log.info("{} 个职位与过滤配置均未变化，沿用上次过滤结论", unchangedPassed.size());
+        }
 
-            // 获取过滤原因（会在内部进行AI匹配并立即更新数据库）⭐
-            String filterReason = getFilterReason(job, config, salaryExpected);
+        // 第一阶段：确定性过滤，不涉及 AI 调用
+        List<JobDTO> survivors = new ArrayList<>();
+        for (JobDTO job : toEvaluate) {
+            String filterReason = getFilterReason(job, config, salaryExpected, profile, cityIndex, metrics);
             job.setFilterReason(filterReason);
-
-            // 更新JobEntity的状态和过滤原因
             if (filterReason == null) {
+                survivors.add(job);
+            }
+        }
+
+        // 近似重复检测：复用其他平台同一职位的 AI 结论，或跳过已投递的重复职位
+        boolean aiEnabled = Boolean.TRUE.equals(config.getEnableAIJobMatchDetection());
+        List<JobDTO> aiCandidates = applyNearDuplicates(survivors, aiEnabled, aiVerdictFingerprint, metrics);
+
+        // 第二阶段：仅对通过确定性过滤、未复用结论且本地相关度无法判定的职位进行 AI 匹配
+        Set<JobDTO> unresolved = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (aiEnabled) {
+            aiCandidates = applyLexicalPrescore(aiCandidates, profile, metrics);
+            unresolved.addAll(applyAiMatch(aiCandidates, profile, aiVerdictFingerprint, metrics));
+        }
+
+        // 用于收集通过过滤的职位
+        List<JobDTO> passedJobs = new ArrayList<>();
+        List<JobDTO> filteredJobs = new ArrayList<>();
+        for (JobDTO job : toEvaluate) {
+            if (unresolved.contains(job)) {
+                continue;
+            }
+            if (job.getFilterReason() == null) {
                 // 通过过滤 → 待投递
-                entity.setStatus(JobStatusEnum.PENDING_DELIVERY.getCode());
-                entity.setFilterReason(null);
                 passedJobs.add(job);
             } else {
                 // 被过滤
-                entity.setStatus(JobStatusEnum.FILTERED.getCode());
-                entity.setFilterReason(filterReason);
+                filteredJobs.add(job);
             }
+        }
 
-            // AI 匹配结果在 getFilterReason() 中已写库，但内存中的 entity 仍是旧值，需从 job 同步，避免 saveAll 时覆盖库里的 AI 结果
-            entity.setAiMatched(job.getAiMatched());
-            entity.setAiMatchScore(job.getAiMatchScore());
-            entity.setAiMatchReason(job.getAiMatchReason());
+        // 批量写回状态、过滤原因与 AI 匹配结果
+        int updated = jobService.updateJobStatusWithAI(passedJobs, JobStatusEnum.PENDING_DELIVERY.getCode())
+                + jobService.updateJobStatusWithAI(filteredJobs, JobStatusEnum.FILTERED.getCode());
+        log.info("成功更新 {} 个职位记录到数据库", updated);
+        jobNearDuplicateService.register(passedJobs, JobStatusEnum.PENDING_DELIVERY.getCode());
+        jobNearDuplicateService.register(filteredJobs, JobStatusEnum.FILTERED.getCode());
 
-            entitiesToUpdate.add(entity);
+        log.info("Boss直聘岗位过滤完成，通过过滤: {} 个，被过滤: {} 个，AI 未完成: {} 个，沿用上次结论: {} 个",
+                passedJobs.size(), filteredJobs.size(), unresolved.size(), unchangedPassed.size());
+
+        metrics.outcome("passed", passedJobs.size());
+        metrics.outcome("filtered", filteredJobs.size());
+        metrics.outcome("unresolved", unresolved.size());
+        metrics.outcome("unchanged", unchangedPassed.size());
+        metrics.publish();
+
+        passedJobs.addAll(unchangedPassed);
+        return passedJobs;
+    }
+
+    /**
+     * 按 {@code job.filter.near-duplicate} 处理近似重复职位
+     *
+     * @param survivors            通过确定性过滤的职位
+     * @param aiEnabled            是否启用 AI 岗位匹配（未启用时不复用 AI 结论）
+     * @param aiVerdictFingerprint 本轮 AI 结论指纹，只复用相同 AI 输入下得出的结论
+     * @param metrics              本轮指标
+     * @return 仍需 AI 匹配的职位
+     */
+    private List<JobDTO> applyNearDuplicates(List<JobDTO> survivors, boolean aiEnabled, long aiVerdictFingerprint,
+            JobFilterMetrics.Run metrics) {
+        NearDuplicateMode mode = jobFilterProperties.getNearDuplicate();
+        if (mode == null || mode == NearDuplicateMode.OFF || survivors.isEmpty()) {
+            return survivors;
         }
+        long start = System.nanoTime();
+        List<JobDTO> remaining = new ArrayList<>(survivors.size());
+        int skipped = 0;
+        int linked = 0;
+        int linkedMismatched = 0;
+        for (JobDTO job : survivors) {
+            Neighbour duplicate = jobNearDuplicateService.findNearest(job);
+            if (duplicate == null) {
+                remaining.add(job);
+                continue;
+            }
+            String source = duplicate.platform() + "/" + duplicate.encryptJobId();
+            if (mode == NearDuplicateMode.SKIP && duplicate.delivering()) {
+                job.setFilterReason("重复职位已在 " + source + " 待投递或已投递");
+                skipped++;
+                continue;
+            }
+            // AI 结论只依赖职位角色、AI 平台与提示词模板，与招聘平台、城市、薪资等过滤条件无关
+            if (aiEnabled && duplicate.aiMatched() != null
+                    && Objects.equals(duplicate.aiVerdictHash(), aiVerdictFingerprint)) {
+                job.setAiMatched(duplicate.aiMatched());
+                job.setAiMatchScore(duplicate.aiMatchScore());
+                job.setAiVerdictHash(aiVerdictFingerprint);
+                job.setAiMatchReason("复用重复职位 " + source + " 的结论: " + duplicate.aiMatchReason());
+                if (!duplicate.aiMatched()) {
+                    job.setFilterReason("AI岗位匹配度低于阈值: " + duplicate.aiMatchReason());
+                    linkedMismatched++;
+                }
+                linked++;
+                continue;
+            }
+            remaining.add(job);
+        }
+        metrics.stage(Stage.NEAR_DUPLICATE, survivors.size(), start);
+        metrics.rejected(Stage.NEAR_DUPLICATE, "duplicate-delivering", skipped);
+        metrics.rejected(Stage.NEAR_DUPLICATE, "reused-ai-mismatch", linkedMismatched);
+        if (skipped > 0 || linked > 0) {
+            log.info("近似重复职位处理完成，跳过: {} 个，复用AI结论: {} 个", skipped, linked);
+        }
+        return remaining;
+    }
 
-        // 批量保存到数据库
-        if (!entitiesToUpdate.isEmpty()) {
-            jobRepository.saveAll(entitiesToUpdate);
-            log.info("成功更新 {} 个职位记录到数据库", entitiesToUpdate.size());
+    /**
+     * 按求职意向与职位描述的本地相关度预筛 AI 匹配候选职位
+     * <p>
+     * 相关度低于 {@code job.filter.lexical-floor} 的职位记为 AI 不匹配并过滤，不低于
+     * {@code job.filter.lexical-ceiling} 的职位记为匹配并通过，其余职位交给 AI 判断。
+     * 未配置求职意向、文档频率表职位数不足或职位没有描述时不做判断。
+     * 相关度只写入 AI 匹配理由，不写入 AI 匹配分数（该列只保存 AI 给出的分数）。
+     * </p>
+     *
+     * @param candidates 待 AI 匹配的职位
+     * @param profile    求职信息快照
+     * @param metrics    本轮指标
+     * @return 仍需 AI 匹配的职位
+     */
+    private List<JobDTO> applyLexicalPrescore(List<JobDTO> candidates, ProfileSnapshot profile,
+            JobFilterMetrics.Run metrics) {
+        if (!jobFilterProperties.isLexicalPrescore() || candidates.isEmpty()
+                || ObjectUtils.isEmpty(profile.role())) {
+            return candidates;
+        }
+        long start = System.nanoTime();
+        jobRelevanceScorer.observe(candidates);
+        if (jobRelevanceScorer.documentCount() < jobFilterProperties.getLexicalMinDocuments()) {
+            log.debug("职位相关度文档频率表职位数不足 {}，跳过本地相关度预筛", jobFilterProperties.getLexicalMinDocuments());
+            return candidates;
+        }
+        RelevanceQuery query = jobRelevanceScorer.query(profile.relevanceText());
+        if (query == null) {
+            return candidates;
         }
 
-        log.info("Boss直聘岗位过滤完成，通过过滤: {} 个，被过滤: {} 个",
-                passedJobs.size(), jobDTOS.size() - passedJobs.size());
+        double floor = jobFilterProperties.getLexicalFloor();
+        double ceiling = jobFilterProperties.getLexicalCeiling();
+        List<JobDTO> remaining = new ArrayList<>(candidates.size());
+        int rejected = 0;
+        int accepted = 0;
+        for (JobDTO job : candidates) {
+            double score = jobRelevanceScorer.score(query, job);
+            if (score < 0) {
+                remaining.add(job);
+                continue;
+            }
+            metrics.lexicalScore(score);
+            String formatted = String.format("%.3f", score);
+            if (score < floor) {
+                job.setAiMatched(false);
+                job.setAiMatchScore(null);
+                job.setAiVerdictHash(null);
+                job.setAiMatchReason("本地相关度 " + formatted + " 低于下限 " + floor + "，未调用AI");
+                job.setFilterReason("本地相关度低于下限: " + formatted);
+                rejected++;
+            } else if (score >= ceiling) {
+                job.setAiMatched(true);
+                job.setAiMatchScore(null);
+                job.setAiVerdictHash(null);
+                job.setAiMatchReason("本地相关度 " + formatted + " 不低于上限 " + ceiling + "，未调用AI");
+                accepted++;
+            } else {
+                remaining.add(job);
+            }
+        }
+        metrics.stage(Stage.LEXICAL, candidates.size(), start);
+        metrics.rejected(Stage.LEXICAL, "below-floor", rejected);
+        log.info("本地相关度预筛完成，直接过滤: {} 个，直接通过: {} 个，交给AI: {} 个",
+                rejected, accepted, remaining.size());
+        return remaining;
+    }
 
-        return passedJobs;
+    /**
+     * 并发执行 AI 岗位匹配，并将结果写入职位对象
+     *
+     * @param candidates           通过确定性过滤的职位
+     * @param profile              求职信息快照
+     * @param aiVerdictFingerprint 本轮 AI 结论指纹，随结论写入职位
+     * @param metrics              本轮指标
+     * @return 未得到 AI 结果（匹配失败或被取消）的职位
+     */
+    private List<JobDTO> applyAiMatch(List<JobDTO> candidates, ProfileSnapshot profile, long aiVerdictFingerprint,
+            JobFilterMetrics.Run metrics) {
+        Map<String, List<JobDTO>> toMatch = new LinkedHashMap<>();
+        Map<String, String> jobDescriptions = new LinkedHashMap<>();
+        for (JobDTO job : candidates) {
+            if (ObjectUtils.isEmpty(job.getJobDescription())) {
+                // 职位描述为空，记录AI匹配结果但不过滤
+                job.setAiMatched(null);
+                job.setAiMatchScore("N/A");
+                job.setAiVerdictHash(null);
+                job.setAiMatchReason("职位要求为空，无法进行AI匹配");
+                continue;
+            }
+            if (ObjectUtils.isEmpty(profile.role())) {
+                // 用户未配置职位角色，记录AI匹配结果但不过滤
+                job.setAiMatched(null);
+                job.setAiMatchScore("N/A");
+                job.setAiVerdictHash(null);
+                job.setAiMatchReason("用户未配置职位角色信息，无法进行AI匹配");
+                continue;
+            }
+            String key = jobKey(job.getPlatform(), job.getEncryptJobId());
+            toMatch.computeIfAbsent(key, k -> new ArrayList<>()).add(job);
+            jobDescriptions.putIfAbsent(key, job.getJobDescription());
+        }
+        if (jobDescriptions.isEmpty()) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        Map<String, JobMatchResult> results = jobMatchBatchService.matchAll(
+                jobFilterProperties.getAiPlatform(), profile.role(), jobDescriptions,
+                jobFilterProperties.getAiBatchSize());
+
+        List<JobDTO> unresolved = new ArrayList<>();
+        int[] mismatched = new int[1];
+        toMatch.forEach((key, jobs) -> {
+            JobMatchResult matchResult = results.get(key);
+            for (JobDTO job : jobs) {
+                if (matchResult == null) {
+                    unresolved.add(job);
+                    continue;
+                }
+                // 记录AI匹配结果到职位对象
+                job.setAiMatched(matchResult.isMatched());
+                job.setAiMatchScore(matchResult.getConfidence() != null ? matchResult.getConfidence() : "high");
+                job.setAiMatchReason(matchResult.getReason());
+                job.setAiVerdictHash(aiVerdictFingerprint);
+                if (!matchResult.isMatched()) {
+                    job.setFilterReason("AI岗位匹配度低于阈值: " + matchResult.getReason());
+                    mismatched[0]++;
+                }
+            }
+        });
+        metrics.stage(Stage.AI, jobDescriptions.size(), start);
+        metrics.rejected(Stage.AI, "mismatch", mismatched[0]);
+        return unresolved;
     }
 
     /**
-     * 获取职位过滤原因
+     * 获取职位的确定性过滤原因（不含 AI 匹配）
      *
      * @param job            职位信息
      * @param config         配置信息
      * @param salaryExpected 是否检查薪资
+     * @param profile        求职信息快照
+     * @param cityIndex      本轮的城市过滤索引
+     * @param metrics        本轮指标
      * @return 过滤原因，null表示通过过滤
      */
-    private String getFilterReason(JobDTO job, ConfigDTO config, boolean salaryExpected) {
+    private String getFilterReason(JobDTO job, ConfigDTO config, boolean salaryExpected, ProfileSnapshot profile,
+            CityFilterIndex cityIndex, JobFilterMetrics.Run metrics) {
+        long start = System.nanoTime();
+
         // 检查岗位黑名单
-        if (isJobInBlacklist(job)) {
+        if (profile.positionBlacklist().matches(job.getJobName())) {
+            metrics.reject(Stage.POSITION_BLACKLIST, "keyword", start);
             return "岗位名称包含黑名单关键词";
         }
+        start = metrics.pass(Stage.POSITION_BLACKLIST, start);
 
         // 检查公司黑名单
-        if (isCompanyInBlacklist(job)) {
+        if (profile.companyBlacklist().matches(job.getCompanyName())) {
+            metrics.reject(Stage.COMPANY_BLACKLIST, "keyword", start);
             return "公司名称包含黑名单关键词";
         }
+        start = metrics.pass(Stage.COMPANY_BLACKLIST, start);
 
         // 检查招聘者黑名单
-        if (isRecruiterInBlacklist(job)) {
+        if (profile.recruiterBlacklist().matches(job.getRecruiter())) {
+            metrics.reject(Stage.RECRUITER_BLACKLIST, "keyword", start);
             return "招聘者包含黑名单关键词";
         }
+        start = metrics.pass(Stage.RECRUITER_BLACKLIST, start);
 
         // 已联系过的职位直接跳过
         if (Boolean.TRUE.equals(job.getIsContacted())) {
+            metrics.reject(Stage.CONTACTED, "contacted", start);
             return "已联系过";
         }
+        start = metrics.pass(Stage.CONTACTED, start);
 
         // 代理岗位直接过滤不投递
         if (Boolean.TRUE.equals(job.getIsProxyJob())) {
+            metrics.reject(Stage.PROXY, "proxy", start);
             return "代理岗位不投递";
         }
+        start = metrics.pass(Stage.PROXY, start);
 
         if (salaryExpected) {
             // 检查薪资
             if (!salaryFilterService.isSalaryExpected(job, config)) {
-                return "薪资不符合预期范围";
+                metrics.reject(Stage.SALARY, "out-of-range", start);
+                return SalaryFilterService.FILTER_REASON;
             }
+            start = metrics.pass(Stage.SALARY, start);
         }
 
         // 检测HR活跃状态
         if (config.getDeadStatus() != null && !config.getDeadStatus().isEmpty()) {
             if (config.getDeadStatus().contains(job.getHrActiveTime())) {
+                metrics.reject(Stage.HR_ACTIVITY, "inactive", start);
                 return "HR活跃状态已被过滤-" + job.getHrActiveTime();
             }
+            start = metrics.pass(Stage.HR_ACTIVITY, start);
         }
 
-        // 根据不同平台使用不同的城市过滤逻辑
-        String cityFilterReason = filterByCity(job, config);
+        // 检查城市
+        String cityFilterReason = cityIndex.filter(job);
         if (cityFilterReason != null) {
+            metrics.reject(Stage.CITY, job.getCityCode() != null ? "city-code" : "city-name", start);
             return cityFilterReason;
         }
+        metrics.pass(Stage.CITY, start);
 
-        // AI岗位匹配度过滤
-        if (config.getEnableAIJobMatchDetection()) {
-            String myJd = userProfileRepository.findAll().stream()
-                    .findFirst()
-                    .map(profile -> profile.getRole())
-                    .orElse(null);
-            String jobDescription = job.getJobDescription();
-
-            if (ObjectUtils.isEmpty(jobDescription)) {
-                // 职位描述为空，记录AI匹配结果但不过滤
-                job.setAiMatched(null);
-                job.setAiMatchScore("N/A");
-                job.setAiMatchReason("职位要求为空，无法进行AI匹配");
-                // 立即更新数据库
-                updateJobAIResult(job);
-                return null;
-            }
-
-            if (ObjectUtils.isNotEmpty(myJd)) {
-                JobMatchResult matchResult = jobMatchAiService.matchWithReason(myJd, job.getJobDescription());
-
-                // 记录AI匹配结果到职位对象
-                job.setAiMatched(matchResult.isMatched());
-                job.setAiMatchScore(matchResult.getConfidence() != null ? matchResult.getConfidence() : "high");
-                job.setAiMatchReason(matchResult.getReason());
-
-                // 立即更新数据库 ⭐
-                updateJobAIResult(job);
-
-                if (!matchResult.isMatched()) {
-                    return "AI岗位匹配度低于阈值: " + matchResult.getReason();
-                }
-            } else {
-                // 用户未配置职位角色，记录AI匹配结果但不过滤
-                job.setAiMatched(null);
-                job.setAiMatchScore("N/A");
-                job.setAiMatchReason("用户未配置职位角色信息，无法进行AI匹配");
-                // 立即更新数据库
-                updateJobAIResult(job);
-                return null;
-            }
-        }
-
-        return null; // 通过所有过滤条件
+        return null; // 通过所有确定性过滤条件（AI 匹配在第二阶段并发执行）
     }
 
     /**
-     * 检查岗位是否在黑名单中
+     * 获取求职信息快照
+     * <p>
+     * 每轮过滤只查询一次求职信息版本（ID 与创建、更新时间）；版本未变化时复用已编译的黑名单匹配器，
+     * 求职信息保存后版本变化，下一轮过滤时重新加载并编译。
+     * </p>
      */
-    private boolean isJobInBlacklist(JobDTO jobDTO) {
-        List<String> positionBlacklist = userProfileRepository.findAll().stream()
+    private ProfileSnapshot currentProfileSnapshot() {
+        UserProfileVersionDTO version = userProfileRepository.findVersions(PageRequest.of(0, 1)).stream()
                 .findFirst()
-                .map(UserProfile::getPositionBlacklist)
-                .orElse(Collections.emptyList());
-
-        if (positionBlacklist.isEmpty()) {
-            return false;
+                .orElse(null);
+        ProfileSnapshot cached = profileSnapshot;
+        if (cached != null && Objects.equals(cached.version(), version)) {
+            return cached;
         }
 
-        return positionBlacklist.stream()
-                .anyMatch(blackJob -> jobDTO.getJobName().contains(blackJob));
+        UserProfile userProfile = version == null ? null
+                : userProfileRepository.findById(version.id()).orElse(null);
+        String role = userProfile == null ? null : userProfile.getRole();
+        String relevanceText = relevanceTextOf(userProfile);
+        long fingerprint = new FilterFingerprint()
+                .add(role)
+                .add(relevanceText)
+                .addAll(userProfile == null ? null : userProfile.getPositionBlacklist())
+                .addAll(userProfile == null ? null : userProfile.getCompanyBlacklist())
+                .addAll(blackRecruiters)
+                .build();
+        ProfileSnapshot snapshot = new ProfileSnapshot(version, role, relevanceText, fingerprint,
+                AhoCorasickMatcher.of(userProfile == null ? null : userProfile.getPositionBlacklist()),
+                AhoCorasickMatcher.of(userProfile == null ? null : userProfile.getCompanyBlacklist()),
+                AhoCorasickMatcher.of(blackRecruiters));
+        profileSnapshot = snapshot;
+        log.debug("已重建求职信息快照，求职信息ID: {}", version == null ? null : version.id());
+        return snapshot;
     }
 
     /**
-     * 检查公司是否在黑名单中
-     */
-    private boolean isCompanyInBlacklist(JobDTO jobDTO) {
-        List<String> companyBlacklist = userProfileRepository.findAll().stream()
-                .findFirst()
-                .map(profile -> profile.getCompanyBlacklist())
-                .orElse(Collections.emptyList());
-
-        if (companyBlacklist == null || companyBlacklist.isEmpty()) {
-            return false;
-        }
-
-        return companyBlacklist.stream()
-                .anyMatch(blackCompany -> jobDTO.getCompanyName().contains(blackCompany));
-    }
-
-    /**
-     * 检查招聘者是否在黑名单中
-     */
-    private boolean isRecruiterInBlacklist(JobDTO jobDTO) {
-        return blackRecruiters.stream()
-                .anyMatch(blackRecruiter -> jobDTO.getRecruiter() != null
-                        && jobDTO.getRecruiter().contains(blackRecruiter));
-    }
-
-    /**
-     * 根据不同平台使用不同的城市过滤逻辑
-     * 通过工厂模式获取对应平台的实现，调用平台特定的城市过滤方法
+     * 构建本轮过滤使用的城市过滤索引
+     * <p>
+     * Boss直聘只按城市代码匹配，不获取字典；其他平台获取一次城市字典，用于代码与名称的互相转换。
+     * 字典获取失败时只按城市代码匹配。
+     * </p>
      *
-     * @param job    职位信息
      * @param config 配置信息
-     * @return 过滤原因，null表示通过过滤
+     * @return 城市过滤索引
      */
-    private String filterByCity(JobDTO job, ConfigDTO config) {
+    private CityFilterIndex buildCityIndex(ConfigDTO config) {
         List<String> allowedCityCodes = config.getCityCodeCodes();
-        if (allowedCityCodes == null || allowedCityCodes.isEmpty()) {
-            return null; // 如果未配置城市过滤，则默认通过
+        if (allowedCityCodes.isEmpty()) {
+            return CityFilterIndex.ALLOW_ALL; // 如果未配置城市过滤，则默认通过
         }
 
-        // 获取平台类型
-        String platformType = config.getPlatformType();
-        if (platformType == null || platformType.isEmpty()) {
-            log.warn("平台类型未配置，使用默认城市过滤逻辑");
-            return defaultCityFilter(job, allowedCityCodes);
+        RecruitmentPlatformEnum platform = config.getPlatformTypeEnum();
+        if (platform == null) {
+            log.warn("平台类型未配置，仅按城市代码过滤");
         }
-
-        try {
-            // 通过工厂获取对应平台的服务实现
-            RecruitmentService recruitmentService = recruitmentServiceFactory.getService(platformType);
-            // 调用平台特定的城市过滤方法
-            return recruitmentService.filterByCity(job, allowedCityCodes);
-        } catch (Exception e) {
-            log.error("获取平台服务失败: {}, 使用默认城市过滤逻辑", platformType, e);
-            return defaultCityFilter(job, allowedCityCodes);
+        List<DictItem> cityDict = List.of();
+        if (platform != null && platform != RecruitmentPlatformEnum.BOSS_ZHIPIN) {
+            try {
+                cityDict = dictFacade.fetchByKey(platform, DictGroupKey.CITY.key())
+                        .map(DictGroup::items)
+                        .orElse(List.of());
+            } catch (Exception e) {
+                log.warn("获取{}城市字典失败，仅按城市代码过滤: {}", platform.getPlatformName(), e.getMessage());
+            }
         }
+        return CityFilterIndex.of(platform, allowedCityCodes, cityDict);
     }
 
     /**
-     * 默认城市过滤逻辑（作为备用方案）
+     * 过滤配置指纹：配置中参与过滤的字段、求职信息快照指纹、job.filter.* 中影响结论的规则与 AI 结论指纹
      */
-    private String defaultCityFilter(JobDTO job, List<String> allowedCityCodes) {
-        if (job.getCityCode() == null) {
-            return null;
-        }
+    private long configFingerprint(ConfigDTO config, boolean salaryExpected, ProfileSnapshot profile,
+            long aiVerdictFingerprint) {
+        return new FilterFingerprint()
+                .add(config.getPlatformType())
+                .add(salaryExpected)
+                .add(config.getMinSalary())
+                .add(config.getMaxSalary())
+                .addAll(config.getDeadStatus())
+                .addAll(config.getCityCodeCodes())
+                .add(config.getEnableAIJobMatchDetection())
+                .add(profile.fingerprint())
+                .add(aiVerdictFingerprint)
+                .add(jobFilterProperties.getNearDuplicate())
+                .add(jobFilterProperties.getNearDuplicateMaxDistance())
+                .add(jobFilterProperties.isLexicalPrescore())
+                .add(jobFilterProperties.getLexicalFloor())
+                .add(jobFilterProperties.getLexicalCeiling())
+                .build();
+    }
 
-        if (!allowedCityCodes.contains(String.valueOf(job.getCityCode()))) {
-            return "城市代码不符合要求-" + job.getCityCode();
-        }
-        return null;
+    /**
+     * AI 结论指纹：影响 AI 匹配结论的输入（职位角色与相关度文本、AI 平台、匹配提示词模板版本、
+     * 批量大小与职位描述压缩预算），不含招聘平台、城市、薪资、HR 活跃度等确定性过滤条件，
+     * 同一职位在不同平台的结论可以互相复用。提示词模板热加载后版本变化，指纹随之变化
+     */
+    private long aiVerdictFingerprint(ProfileSnapshot profile) {
+        return new FilterFingerprint()
+                .add(profile.role())
+                .add(profile.relevanceText())
+                .add(jobFilterProperties.getAiPlatform())
+                .add(jobFilterProperties.getAiBatchSize())
+                .add(templateRepository.get(JobMatchAiService.DEFAULT_TEMPLATE_ID).getVersionedId())
+                .add(templateRepository.get(JobMatchAiService.BATCH_TEMPLATE_ID).getVersionedId())
+                .add(jdBudgetProperties.isEnabled())
+                .add(jdBudgetProperties.budgetOf(JobMatchAiService.DEFAULT_TEMPLATE_ID))
+                .add(jdBudgetProperties.budgetOf(JobMatchAiService.BATCH_TEMPLATE_ID))
+                .build();
     }
 
     /**
-     * 立即更新职位的AI匹配结果到数据库
-     * 
-     * @param job 职位DTO（包含AI匹配结果）
+     * 拼接本地相关度评分使用的求职意向文本
      */
-    private void updateJobAIResult(JobDTO job) {
-        if (job.getEncryptJobId() == null) {
-            log.warn("职位ID为空，无法更新AI匹配结果");
-            return;
+    private static String relevanceTextOf(UserProfile userProfile) {
+        if (userProfile == null) {
+            return null;
         }
-
-        try {
-            // 历史数据可能同一 encryptJobId 存在多条，取创建时间最新的一条
-            List<JobEntity> candidates = jobRepository.findAllByEncryptJobIdIn(Collections.singletonList(job.getEncryptJobId()));
-            JobEntity entity = candidates.isEmpty() ? null
-                    : candidates.stream().max(Comparator.comparing(JobEntity::getCreatedAt)).orElse(null);
-            if (entity != null) {
-                entity.setAiMatched(job.getAiMatched());
-                entity.setAiMatchScore(job.getAiMatchScore());
-                entity.setAiMatchReason(job.getAiMatchReason());
-                jobRepository.save(entity);
-                log.debug("已更新职位 {} 的AI匹配结果到数据库", job.getEncryptJobId());
-            } else {
-                log.warn("未找到职位实体: {}", job.getEncryptJobId());
+        StringJoiner joiner = new StringJoiner("\n");
+        for (String part : Arrays.asList(userProfile.getRole(), userProfile.getJobTitle())) {
+            if (part != null) {
+                joiner.add(part);
             }
-        } catch (Exception e) {
-            log.error("更新职位AI匹配结果失败: {}", job.getEncryptJobId(), e);
         }
+        for (List<String> parts : Arrays.asList(userProfile.getSkills(), userProfile.getCoreStack(),
+                userProfile.getDomains())) {
+            if (parts != null) {
+                parts.stream().filter(Objects::nonNull).forEach(joiner::add);
+            }
+        }
+        return joiner.toString();
+    }
+
+    private String jobKey(String platform, String encryptJobId) {
+        return platform + ":" + encryptJobId;
     }
 
 }
@@ -0,0 +1,173 @@
+package getjobs.modules.getjobs.service;
+
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.JobEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 岗位入库去重服务
+ * <p>
+ * 监控服务拦截到的岗位列表响应在入库前统一经过此服务去重：
+ * <ul>
+ * <li>每个平台维护一份常驻内存的已入库 encryptJobId 集合，应用就绪后预热加载；</li>
+ * <li>集合未命中的 ID 以一次 {@code IN} 查询批量确认，不再逐条 {@code existsByEncryptJobId}；</li>
+ * <li>删除岗位后调用 {@link #invalidate(String)} 使对应平台集合失效，下次使用时重新加载。</li>
+ * </ul>
+ * 集合只记录“确定已存在”的 ID，因此即便集合缺失某些 ID（如其他入口写入的数据），也只会多一次批量查询，不会误判为新岗位重复入库。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobIngestionDedupService {
+
+    private final JobRepository jobRepository;
+
+    /**
+     * 平台编码 -> 已入库 encryptJobId 集合
+     */
+    private final Map<String, Set<String>> knownIdsByPlatform = new ConcurrentHashMap<>();
+
+    /**
+     * 应用就绪后预热所有平台的已入库 ID 集合
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (RecruitmentPlatformEnum platform : RecruitmentPlatformEnum.values()) {
+            try {
+                knownIds(platform.getPlatformCode());
+            } catch (Exception e) {
+                log.warn("预热平台 {} 已入库岗位ID失败，将在首次入库时重试: {}", platform.getPlatformCode(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 过滤出需要新入库的岗位
+     * <p>
+     * 先按 encryptJobId 对本批数据去重（保留首次出现的记录），再剔除已入库的岗位。
+     * encryptJobId 为空的岗位无法判重，原样保留。
+     * </p>
+     *
+     * @param platform 平台编码
+     * @param entities 本次响应转换得到的岗位实体
+     * @return 需要新入库的岗位实体
+     */
+    public List<JobEntity> filterNewJobs(String platform, List<JobEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<JobEntity> withoutId = new ArrayList<>();
+        Map<String, JobEntity> distinct = new LinkedHashMap<>();
+        for (JobEntity entity : entities) {
+            String encryptJobId = entity.getEncryptJobId();
+            if (encryptJobId == null || encryptJobId.trim().isEmpty()) {
+                withoutId.add(entity);
+            } else {
+                distinct.putIfAbsent(encryptJobId, entity);
+            }
+        }
+
+        Set<String> known = knownIds(platform);
+        List<String> unknownIds = distinct.keySet().stream()
+                .filter(id -> !known.contains(id))
+                .toList();
+
+        if (!unknownIds.isEmpty()) {
+            try {
+                List<String> existing = jobRepository.findExistingEncryptJobIds(platform, unknownIds);
+                known.addAll(existing);
+            } catch (Exception e) {
+                log.warn("批量检查岗位是否存在时发生错误: {}", e.getMessage());
+            }
+        }
+
+        List<JobEntity> newJobs = new ArrayList<>(withoutId);
+        distinct.forEach((id, entity) -> {
+            if (!known.contains(id)) {
+                newJobs.add(entity);
+            }
+        });
+        return newJobs;
+    }
+
+    /**
+     * 记录已成功入库的岗位，后续响应中出现相同 ID 时直接命中内存集合
+     * <p>
+     * 若当前处于事务中，则在事务提交后再记录，避免事务回滚后集合中残留未入库的 ID 导致重试时被误判为已存在。
+     * </p>
+     *
+     * @param platform 平台编码
+     * @param saved    已入库的岗位实体
+     */
+    public void markPersisted(String platform, Collection<JobEntity> saved) {
+        if (saved == null || saved.isEmpty()) {
+            return;
+        }
+        List<String> ids = saved.stream()
+                .map(JobEntity::getEncryptJobId)
+                .filter(id -> id != null)
+                .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    knownIds(platform).addAll(ids);
+                }
+            });
+        } else {
+            knownIds(platform).addAll(ids);
+        }
+    }
+
+    /**
+     * 使指定平台的已入库 ID 集合失效（删除岗位后调用）
+     * <p>
+     * 若当前处于事务中，则在事务提交后再失效，避免提交前被并发入库重新加载为旧数据。
+     * </p>
+     *
+     * @param platform 平台编码
+     */
+    public void invalidate(String platform) {
+        if (platform == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    knownIdsByPlatform.remove(platform);
+                }
+            });
+        } else {
+            knownIdsByPlatform.remove(platform);
+        }
+    }
+
+    private Set<String> knownIds(String platform) {
+        return knownIdsByPlatform.computeIfAbsent(platform, key -> {
+            Set<String> ids = ConcurrentHashMap.newKeySet();
+            ids.addAll(jobRepository.findEncryptJobIdsByPlatform(key));
+            log.info("已加载平台 {} 已入库岗位ID {} 个", key, ids.size());
+            return ids;
+        });
+    }
+}
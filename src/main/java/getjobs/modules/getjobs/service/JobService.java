@@ -3,8 +3,12 @@ package getjobs.modules.getjobs.service;
 import getjobs.common.enums.JobStatusEnum;
 import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.modules.getjobs.boss.dto.JobDTO;
+import getjobs.modules.getjobs.dto.JobCursorPage;
+import getjobs.modules.getjobs.utils.SalaryParser;
 import getjobs.repository.entity.JobEntity;
 import getjobs.repository.JobRepository;
+import getjobs.repository.projection.JobDetailFieldsDTO;
+import getjobs.repository.projection.JobListItemDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,9 +17,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -29,7 +43,53 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class JobService {
 
+    /**
+     * 待处理岗位分批读取的默认批大小
+     */
+    public static final int JOB_CHUNK_SIZE = 100;
+
+    /**
+     * 轻量列表单页最大条数
+     */
+    private static final int MAX_SLIM_PAGE_SIZE = 200;
+
+    /**
+     * 近似总数缓存有效期（毫秒）
+     */
+    private static final long APPROXIMATE_TOTAL_TTL_MS = 30_000;
+
+    /**
+     * 批量状态更新每个事务处理的ID数量
+     */
+    private static final int BULK_UPDATE_CHUNK_SIZE = 500;
+
     private final JobRepository jobRepository;
+    private final JobIngestionDedupService jobIngestionDedupService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 批量状态更新进度回调
+     */
+    @FunctionalInterface
+    public interface BulkUpdateProgress {
+
+        /**
+         * 每批提交后回调
+         *
+         * @param processed 已处理的ID数量
+         * @param total     ID总数
+         * @param updated   已更新的职位数量
+         */
+        void onProgress(int processed, int total, int updated);
+    }
+
+    /**
+     * 近似总数缓存：筛选条件 -> 统计结果
+     */
+    private final Map<String, CachedCount> approximateTotals = new ConcurrentHashMap<>();
+
+    private record CachedCount(long value, long expiresAt) {
+    }
 
     /**
      * 批量保存职位信息到数据库
@@ -65,18 +125,102 @@ public class JobService {
 
     /**
      * 分页搜索职位
+     * <p>
+     * 有关键字时优先走全文索引并按相关度排序；全文索引不可用或关键字过短时回退为模糊匹配，按 ID 倒序。
+     * </p>
      *
      * @param platform 平台（可为空）
-     * @param keyword  关键字（可为空，匹配职位、公司或HR）
+     * @param keyword  关键字（可为空，匹配职位、公司、HR或职位描述）
      * @param page     页码（从0开始）
      * @param size     每页大小
      * @return 分页结果
      */
     public Page<JobEntity> search(String platform, Integer status, String keyword, int page, int size) {
+        if (keyword != null && !keyword.isBlank() && jobRepository.isFullTextSearchable(keyword)) {
+            return jobRepository.fullTextSearch(platform, status, keyword.trim(), PageRequest.of(page, size));
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
         return jobRepository.search(platform, status, keyword, pageable);
     }
 
+    /**
+     * 轻量列表：按 (created_at, id) 倒序的游标分页，只返回列表展示字段
+     * <p>
+     * 不做逐页 COUNT；仅在 {@code withTotal} 为 true 时返回近似总数（按筛选条件缓存 30 秒）。
+     * </p>
+     *
+     * @param platform  平台（可为空）
+     * @param status    状态（可为空）
+     * @param cursor    上一页返回的游标，首页为空
+     * @param size      每页大小（最大 200）
+     * @param withTotal 是否返回近似总数
+     * @return 游标分页结果
+     * @throws IllegalArgumentException 游标格式不正确时抛出
+     */
+    public JobCursorPage listSlim(String platform, Integer status, String cursor, int size, boolean withTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SLIM_PAGE_SIZE));
+        String platformCode = platform == null || platform.isBlank() ? null : platform.trim().toLowerCase();
+        // 多取一条用于判断是否还有下一页
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<JobListItemDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = jobRepository.findListItems(platformCode, status, limit);
+        } else {
+            Cursor position = decodeCursor(cursor);
+            rows = jobRepository.findListItemsAfter(platformCode, status, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<JobListItemDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+        Long total = withTotal ? approximateTotal(platformCode, status) : null;
+        return new JobCursorPage(items, nextCursor, hasMore, total);
+    }
+
+    /**
+     * 按需加载单个职位的大字段（职位描述、AI 匹配理由、福利等）
+     *
+     * @param id 职位ID
+     * @return 大字段投影
+     */
+    public Optional<JobDetailFieldsDTO> findDetailFields(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return jobRepository.findDetailFieldsById(id);
+    }
+
+    private long approximateTotal(String platform, Integer status) {
+        String key = platform + ":" + status;
+        long now = System.currentTimeMillis();
+        CachedCount cached = approximateTotals.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.value();
+        }
+        long count = jobRepository.countByFilter(platform, status);
+        approximateTotals.put(key, new CachedCount(count, now + APPROXIMATE_TOTAL_TTL_MS));
+        return count;
+    }
+
+    private record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    private static String encodeCursor(JobListItemDTO last) {
+        String raw = last.createdAt() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor, e);
+        }
+    }
+
     /**
      * 查询所有职位实体并转换为JobDTO列表
      * 
@@ -120,6 +264,8 @@ public class JobService {
         dto.setJobInfo(entity.getJobDescription());
         dto.setSalary(entity.getSalaryDesc());
         dto.setSalaryDesc(entity.getSalaryDesc());
+        dto.setSalaryMinMonthly(entity.getSalaryMinMonthly());
+        dto.setSalaryMaxMonthly(entity.getSalaryMaxMonthly());
         dto.setJobExperience(entity.getJobExperience());
         dto.setJobDegree(entity.getJobDegree());
 
@@ -172,6 +318,9 @@ public class JobService {
         dto.setAiMatched(entity.getAiMatched());
         dto.setAiMatchScore(entity.getAiMatchScore());
         dto.setAiMatchReason(entity.getAiMatchReason());
+        dto.setFilterContentHash(entity.getFilterContentHash());
+        dto.setFilterConfigHash(entity.getFilterConfigHash());
+        dto.setAiVerdictHash(entity.getAiVerdictHash());
         dto.setIsFavorite(entity.getIsFavorite());
         dto.setIsOptimal(entity.getIsOptimal());
         dto.setIsProxyJob(entity.getIsProxyJob());
@@ -211,6 +360,7 @@ public class JobService {
         entity.setJobTitle(dto.getJobName());
         entity.setCompanyName(dto.getCompanyName());
         entity.setSalaryDesc(dto.getSalary());
+        SalaryParser.apply(entity);
         entity.setWorkCity(dto.getJobArea());
         entity.setJobDescription(dto.getJobInfo());
         entity.setJobUrl(dto.getHref());
@@ -233,9 +383,12 @@ public class JobService {
 
     /**
      * 重置指定平台下的职位过滤状态：status=0, filterReason=null
+     * <p>
+     * 单条 UPDATE 语句完成，不加载实体；已是待处理且无过滤原因的职位不会被改写。
+     * </p>
      *
      * @param platform 平台名称
-     * @return 重置的职位数量
+     * @return 实际重置的职位数量
      */
     @Transactional
     public int resetFilterByPlatform(String platform) {
@@ -248,16 +401,9 @@ public class JobService {
                 platform = value.getPlatformCode();
             }
         }
-        List<JobEntity> jobs = jobRepository.findByPlatform(platform);
-        if (jobs.isEmpty()) {
-            return 0;
-        }
-        for (JobEntity job : jobs) {
-            job.setStatus(JobStatusEnum.PENDING.getCode());
-            job.setFilterReason(null);
-        }
-        jobRepository.saveAll(jobs);
-        return jobs.size();
+        int updated = jobRepository.resetFilterByPlatform(platform, JobStatusEnum.PENDING.getCode(), LocalDateTime.now());
+        log.info("已重置平台 {} 的 {} 个职位过滤状态", platform, updated);
+        return updated;
     }
 
     /**
@@ -272,6 +418,7 @@ public class JobService {
         }
         jobRepository.deleteByPlatformAndStatusNotIn(platform,
                 List.of(JobStatusEnum.DELIVERED_SUCCESS.getCode(), JobStatusEnum.DELIVERED_FAILED.getCode()));
+        jobIngestionDedupService.invalidate(platform);
     }
 
     /**
@@ -282,7 +429,6 @@ public class JobService {
      * @param filterReason  过滤原因
      * @return 更新的职位数量
      */
-    @Transactional
     public int updateJobStatus(List<String> encryptJobIds, Integer status, String filterReason) {
         if (encryptJobIds == null || encryptJobIds.isEmpty()) {
             log.warn("没有职位ID需要更新状态");
@@ -290,15 +436,10 @@ public class JobService {
         }
 
         try {
-            List<JobEntity> jobEntities = jobRepository.findAllByEncryptJobIdIn(encryptJobIds);
-            for (JobEntity entity : jobEntities) {
-                entity.setStatus(status);
-                entity.setFilterReason(filterReason);
-            }
-
-            jobRepository.saveAll(jobEntities);
-            log.info("成功更新 {} 个职位的状态为 {}，过滤原因: {}", jobEntities.size(), status, filterReason);
-            return jobEntities.size();
+            int updated = bulkUpdate(encryptJobIds, null, chunk -> jobRepository.updateStatusByEncryptJobIds(
+                    null, chunk, status, filterReason, LocalDateTime.now()));
+            log.info("成功更新 {} 个职位的状态为 {}，过滤原因: {}", updated, status, filterReason);
+            return updated;
 
         } catch (Exception e) {
             log.error("批量更新职位状态失败", e);
@@ -306,14 +447,80 @@ public class JobService {
         }
     }
 
+    /**
+     * 按结构化薪资列批量过滤待处理职位（单条 UPDATE）
+     *
+     * @param platform     平台代码
+     * @param minMonthly   期望最低月薪（元）
+     * @param maxMonthly   期望最高月薪（元，可为空）
+     * @param filterReason 过滤原因
+     * @return 被过滤的职位数量
+     */
+    public int filterPendingBySalaryRange(String platform, int minMonthly, Integer maxMonthly, String filterReason) {
+        Integer updated = transactionTemplate.execute(status -> jobRepository.filterPendingBySalaryRange(platform,
+                JobStatusEnum.PENDING.getCode(), JobStatusEnum.FILTERED.getCode(), minMonthly, maxMonthly,
+                filterReason, LocalDateTime.now()));
+        int count = updated != null ? updated : 0;
+        if (count > 0) {
+            log.info("平台 {} 按薪资范围过滤待处理职位 {} 个", platform, count);
+        }
+        return count;
+    }
+
+    /**
+     * 批量将职位标记为已过滤
+     *
+     * @param encryptJobIds 加密职位ID列表
+     * @param filterReason  过滤原因
+     * @param progress      进度回调（可为空）
+     * @return 更新的职位数量
+     */
+    public int markFiltered(List<String> encryptJobIds, String filterReason, BulkUpdateProgress progress) {
+        if (encryptJobIds == null || encryptJobIds.isEmpty()) {
+            return 0;
+        }
+        int updated = bulkUpdate(encryptJobIds, progress, chunk -> jobRepository.updateStatusByEncryptJobIds(
+                null, chunk, JobStatusEnum.FILTERED.getCode(), filterReason, LocalDateTime.now()));
+        log.info("已将 {} 个职位标记为已过滤，过滤原因: {}", updated, filterReason);
+        return updated;
+    }
+
+    /**
+     * 批量标记职位投递结果
+     * <p>
+     * 原因为空时保留职位原有的过滤原因。
+     * </p>
+     *
+     * @param platform      平台编码
+     * @param encryptJobIds 加密职位ID列表
+     * @param success       是否投递成功
+     * @param reason        原因（可为空）
+     * @param progress      进度回调（可为空）
+     * @return 更新的职位数量
+     */
+    public int markDelivered(String platform, List<String> encryptJobIds, boolean success, String reason,
+            BulkUpdateProgress progress) {
+        if (encryptJobIds == null || encryptJobIds.isEmpty()) {
+            return 0;
+        }
+        Integer status = success ? JobStatusEnum.DELIVERED_SUCCESS.getCode() : JobStatusEnum.DELIVERED_FAILED.getCode();
+        String normalizedReason = reason == null || reason.isEmpty() ? null : reason;
+        int updated = bulkUpdate(encryptJobIds, progress, chunk -> jobRepository.updateStatusKeepingReasonByEncryptJobIds(
+                platform, chunk, status, normalizedReason, LocalDateTime.now()));
+        log.debug("已将平台 {} 的 {} 个职位标记为投递{}", platform, updated, success ? "成功" : "失败");
+        return updated;
+    }
+
     /**
      * 批量更新职位状态、过滤原因和AI匹配结果
+     * <p>
+     * 每个职位的 AI 结果不同，逐条执行 UPDATE 语句但不加载实体，按批提交。
+     * </p>
      * 
      * @param jobDTOs 包含AI匹配结果的职位DTO列表
      * @param status  新状态
      * @return 更新的职位数量
      */
-    @Transactional
     public int updateJobStatusWithAI(List<JobDTO> jobDTOs, Integer status) {
         if (jobDTOs == null || jobDTOs.isEmpty()) {
             log.warn("没有职位需要更新状态");
@@ -321,31 +528,25 @@ public class JobService {
         }
 
         try {
-            List<String> encryptJobIds = jobDTOs.stream()
-                    .map(JobDTO::getEncryptJobId)
-                    .collect(Collectors.toList());
-
-            List<JobEntity> jobEntities = jobRepository.findAllByEncryptJobIdIn(encryptJobIds);
-
-            // 创建一个Map方便快速查找（同一职位可能多次出现，合并时保留第一个）
-            java.util.Map<String, JobDTO> dtoMap = jobDTOs.stream()
-                    .collect(Collectors.toMap(JobDTO::getEncryptJobId, dto -> dto, (existing, replacement) -> existing));
-
-            for (JobEntity entity : jobEntities) {
-                JobDTO dto = dtoMap.get(entity.getEncryptJobId());
-                if (dto != null) {
-                    entity.setStatus(status);
-                    entity.setFilterReason(dto.getFilterReason());
-                    // 更新AI匹配结果
-                    entity.setAiMatched(dto.getAiMatched());
-                    entity.setAiMatchScore(dto.getAiMatchScore());
-                    entity.setAiMatchReason(dto.getAiMatchReason());
+            // 同一职位可能多次出现，合并时保留第一个；不同平台的 encryptJobId 可能相同，按平台 + ID 区分
+            Map<String, JobDTO> dtoMap = jobDTOs.stream()
+                    .filter(dto -> dto.getPlatform() != null && dto.getEncryptJobId() != null)
+                    .collect(Collectors.toMap(dto -> dto.getPlatform() + "\u0000" + dto.getEncryptJobId(), dto -> dto,
+                            (existing, replacement) -> existing, LinkedHashMap::new));
+
+            int updated = bulkUpdate(new ArrayList<>(dtoMap.keySet()), null, chunk -> {
+                LocalDateTime now = LocalDateTime.now();
+                int count = 0;
+                for (String key : chunk) {
+                    JobDTO dto = dtoMap.get(key);
+                    count += jobRepository.updateStatusWithAiResult(dto.getPlatform(), dto.getEncryptJobId(), status,
+                            dto.getFilterReason(), dto.getAiMatched(), dto.getAiMatchScore(), dto.getAiMatchReason(),
+                            dto.getFilterContentHash(), dto.getFilterConfigHash(), dto.getAiVerdictHash(), now);
                 }
-            }
-
-            jobRepository.saveAll(jobEntities);
-            log.info("成功更新 {} 个职位的状态为 {}，包含AI匹配结果", jobEntities.size(), status);
-            return jobEntities.size();
+                return count;
+            });
+            log.info("成功更新 {} 个职位的状态为 {}，包含AI匹配结果", updated, status);
+            return updated;
 
         } catch (Exception e) {
             log.error("批量更新职位状态和AI匹配结果失败", e);
@@ -353,6 +554,32 @@ public class JobService {
         }
     }
 
+    /**
+     * 按 {@link #BULK_UPDATE_CHUNK_SIZE} 切分ID，每批在独立的短事务中执行，避免长时间持有 SQLite 写锁
+     *
+     * @param encryptJobIds 加密职位ID列表
+     * @param progress      进度回调（可为空）
+     * @param chunkUpdater  单批更新逻辑，返回该批更新条数
+     * @return 更新总条数
+     */
+    private int bulkUpdate(List<String> encryptJobIds, BulkUpdateProgress progress,
+            ToIntFunction<List<String>> chunkUpdater) {
+        List<String> ids = encryptJobIds.stream().filter(id -> id != null).distinct().toList();
+        int total = ids.size();
+        int processed = 0;
+        int updated = 0;
+        for (int from = 0; from < total; from += BULK_UPDATE_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, total));
+            Integer count = transactionTemplate.execute(status -> chunkUpdater.applyAsInt(chunk));
+            updated += count == null ? 0 : count;
+            processed += chunk.size();
+            if (progress != null) {
+                progress.onProgress(processed, total, updated);
+            }
+        }
+        return updated;
+    }
+
     /**
      * 根据平台查询所有职位实体
      * 
@@ -395,88 +622,59 @@ public class JobService {
     }
 
     /**
-     * 根据平台查询状态为待处理的职位实体（用于过滤步骤只处理未过滤的岗位）
+     * 投递流程准备：清理岗位描述为空的记录，并统计指定平台、状态的岗位数量
      *
-     * @param platform 平台名称
-     * @return 待处理状态的职位实体列表
-     */
-    public List<JobEntity> findPendingJobEntitiesByPlatform(String platform) {
-        try {
-            if (platform == null || platform.trim().isEmpty()) {
-                return Collections.emptyList();
-            }
-            return jobRepository.findByStatusAndPlatform(JobStatusEnum.PENDING.getCode(), platform);
-        } catch (Exception e) {
-            log.error("查询平台 {} 待处理职位实体失败", platform, e);
-            throw new RuntimeException("查询待处理职位实体失败: " + e.getMessage(), e);
-        }
-    }
-
-    /**
-     * 查询指定平台待处理状态的职位并转换为JobDTO列表
-     * 
      * @param platform 平台代码（platformCode）
-     * @return 待处理状态的JobDTO列表
+     * @param status   岗位状态
+     * @return 待处理岗位数量
      */
     @Transactional
-    public List<JobDTO> findPendingDelivery(String platform) {
-        try {
-            if (platform == null || platform.trim().isEmpty()) {
-                throw new IllegalArgumentException("平台参数不能为空");
-            }
-
-            // 先删除该平台下岗位描述（jobPostDescription）为空的记录（监控接口额外获取，非点击岗位卡实际搜索的数据）
-            int deleted = jobRepository.deleteByPlatformAndJobRequirementsEmpty(platform);
-            if (deleted > 0) {
-                log.debug("平台 {} 已删除岗位描述为空的记录数: {}", platform, deleted);
-            }
-
-            // 查询指定平台的所有职位
-            List<JobEntity> jobEntities = jobRepository.findByPlatform(platform);
-
-            // 过滤出待投递状态的职位并转换为DTO
-            return jobEntities.stream()
-                    .filter(job -> JobStatusEnum.PENDING_DELIVERY.getCode() == job.getStatus())
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+    public long preparePendingJobs(String platform, Integer status) {
+        if (platform == null || platform.trim().isEmpty()) {
+            throw new IllegalArgumentException("平台参数不能为空");
+        }
 
-        } catch (Exception e) {
-            log.error("查询平台 {} 的待投递职位失败", platform, e);
-            throw new RuntimeException("查询待投递职位失败: " + e.getMessage(), e);
+        // 先删除该平台下岗位描述（jobPostDescription）为空的记录（监控接口额外获取，非点击岗位卡实际搜索的数据）
+        int deleted = jobRepository.deleteByPlatformAndJobRequirementsEmpty(platform);
+        if (deleted > 0) {
+            log.debug("平台 {} 已删除岗位描述为空的记录数: {}", platform, deleted);
+            jobIngestionDedupService.invalidate(platform);
         }
+        return jobRepository.countByPlatformAndStatus(platform, status);
     }
 
     /**
-     * 查询指定平台待处理状态的职位并转换为JobDTO列表
+     * 按批读取指定平台、状态的岗位并交给消费者处理
+     * <p>
+     * 每批是一次按 (platform, status, id) 索引的有界查询，批与批之间不持有事务与实体，
+     * 内存占用只与批大小有关。消费者处理过程中修改岗位状态不影响后续批次的读取。
+     * </p>
      *
-     * @param platform 平台代码（platformCode）
-     * @return 待处理状态的JobDTO列表
+     * @param platform      平台代码（platformCode）
+     * @param status        岗位状态
+     * @param chunkSize     批大小
+     * @param chunkConsumer 批处理逻辑，返回 false 时停止读取后续批次
+     * @return 已读取的岗位数量
      */
-    @Transactional
-    public List<JobDTO> findPendingJobsAsDTO(String platform) {
-        try {
-            if (platform == null || platform.trim().isEmpty()) {
-                throw new IllegalArgumentException("平台参数不能为空");
+    public int forEachJobChunk(String platform, Integer status, int chunkSize, Predicate<List<JobDTO>> chunkConsumer) {
+        int size = Math.max(1, chunkSize);
+        long afterId = 0L;
+        int total = 0;
+        while (true) {
+            List<JobEntity> chunk = jobRepository.findByPlatformAndStatusAndIdGreaterThanOrderByIdAsc(
+                    platform, status, afterId, PageRequest.of(0, size));
+            if (chunk.isEmpty()) {
+                break;
             }
-
-            // 先删除该平台下岗位描述（jobPostDescription）为空的记录（监控接口额外获取，非点击岗位卡实际搜索的数据）
-            int deleted = jobRepository.deleteByPlatformAndJobRequirementsEmpty(platform);
-            if (deleted > 0) {
-                log.debug("平台 {} 已删除岗位描述为空的记录数: {}", platform, deleted);
-            }
-
-            // 查询指定平台的所有职位
-            List<JobEntity> jobEntities = jobRepository.findByPlatform(platform);
-
-            // 过滤出待投递状态的职位并转换为DTO
-            return jobEntities.stream()
-                    .filter(job -> JobStatusEnum.PENDING.getCode() == job.getStatus())
+            afterId = chunk.get(chunk.size() - 1).getId();
+            List<JobDTO> jobDTOs = chunk.stream()
                     .map(this::convertToDTO)
                     .collect(Collectors.toList());
-
-        } catch (Exception e) {
-            log.error("查询平台 {} 的待处理职位失败", platform, e);
-            throw new RuntimeException("查询待处理职位失败: " + e.getMessage(), e);
+            total += jobDTOs.size();
+            if (!chunkConsumer.test(jobDTOs) || chunk.size() < size) {
+                break;
+            }
         }
+        return total;
     }
 }
@@ -59,6 +59,17 @@ public interface RecruitmentService {
      */
     List<JobDTO> filterJobs(List<JobDTO> jobDTOS);
 
+    /**
+     * 3.1 批量预过滤
+     * 在逐批读取待处理岗位之前，用 SQL 直接过滤可由结构化列判定的岗位（如薪资范围），
+     * 被过滤的岗位不再加载到内存。不支持的平台返回 0。
+     *
+     * @return 被过滤的岗位数量
+     */
+    default int prefilterPendingJobs() {
+        return 0;
+    }
+
     /**
      * 4. 执行投递功能
      * 对过滤后的岗位执行投递操作
@@ -83,16 +94,6 @@ public interface RecruitmentService {
      */
     void saveData(String dataPath);
 
-    /**
-     * 城市过滤功能
-     * 根据平台特定的城市匹配规则进行过滤
-     * 
-     * @param job              职位信息
-     * @param allowedCityCodes 允许的城市代码列表
-     * @return 过滤原因，null表示通过过滤
-     */
-    String filterByCity(JobDTO job, List<String> allowedCityCodes);
-
     /**
      * 检查任务是否请求终止
      * 在循环中调用此方法，如果返回true则应该中断循环
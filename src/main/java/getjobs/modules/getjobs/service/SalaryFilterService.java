@@ -2,26 +2,53 @@ package getjobs.modules.getjobs.service;
 
 import getjobs.common.dto.ConfigDTO;
 import getjobs.modules.getjobs.boss.dto.JobDTO;
+import getjobs.modules.getjobs.utils.SalaryParser;
+import getjobs.modules.getjobs.utils.SalaryParser.SalaryRange;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 /**
  * 薪资过滤服务
  * 负责处理所有与薪资相关的过滤逻辑
  * <p>
- * 支持的薪资格式：
- * - 200-250元/天（日薪）
- * - 15-45k·18薪（月薪带年终奖）
- * - 8-15k（月薪）
- * - 15-30K（月薪，大写K）
+ * 薪资在入库时由 {@link SalaryParser} 解析为结构化月薪列（元），过滤时：
+ * - {@link #filterPendingBySalary} 先用一条走索引的 UPDATE 过滤掉薪资范围与期望不重叠的待处理职位；
+ * - {@link #isSalaryExpected} 对剩余职位逐个判断，优先使用结构化列，历史数据缺列时现场解析。
+ * 期望薪资（ConfigDTO.minSalary / maxSalary）单位为 K。
+ * </p>
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SalaryFilterService {
 
+    /**
+     * 薪资不符合预期时的过滤原因
+     */
+    public static final String FILTER_REASON = "薪资不符合预期范围";
+
+    private static final int YUAN_PER_K = 1000;
+
+    private final JobService jobService;
+
+    /**
+     * 按结构化薪资列批量过滤指定平台的待处理职位
+     *
+     * @param platform 平台代码
+     * @param config   配置信息
+     * @return 被过滤的职位数量，未配置期望薪资时为 0
+     */
+    public int filterPendingBySalary(String platform, ConfigDTO config) {
+        Integer minExpected = config.getMinSalary();
+        if (minExpected == null) {
+            return 0;
+        }
+        Integer maxExpected = config.getMaxSalary();
+        return jobService.filterPendingBySalaryRange(platform, minExpected * YUAN_PER_K,
+                maxExpected != null ? maxExpected * YUAN_PER_K : null, FILTER_REASON);
+    }
+
     /**
      * 检查薪资是否符合预期
      *
@@ -30,97 +57,33 @@ public class SalaryFilterService {
      * @return true表示符合预期，false表示不符合预期
      */
     public boolean isSalaryExpected(JobDTO jobDTO, ConfigDTO config) {
-        String salary = jobDTO.getSalary();
         Integer minExpected = config.getMinSalary();
         Integer maxExpected = config.getMaxSalary();
 
-        // 没有薪资信息或期望薪资时默认通过
-        if (salary == null || salary.isEmpty() || minExpected == null) {
+        // 没有期望薪资时默认通过
+        if (minExpected == null) {
             return true;
         }
 
-        try {
-            Integer[] monthlySalaryRange = parseSalaryToMonthlyRange(salary);
-            if (monthlySalaryRange == null) {
-                return true; // 解析失败时默认通过
-            }
-
-            // 职位薪资上限低于期望最低薪资，不符合
-            if (monthlySalaryRange[1] < minExpected) {
-                return false;
-            }
-            // 职位薪资下限高于期望最高薪资，不符合
-            if (maxExpected != null && monthlySalaryRange[0] > maxExpected) {
-                return false;
+        int minMonthly;
+        int maxMonthly;
+        if (jobDTO.getSalaryMinMonthly() != null && jobDTO.getSalaryMaxMonthly() != null) {
+            minMonthly = jobDTO.getSalaryMinMonthly();
+            maxMonthly = jobDTO.getSalaryMaxMonthly();
+        } else {
+            SalaryRange range = SalaryParser.parse(jobDTO.getSalary());
+            if (range == null) {
+                return true; // 没有薪资信息或解析失败时默认通过
             }
-
-            return true;
-        } catch (Exception e) {
-            log.debug("薪资验证失败: {}", e.getMessage());
-            return true; // 验证失败时默认通过
+            minMonthly = range.minMonthly();
+            maxMonthly = range.maxMonthly();
         }
-    }
-
-    /**
-     * 解析薪资字符串并转换为月薪范围
-     *
-     * @param salary 薪资字符串，支持格式：
-     *               - 200-250元/天
-     *               - 15-45k·18薪
-     *               - 8-15k
-     *               - 15-30K
-     * @return 月薪范围 [最低月薪, 最高月薪]（单位：K），解析失败返回null
-     */
-    private Integer[] parseSalaryToMonthlyRange(String salary) {
-        try {
-            // 移除年终奖信息（如·18薪）
-            salary = salary.replaceAll("·\\d+薪", "");
-
-            // 判断格式是否有效
-            boolean isDailySalary = salary.contains("元/天");
-            boolean isMonthlySalary = salary.toLowerCase().contains("k");
-            if (!isDailySalary && !isMonthlySalary) {
-                return null;
-            }
-
-            // 清理文本并提取数字范围
-            String cleanSalary = salary
-                    .replace("K", "")
-                    .replace("k", "")
-                    .replace("元/天", "")
-                    .trim();
-
-            // 去除可能存在的其他后缀（如·后面的内容）
-            int dotIndex = cleanSalary.indexOf('·');
-            if (dotIndex != -1) {
-                cleanSalary = cleanSalary.substring(0, dotIndex);
-            }
-
-            // 解析薪资范围
-            String[] parts = cleanSalary.split("-");
-            if (parts.length != 2) {
-                return null;
-            }
-
-            int minSalary = Integer.parseInt(parts[0].replaceAll("[^0-9]", ""));
-            int maxSalary = Integer.parseInt(parts[1].replaceAll("[^0-9]", ""));
-
-            // 日薪转月薪（假设每月工作21.75天）
-            if (isDailySalary) {
-                minSalary = BigDecimal.valueOf(minSalary)
-                        .multiply(BigDecimal.valueOf(21.75))
-                        .divide(BigDecimal.valueOf(1000), 0, RoundingMode.HALF_UP)
-                        .intValue();
-                maxSalary = BigDecimal.valueOf(maxSalary)
-                        .multiply(BigDecimal.valueOf(21.75))
-                        .divide(BigDecimal.valueOf(1000), 0, RoundingMode.HALF_UP)
-                        .intValue();
-            }
 
-            return new Integer[] { minSalary, maxSalary };
-        } catch (Exception e) {
-            log.debug("薪资解析失败: salary={}, error={}", salary, e.getMessage());
-            return null;
+        // 职位薪资上限低于期望最低薪资，不符合
+        if (maxMonthly < minExpected * YUAN_PER_K) {
+            return false;
         }
+        // 职位薪资下限高于期望最高薪资，不符合
+        return maxExpected == null || minMonthly <= maxExpected * YUAN_PER_K;
     }
 }
@@ -0,0 +1,42 @@
+package getjobs.modules.getjobs.service.compaction;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 职位重复记录压缩配置属性
+ * <p>
+ * 压缩只在建立 (platform, encrypt_job_id) 唯一索引前的启动迁移中执行一次，通过 application.yml 中的 job.compaction.* 进行配置：
+ * </p>
+ *
+ * <pre>{@code
+ * job:
+ *   compaction:
+ *     batch-size: 50            # 单个事务处理的 encryptJobId 数（默认 50）
+ *     pause-ms: 200             # 批次之间的停顿时间（默认 200 毫秒）
+ * }</pre>
+ *
+ * @author getjobs
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "job.compaction")
+public class JobCompactionProperties {
+
+    /**
+     * 单个事务处理的 encryptJobId 数
+     * <p>
+     * 默认值：50。事务越小，持有 SQLite 写锁的时间越短
+     * </p>
+     */
+    private int batchSize = 50;
+
+    /**
+     * 批次之间的停顿时间（毫秒）
+     * <p>
+     * 默认值：200。停顿期间让出写锁给采集入库等写入方
+     * </p>
+     */
+    private long pauseMs = 200;
+}
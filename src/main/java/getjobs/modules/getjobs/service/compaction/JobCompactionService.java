@@ -0,0 +1,215 @@
+package getjobs.modules.getjobs.service.compaction;
+
+import getjobs.common.enums.JobStatusEnum;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.JobEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 职位重复记录压缩服务
+ * <p>
+ * 历史数据中同一 (platform, encryptJobId) 可能存在多条记录。作为一次性迁移步骤，在建立
+ * (platform, encrypt_job_id) 唯一索引之前由启动流程调用；索引建立后不会再产生重复记录。压缩时保留创建时间最新的一条，
+ * 将旧记录中的 AI 匹配结果、投递/过滤状态、沟通与收藏标记及详情描述合并进去，再删除旧记录：
+ * <ul>
+ * <li>每个事务只处理 {@link JobCompactionProperties#getBatchSize()} 个 encryptJobId，批次间停顿
+ * {@link JobCompactionProperties#getPauseMs()}，避免长时间占用 SQLite 写锁；</li>
+ * <li>线程被中断时在批次边界停止，已提交的批次保持有效。</li>
+ * </ul>
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobCompactionService {
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCompactionProperties properties;
+
+    /**
+     * 压缩结果
+     *
+     * @param duplicateKeys 存在重复的 encryptJobId 数
+     * @param reclaimedRows 删除的重复记录数
+     * @param elapsedMs     耗时（毫秒）
+     * @param interrupted   是否因中断提前结束
+     */
+    public record CompactionResult(int duplicateKeys, int reclaimedRows, long elapsedMs, boolean interrupted) {
+    }
+
+    /**
+     * 执行一次重复记录压缩
+     *
+     * @return 压缩结果
+     */
+    public CompactionResult compact() {
+        long start = System.currentTimeMillis();
+        List<String> duplicateIds = jobRepository.findEncryptJobIdsWithDuplicates().stream().distinct().toList();
+        if (duplicateIds.isEmpty()) {
+            return new CompactionResult(0, 0, System.currentTimeMillis() - start, false);
+        }
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int reclaimed = 0;
+        boolean interrupted = false;
+        for (int from = 0; from < duplicateIds.size(); from += batchSize) {
+            if (from > 0 && !pause()) {
+                interrupted = true;
+                break;
+            }
+            List<String> batch = duplicateIds.subList(from, Math.min(from + batchSize, duplicateIds.size()));
+            Integer deleted = transactionTemplate.execute(status -> compactBatch(batch));
+            reclaimed += deleted == null ? 0 : deleted;
+        }
+
+        CompactionResult result = new CompactionResult(duplicateIds.size(), reclaimed,
+                System.currentTimeMillis() - start, interrupted);
+        log.info("job_info 重复记录压缩{}：重复ID {} 个，删除重复记录 {} 条，耗时 {}ms",
+                interrupted ? "已中断" : "完成", result.duplicateKeys(), result.reclaimedRows(), result.elapsedMs());
+        return result;
+    }
+
+    private int compactBatch(List<String> encryptJobIds) {
+        // 同一 encryptJobId 在不同平台下视为不同职位，按 (platform, encryptJobId) 分组
+        Map<String, List<JobEntity>> groups = new LinkedHashMap<>();
+        for (JobEntity job : jobRepository.findAllByEncryptJobIdInOrderByCreatedAtDescIdDesc(encryptJobIds)) {
+            groups.computeIfAbsent(job.getPlatform() + "|" + job.getEncryptJobId(), key -> new ArrayList<>()).add(job);
+        }
+
+        List<Long> idsToDelete = new ArrayList<>();
+        for (List<JobEntity> rows : groups.values()) {
+            if (rows.size() <= 1) {
+                continue;
+            }
+            JobEntity newest = rows.get(0);
+            List<JobEntity> older = rows.subList(1, rows.size());
+            if (merge(newest, older)) {
+                jobRepository.save(newest);
+            }
+            older.forEach(job -> idsToDelete.add(job.getId()));
+        }
+        if (!idsToDelete.isEmpty()) {
+            jobRepository.deleteAllByIdInBatch(idsToDelete);
+        }
+        return idsToDelete.size();
+    }
+
+    /**
+     * 将旧记录的处理结果合并进最新记录（旧记录按创建时间倒序）
+     *
+     * @return 最新记录是否有变更
+     */
+    private boolean merge(JobEntity newest, List<JobEntity> older) {
+        boolean changed = false;
+
+        // 投递结果优先级最高：任一旧记录已投递，则沿用其状态与原因（投递成功优先于失败）
+        if (!isDelivered(newest.getStatus())) {
+            JobEntity delivered = older.stream()
+                    .filter(job -> Objects.equals(job.getStatus(), JobStatusEnum.DELIVERED_SUCCESS.getCode()))
+                    .findFirst()
+                    .orElseGet(() -> older.stream()
+                            .filter(job -> Objects.equals(job.getStatus(), JobStatusEnum.DELIVERED_FAILED.getCode()))
+                            .findFirst()
+                            .orElse(null));
+            if (delivered != null) {
+                newest.setStatus(delivered.getStatus());
+                newest.setFilterReason(delivered.getFilterReason());
+                changed = true;
+            } else if (isPending(newest.getStatus())) {
+                // 最新记录尚未处理时，沿用最近一次的过滤 / 待投递结果
+                JobEntity processed = older.stream()
+                        .filter(job -> job.getStatus() != null && !isPending(job.getStatus()))
+                        .findFirst()
+                        .orElse(null);
+                if (processed != null) {
+                    newest.setStatus(processed.getStatus());
+                    newest.setFilterReason(processed.getFilterReason());
+                    changed = true;
+                }
+            }
+        }
+
+        // AI 匹配结果：最新记录未评估时沿用最近一次评估
+        if (newest.getAiMatched() == null) {
+            JobEntity evaluated = older.stream().filter(job -> job.getAiMatched() != null).findFirst().orElse(null);
+            if (evaluated != null) {
+                newest.setAiMatched(evaluated.getAiMatched());
+                newest.setAiMatchScore(evaluated.getAiMatchScore());
+                newest.setAiMatchReason(evaluated.getAiMatchReason());
+                changed = true;
+            }
+        }
+
+        // 沟通与收藏标记：任一记录为真即保留
+        if (!Boolean.TRUE.equals(newest.getIsContacted())
+                && older.stream().anyMatch(job -> Boolean.TRUE.equals(job.getIsContacted()))) {
+            newest.setIsContacted(true);
+            changed = true;
+        }
+        if (!Boolean.TRUE.equals(newest.getIsFavorite())
+                && older.stream().anyMatch(job -> Boolean.TRUE.equals(job.getIsFavorite()))) {
+            newest.setIsFavorite(true);
+            changed = true;
+        }
+
+        // 详情描述需额外请求获取，最新记录缺失时沿用旧记录
+        if (isBlank(newest.getJobPostDescription())) {
+            String description = older.stream()
+                    .map(JobEntity::getJobPostDescription)
+                    .filter(value -> !isBlank(value))
+                    .findFirst()
+                    .orElse(null);
+            if (description != null) {
+                newest.setJobPostDescription(description);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 批次间停顿，让出写锁
+     *
+     * @return false 表示线程已被中断，应停止压缩
+     */
+    private boolean pause() {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        if (properties.getPauseMs() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isDelivered(Integer status) {
+        return Objects.equals(status, JobStatusEnum.DELIVERED_SUCCESS.getCode())
+                || Objects.equals(status, JobStatusEnum.DELIVERED_FAILED.getCode());
+    }
+
+    private static boolean isPending(Integer status) {
+        return status == null || status == JobStatusEnum.PENDING.getCode();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,304 @@
+package getjobs.modules.getjobs.service.filter;
+
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.modules.getjobs.boss.dto.JobDTO;
+import getjobs.modules.getjobs.dict.api.DictItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 城市过滤索引（四个平台共用）
+ * <p>
+ * 每轮过滤根据配置的城市（{@code ConfigDTO.getCityCodeCodes()}）与平台城市字典构建一次，之后每个职位的判断
+ * 只涉及一次整数哈希查找或一次按职位城市名长度的字典树遍历，与配置的城市数量无关。构建后不可变、线程安全。
+ * </p>
+ * <ul>
+ * <li>城市代码：配置中的数字代码与字典中名称对应的代码按数值存入开放寻址的 long 哈希表，
+ * 因此 "020000" 与 20000 视为同一代码</li>
+ * <li>城市名称：字典中配置代码对应的名称与配置中的非数字项，规范化（去空白、转小写、去末尾“市”）后
+ * 将全部后缀插入字典树，职位城市名包含任一允许名称，或是任一允许名称的一部分，均视为匹配</li>
+ * </ul>
+ * <p>
+ * 职位有城市代码时按代码严格匹配；没有代码时按城市名称匹配。Boss直聘只按代码匹配，无代码的职位默认通过；
+ * 没有可用的城市名称（如字典获取失败）时同样默认通过。
+ * </p>
+ *
+ * @author getjobs
+ */
+public final class CityFilterIndex {
+
+    /**
+     * 未配置城市过滤时使用，所有职位均通过
+     */
+    public static final CityFilterIndex ALLOW_ALL = new CityFilterIndex(null, new LongHashSet(List.of()),
+            null, false);
+
+    private final String reasonPrefix;
+
+    private final LongHashSet codes;
+
+    private final NameTrie names;
+
+    private final boolean filterEnabled;
+
+    private CityFilterIndex(String reasonPrefix, LongHashSet codes, NameTrie names, boolean filterEnabled) {
+        this.reasonPrefix = reasonPrefix;
+        this.codes = codes;
+        this.names = names;
+        this.filterEnabled = filterEnabled;
+    }
+
+    /**
+     * 构建城市过滤索引
+     *
+     * @param platform         平台，未知时为 null（只按代码匹配）
+     * @param allowedCityCodes 配置的城市代码（自定义城市已映射为代码，也可能是城市名称）
+     * @param cityDict         平台城市字典，可为空
+     * @return 城市过滤索引
+     */
+    public static CityFilterIndex of(RecruitmentPlatformEnum platform, List<String> allowedCityCodes,
+            List<DictItem> cityDict) {
+        if (allowedCityCodes == null || allowedCityCodes.isEmpty()) {
+            return ALLOW_ALL;
+        }
+
+        Set<String> allowed = new HashSet<>();
+        List<Long> codeValues = new ArrayList<>();
+        List<String> nameValues = new ArrayList<>();
+        for (String entry : allowedCityCodes) {
+            if (entry == null || entry.isBlank()) {
+                continue;
+            }
+            String value = entry.trim();
+            allowed.add(value);
+            Long code = parseCode(value);
+            if (code != null) {
+                codeValues.add(code);
+            } else {
+                nameValues.add(value);
+            }
+        }
+        if (cityDict != null) {
+            for (DictItem item : cityDict) {
+                if (item == null || item.code() == null || item.name() == null) {
+                    continue;
+                }
+                // 配置项为代码时取其名称，为名称时取其代码
+                if (allowed.contains(item.code().trim())) {
+                    nameValues.add(item.name());
+                } else if (allowed.contains(item.name().trim())) {
+                    Long code = parseCode(item.code().trim());
+                    if (code != null) {
+                        codeValues.add(code);
+                    }
+                }
+            }
+        }
+
+        boolean matchByName = platform != null && platform != RecruitmentPlatformEnum.BOSS_ZHIPIN;
+        NameTrie trie = matchByName ? NameTrie.of(nameValues) : null;
+        String reasonPrefix = platform != null ? platform.getPlatformName() + "-" : "";
+        return new CityFilterIndex(reasonPrefix, new LongHashSet(codeValues),
+                trie != null && !trie.isEmpty() ? trie : null, true);
+    }
+
+    /**
+     * 判断职位城市是否符合要求
+     *
+     * @param job 职位信息
+     * @return 过滤原因，null表示通过过滤
+     */
+    public String filter(JobDTO job) {
+        if (!filterEnabled) {
+            return null;
+        }
+        Long cityCode = job.getCityCode();
+        if (cityCode != null && !codes.isEmpty()) {
+            return codes.contains(cityCode) ? null : reasonPrefix + "城市代码不符合要求: " + cityCode;
+        }
+
+        String workCity = job.getWorkCity();
+        if (names == null || workCity == null || workCity.isEmpty()) {
+            return null;
+        }
+        return names.matches(normalize(workCity)) ? null : reasonPrefix + "城市名称不符合要求: " + workCity;
+    }
+
+    private static Long parseCode(String value) {
+        if (value.isEmpty() || value.length() > 18) {
+            return null;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        return Long.parseLong(value);
+    }
+
+    /**
+     * 规范化城市名：去除空白、英文转小写、去掉末尾的“市”
+     */
+    static String normalize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isWhitespace(c) && c != '　') {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        int last = sb.length() - 1;
+        if (last > 0 && sb.charAt(last) == '市') {
+            sb.setLength(last);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 开放寻址（线性探测）的 long 哈希集合，不装箱
+     */
+    private static final class LongHashSet {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private final long[] slots;
+
+        private final int mask;
+
+        private final int size;
+
+        LongHashSet(List<Long> values) {
+            int capacity = Integer.highestOneBit(Math.max(2, values.size() * 2) - 1) << 1;
+            slots = new long[capacity];
+            Arrays.fill(slots, EMPTY);
+            mask = capacity - 1;
+            int count = 0;
+            for (long value : values) {
+                int index = indexOf(value);
+                if (slots[index] != value) {
+                    slots[index] = value;
+                    count++;
+                }
+            }
+            size = count;
+        }
+
+        boolean contains(long value) {
+            return slots[indexOf(value)] == value;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * 值所在的槽位，不存在时为应插入的空槽位（容量至少为元素数的两倍，总有空槽位）
+         */
+        private int indexOf(long value) {
+            long h = value * 0x9E3779B97F4A7C15L;
+            int index = (int) (h ^ (h >>> 32)) & mask;
+            while (slots[index] != EMPTY && slots[index] != value) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * 允许城市名称的后缀字典树
+     * <p>
+     * 每个名称的全部后缀都插入树中，完整名称的结尾节点打上标记：
+     * 文本能从根完整走完即为某个名称的子串；从文本某个位置出发经过标记节点即文本包含该名称。
+     * 城市名通常不超过十个字，子节点用小数组线性查找。
+     * </p>
+     */
+    private static final class NameTrie {
+
+        private final Node root = new Node();
+
+        private boolean empty = true;
+
+        static NameTrie of(List<String> names) {
+            NameTrie trie = new NameTrie();
+            for (String name : names) {
+                String normalized = normalize(name);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                for (int start = 0; start < normalized.length(); start++) {
+                    Node node = trie.root;
+                    for (int i = start; i < normalized.length(); i++) {
+                        node = node.childOrCreate(normalized.charAt(i));
+                    }
+                    if (start == 0) {
+                        node.terminal = true;
+                    }
+                }
+                trie.empty = false;
+            }
+            return trie;
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+
+        /**
+         * 文本包含任一名称，或是任一名称的子串
+         */
+        boolean matches(String text) {
+            if (text.isEmpty()) {
+                return false;
+            }
+            for (int start = 0; start < text.length(); start++) {
+                Node node = root;
+                for (int i = start; i < text.length(); i++) {
+                    node = node.child(text.charAt(i));
+                    if (node == null) {
+                        break;
+                    }
+                    if (node.terminal || (start == 0 && i == text.length() - 1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static final class Node {
+
+            private char[] labels = new char[0];
+
+            private Node[] children = new Node[0];
+
+            private boolean terminal;
+
+            Node child(char c) {
+                for (int i = 0; i < labels.length; i++) {
+                    if (labels[i] == c) {
+                        return children[i];
+                    }
+                }
+                return null;
+            }
+
+            Node childOrCreate(char c) {
+                Node existing = child(c);
+                if (existing != null) {
+                    return existing;
+                }
+                Node created = new Node();
+                labels = Arrays.copyOf(labels, labels.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                labels[labels.length - 1] = c;
+                children[children.length - 1] = created;
+                return created;
+            }
+        }
+    }
+}
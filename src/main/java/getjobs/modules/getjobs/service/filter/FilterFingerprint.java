@@ -0,0 +1,112 @@
+package getjobs.modules.getjobs.service.filter;
+
+import getjobs.modules.getjobs.boss.dto.JobDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 增量过滤使用的 64 位指纹
+ * <p>
+ * 依次追加字段值计算 FNV-1a 哈希（字段之间加分隔符，null 与空字符串区分），最后经 MurmurHash3 fmix64 打散。
+ * 与 {@code JobContentFingerprint} 的 SimHash 不同，这里任何字段的任何变化都会改变指纹，
+ * 用于判断职位或过滤配置自上次过滤以来是否变化。跨进程稳定，可持久化。
+ * </p>
+ *
+ * @author getjobs
+ */
+public final class FilterFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private static final char NULL_MARKER = '\u0000';
+
+    private long hash = FNV_OFFSET;
+
+    /**
+     * 职位中参与过滤判断的字段的指纹
+     *
+     * @param job 职位
+     * @return 指纹
+     */
+    public static long ofJob(JobDTO job) {
+        return new FilterFingerprint()
+                .add(job.getPlatform())
+                .add(job.getJobName())
+                .add(job.getCompanyName())
+                .add(job.getRecruiter())
+                .add(job.getIsContacted())
+                .add(job.getIsProxyJob())
+                .add(job.getSalary())
+                .add(job.getSalaryMinMonthly())
+                .add(job.getSalaryMaxMonthly())
+                .add(job.getHrActiveTime())
+                .add(job.getCityCode())
+                .add(job.getWorkCity())
+                .add(job.getJobDescription())
+                .add(job.getJobInfo())
+                .build();
+    }
+
+    /**
+     * 追加一个字段值
+     *
+     * @param value 字段值，可为 null
+     * @return this
+     */
+    public FilterFingerprint add(Object value) {
+        if (value == null) {
+            mix(NULL_MARKER);
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                mix(text.charAt(i));
+            }
+        }
+        mix(FIELD_SEPARATOR);
+        return this;
+    }
+
+    /**
+     * 追加一个集合字段，元素按字符串排序后追加，与集合的迭代顺序无关
+     *
+     * @param values 集合，可为 null
+     * @return this
+     */
+    public FilterFingerprint addAll(Collection<?> values) {
+        if (values == null) {
+            return add(null);
+        }
+        List<String> sorted = new ArrayList<>(values.size());
+        for (Object value : values) {
+            sorted.add(String.valueOf(value));
+        }
+        sorted.sort(null);
+        add(sorted.size());
+        sorted.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * @return 指纹
+     */
+    public long build() {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void mix(char c) {
+        hash ^= c;
+        hash *= FNV_PRIME;
+    }
+}
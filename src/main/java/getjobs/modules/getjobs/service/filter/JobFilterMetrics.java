@@ -0,0 +1,213 @@
+package getjobs.modules.getjobs.service.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 岗位过滤流水线指标
+ * <p>
+ * 按平台与阶段通过 Micrometer 暴露（{@code job.filter.*}，经 actuator 的 metrics 端点查看）：
+ * <ul>
+ * <li>{@code job.filter.stage.evaluated}：进入各阶段的职位数；</li>
+ * <li>{@code job.filter.stage.rejected}：各阶段过滤的职位数，{@code reason} 为固定的低基数原因；</li>
+ * <li>{@code job.filter.stage.duration}：各阶段每轮累计耗时（含 P50/P90/P99）；</li>
+ * <li>{@code job.filter.jobs}：每轮结果（passed / filtered / unresolved / unchanged）；</li>
+ * <li>{@code job.filter.lexical.score}：本地相关度分布，用于调整上下限。</li>
+ * </ul>
+ * 逐个职位的计数与耗时先累加在 {@link Run} 中，每轮结束时 {@link Run#publish()} 一次性写入，
+ * 不在每个职位上查找或注册指标。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Component
+public class JobFilterMetrics {
+
+    /**
+     * 过滤阶段，按流水线中的执行顺序排列
+     */
+    public enum Stage {
+        POSITION_BLACKLIST("position-blacklist"),
+        COMPANY_BLACKLIST("company-blacklist"),
+        RECRUITER_BLACKLIST("recruiter-blacklist"),
+        CONTACTED("contacted"),
+        PROXY("proxy"),
+        SALARY("salary"),
+        HR_ACTIVITY("hr-activity"),
+        CITY("city"),
+        NEAR_DUPLICATE("near-duplicate"),
+        LEXICAL("lexical"),
+        AI("ai");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private static final double[] PERCENTILES = { 0.5, 0.9, 0.99 };
+
+    private final MeterRegistry meterRegistry;
+
+    public JobFilterMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 开始一轮过滤的指标统计
+     *
+     * @param platform 平台代码
+     * @return 本轮统计（非线程安全，只在过滤线程内使用）
+     */
+    public Run start(String platform) {
+        return new Run(platform == null || platform.isEmpty() ? "unknown" : platform);
+    }
+
+    /**
+     * 一轮过滤的指标累加器
+     */
+    public final class Run {
+
+        private final String platform;
+
+        private final long[] nanos = new long[Stage.values().length];
+
+        private final int[] evaluated = new int[Stage.values().length];
+
+        private final Map<Stage, Map<String, Integer>> rejected = new HashMap<>();
+
+        private final Map<String, Integer> outcomes = new HashMap<>();
+
+        private final DistributionSummary lexicalScore;
+
+        private Run(String platform) {
+            this.platform = platform;
+            this.lexicalScore = DistributionSummary.builder("job.filter.lexical.score")
+                    .description("本地相关度（TF-IDF 余弦）分布")
+                    .tag("platform", platform)
+                    .publishPercentiles(PERCENTILES)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * 职位通过某阶段
+         *
+         * @param stage      阶段
+         * @param startNanos 阶段开始时间（{@link System#nanoTime()}）
+         * @return 当前时间，作为下一阶段的开始时间
+         */
+        public long pass(Stage stage, long startNanos) {
+            long now = System.nanoTime();
+            nanos[stage.ordinal()] += now - startNanos;
+            evaluated[stage.ordinal()]++;
+            return now;
+        }
+
+        /**
+         * 职位在某阶段被过滤
+         *
+         * @param stage      阶段
+         * @param reason     低基数原因（固定取值，不含职位内容）
+         * @param startNanos 阶段开始时间
+         */
+        public void reject(Stage stage, String reason, long startNanos) {
+            pass(stage, startNanos);
+            rejected.computeIfAbsent(stage, key -> new HashMap<>()).merge(reason, 1, Integer::sum);
+        }
+
+        /**
+         * 记录批量执行的阶段（近似重复、本地相关度、AI）：进入数量与耗时
+         *
+         * @param stage      阶段
+         * @param count      进入该阶段的职位数
+         * @param startNanos 阶段开始时间
+         */
+        public void stage(Stage stage, int count, long startNanos) {
+            nanos[stage.ordinal()] += System.nanoTime() - startNanos;
+            evaluated[stage.ordinal()] += count;
+        }
+
+        /**
+         * 记录批量阶段中被过滤的职位
+         *
+         * @param stage  阶段
+         * @param reason 低基数原因
+         * @param count  数量
+         */
+        public void rejected(Stage stage, String reason, int count) {
+            if (count > 0) {
+                rejected.computeIfAbsent(stage, key -> new HashMap<>()).merge(reason, count, Integer::sum);
+            }
+        }
+
+        /**
+         * 记录一个本地相关度分数
+         */
+        public void lexicalScore(double score) {
+            lexicalScore.record(score);
+        }
+
+        /**
+         * 记录本轮结果
+         *
+         * @param outcome passed / filtered / unresolved / unchanged
+         * @param count   数量
+         */
+        public void outcome(String outcome, int count) {
+            if (count > 0) {
+                outcomes.merge(outcome, count, Integer::sum);
+            }
+        }
+
+        /**
+         * 写入本轮统计
+         */
+        public void publish() {
+            for (Stage stage : Stage.values()) {
+                int i = stage.ordinal();
+                if (evaluated[i] == 0) {
+                    continue;
+                }
+                Counter.builder("job.filter.stage.evaluated")
+                        .description("进入该过滤阶段的职位数")
+                        .tag("platform", platform)
+                        .tag("stage", stage.tag())
+                        .register(meterRegistry)
+                        .increment(evaluated[i]);
+                Timer.builder("job.filter.stage.duration")
+                        .description("该过滤阶段每轮累计耗时")
+                        .tag("platform", platform)
+                        .tag("stage", stage.tag())
+                        .publishPercentiles(PERCENTILES)
+                        .register(meterRegistry)
+                        .record(nanos[i], TimeUnit.NANOSECONDS);
+            }
+            rejected.forEach((stage, reasons) -> reasons.forEach((reason, count) -> Counter
+                    .builder("job.filter.stage.rejected")
+                    .description("在该过滤阶段被过滤的职位数")
+                    .tag("platform", platform)
+                    .tag("stage", stage.tag())
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment(count)));
+            outcomes.forEach((outcome, count) -> Counter.builder("job.filter.jobs")
+                    .description("每轮过滤结果")
+                    .tag("platform", platform)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(count));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package getjobs.modules.getjobs.service.filter;
+
+import getjobs.infrastructure.ai.enums.AiPlatform;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 岗位过滤配置属性
+ * <p>
+ * 通过 application.yml 中的 job.filter.* 进行配置：
+ * </p>
+ *
+ * <pre>{@code
+ * job:
+ *   filter:
+ *     ai-platform: deepseek   # AI 岗位匹配使用的平台（默认 deepseek）
+ *     ai-batch-size: 1        # 每次 AI 请求匹配的职位数（默认 1，大于 1 时使用批量模板 job-match-batch-v1）
+ *     near-duplicate: link    # 跨平台近似重复职位处理方式：off / link / skip（默认 link）
+ *     near-duplicate-max-distance: 3      # 判定为近似重复的最大指纹汉明距离（默认 3，最大 3）
+ *     near-duplicate-refresh-minutes: 30  # 近似重复索引从数据库重建的间隔（默认 30 分钟）
+ *     lexical-prescore: false      # AI 匹配前是否按本地相关度预筛（默认 false）
+ *     lexical-floor: 0.02          # 相关度低于该值直接过滤，不调用 AI（默认 0.02）
+ *     lexical-ceiling: 0.5         # 相关度不低于该值直接通过，不调用 AI（默认 0.5，大于 1 时关闭自动通过）
+ *     lexical-min-documents: 200   # 文档频率表至少包含的职位数，不足时不预筛（默认 200）
+ *     incremental: true            # 职位与过滤配置指纹均未变化时沿用上次结论，不重新过滤（默认 true）
+ * }</pre>
+ *
+ * AI 匹配的并发数与每分钟请求数按平台在 ai.llm.rate-limit.* 中配置。
+ *
+ * @author getjobs
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "job.filter")
+public class JobFilterProperties {
+
+    /**
+     * AI 岗位匹配使用的平台
+     * <p>
+     * 默认值：DEEPSEEK
+     * </p>
+     */
+    private AiPlatform aiPlatform = AiPlatform.DEEPSEEK;
+
+    /**
+     * 每次 AI 请求匹配的职位数
+     * <p>
+     * 默认值：1（逐个职位请求）。设为 5~10 时系统提示词与求职意向每批只发送一次，可显著减少 token 与请求数
+     * </p>
+     */
+    private int aiBatchSize = 1;
+
+    /**
+     * 跨平台近似重复职位处理方式
+     * <p>
+     * 默认值：LINK
+     * </p>
+     */
+    private NearDuplicateMode nearDuplicate = NearDuplicateMode.LINK;
+
+    /**
+     * 判定为近似重复的最大指纹汉明距离（LSH 分 4 段，超过 3 时按 3 处理）
+     * <p>
+     * 默认值：3
+     * </p>
+     */
+    private int nearDuplicateMaxDistance = 3;
+
+    /**
+     * 近似重复索引从数据库重建的间隔（分钟）
+     * <p>
+     * 默认值：30
+     * </p>
+     */
+    private int nearDuplicateRefreshMinutes = 30;
+
+    /**
+     * AI 匹配前是否按求职意向与职位描述的本地相关度（TF-IDF 余弦）预筛，仅启用 AI 岗位匹配时生效
+     * <p>
+     * 默认值：false。词面相关度无法识别同义表述，阈值需按实际数据校准后再开启
+     * </p>
+     */
+    private boolean lexicalPrescore = false;
+
+    /**
+     * 本地相关度下限，低于该值的职位直接过滤
+     * <p>
+     * 默认值：0.02
+     * </p>
+     */
+    private double lexicalFloor = 0.02;
+
+    /**
+     * 本地相关度上限，不低于该值的职位直接通过；设为大于 1 的值可关闭自动通过
+     * <p>
+     * 默认值：0.5
+     * </p>
+     */
+    private double lexicalCeiling = 0.5;
+
+    /**
+     * 文档频率表至少包含的职位数，不足时 IDF 不可靠，不做预筛
+     * <p>
+     * 默认值：200
+     * </p>
+     */
+    private int lexicalMinDocuments = 200;
+
+    /**
+     * 增量过滤：职位内容指纹与过滤配置指纹均与上次结论一致的职位沿用上次结论，不重新过滤
+     * <p>
+     * 默认值：true
+     * </p>
+     */
+    private boolean incremental = true;
+
+    /**
+     * 跨平台近似重复职位处理方式
+     */
+    public enum NearDuplicateMode {
+        /**
+         * 不检测
+         */
+        OFF,
+        /**
+         * 复用已处理重复职位的 AI 结论，不再调用 AI；只复用 AI 结论指纹（职位角色、AI 平台、
+         * 匹配提示词模板）相同时由 AI 得出的结论，与招聘平台、城市、薪资等过滤条件无关，可跨平台复用
+         */
+        LINK,
+        /**
+         * 在 LINK 基础上，重复职位已待投递或已投递成功时直接过滤，不再重复投递
+         */
+        SKIP
+    }
+}
@@ -0,0 +1,175 @@
+package getjobs.modules.getjobs.service.filter;
+
+import getjobs.common.enums.JobStatusEnum;
+import getjobs.common.util.JobContentFingerprint;
+import getjobs.modules.getjobs.boss.dto.JobDTO;
+import getjobs.repository.JobRepository;
+import getjobs.repository.projection.JobFingerprintDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 跨平台近似重复职位检测
+ * <p>
+ * 在内存中维护已处理职位（待投递、已投递、已过滤）的 {@link JobContentFingerprint} LSH 桶索引，
+ * 过滤阶段据此找出同一职位在其他平台或以其他 ID 发布的已处理记录，以便复用 AI 结论或跳过重复投递。
+ * 索引首次使用时从数据库加载，此后按 {@code job.filter.near-duplicate-refresh-minutes} 定期重建，
+ * 过滤结果写库后通过 {@link #register} 增量加入。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Service
+public class JobNearDuplicateService {
+
+    /**
+     * 索引中的已处理职位
+     *
+     * @param platform         平台
+     * @param encryptJobId     加密职位ID
+     * @param fingerprint      内容指纹
+     * @param status           职位状态
+     * @param aiMatched        AI 是否匹配
+     * @param aiMatchScore     AI 匹配分数
+     * @param aiMatchReason    AI 匹配原因
+     * @param aiVerdictHash    得出该 AI 结论时的 AI 结论指纹，结论不是由 AI 得出时为 null
+     */
+    public record Neighbour(String platform, String encryptJobId, long fingerprint, int status,
+            Boolean aiMatched, String aiMatchScore, String aiMatchReason, Long aiVerdictHash) {
+
+        /**
+         * 是否已进入投递流程（待投递或投递成功）
+         */
+        public boolean delivering() {
+            return status == JobStatusEnum.PENDING_DELIVERY.getCode()
+                    || status == JobStatusEnum.DELIVERED_SUCCESS.getCode();
+        }
+    }
+
+    private static final List<Integer> INDEXED_STATUSES = List.of(
+            JobStatusEnum.PENDING_DELIVERY.getCode(),
+            JobStatusEnum.FILTERED.getCode(),
+            JobStatusEnum.DELIVERED_SUCCESS.getCode(),
+            JobStatusEnum.DELIVERED_FAILED.getCode());
+
+    private final JobRepository jobRepository;
+    private final JobFilterProperties properties;
+
+    /**
+     * LSH 桶键 -> 职位；同一职位重新登记后旧条目留在桶中，查找时以 {@link #byJob} 中的最新条目为准
+     */
+    private final Map<Integer, List<Neighbour>> buckets = new HashMap<>();
+
+    private final Map<String, Neighbour> byJob = new HashMap<>();
+
+    private long loadedAtMillis;
+
+    public JobNearDuplicateService(JobRepository jobRepository, JobFilterProperties properties) {
+        this.jobRepository = jobRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * 查找与职位内容近似的已处理职位（排除职位自身）
+     * <p>
+     * 优先返回已进入投递流程的职位，其次是汉明距离最小的职位。
+     * </p>
+     *
+     * @param job 待过滤职位
+     * @return 最接近的已处理职位；职位无描述或无近邻时返回 null
+     */
+    public synchronized Neighbour findNearest(JobDTO job) {
+        Long fingerprint = fingerprintOf(job);
+        if (fingerprint == null) {
+            return null;
+        }
+        ensureLoaded();
+
+        String self = jobKey(job.getPlatform(), job.getEncryptJobId());
+        int maxDistance = Math.min(properties.getNearDuplicateMaxDistance(), JobContentFingerprint.BANDS - 1);
+        Neighbour best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int band : JobContentFingerprint.bands(fingerprint)) {
+            for (Neighbour candidate : buckets.getOrDefault(band, List.of())) {
+                String key = jobKey(candidate.platform(), candidate.encryptJobId());
+                if (key.equals(self) || byJob.get(key) != candidate) {
+                    continue;
+                }
+                int distance = JobContentFingerprint.distance(fingerprint, candidate.fingerprint());
+                if (distance > maxDistance) {
+                    continue;
+                }
+                if (best == null || (candidate.delivering() && !best.delivering())
+                        || (candidate.delivering() == best.delivering() && distance < bestDistance)) {
+                    best = candidate;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 登记过滤结果已写库的职位
+     *
+     * @param jobs   职位列表
+     * @param status 写入的状态
+     */
+    public synchronized void register(List<JobDTO> jobs, int status) {
+        if (loadedAtMillis == 0) {
+            // 尚未加载，首次查找时会从数据库完整加载
+            return;
+        }
+        for (JobDTO job : jobs) {
+            Long fingerprint = fingerprintOf(job);
+            if (fingerprint != null) {
+                add(new Neighbour(job.getPlatform(), job.getEncryptJobId(), fingerprint, status,
+                        job.getAiMatched(), job.getAiMatchScore(), job.getAiMatchReason(), job.getAiVerdictHash()));
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        long refreshMillis = properties.getNearDuplicateRefreshMinutes() * 60_000L;
+        long now = System.currentTimeMillis();
+        if (loadedAtMillis != 0 && now - loadedAtMillis < refreshMillis) {
+            return;
+        }
+        buckets.clear();
+        byJob.clear();
+        List<JobFingerprintDTO> rows = jobRepository.findFingerprintsByStatusIn(INDEXED_STATUSES);
+        for (JobFingerprintDTO row : rows) {
+            add(new Neighbour(row.platform(), row.encryptJobId(), row.contentFingerprint(),
+                    Objects.requireNonNullElse(row.status(), JobStatusEnum.PENDING.getCode()),
+                    row.aiMatched(), row.aiMatchScore(), row.aiMatchReason(), row.aiVerdictHash()));
+        }
+        loadedAtMillis = now;
+        log.info("近似重复职位索引已加载，职位数: {}, 桶数: {}, 耗时: {}ms",
+                byJob.size(), buckets.size(), System.currentTimeMillis() - now);
+    }
+
+    private void add(Neighbour neighbour) {
+        byJob.put(jobKey(neighbour.platform(), neighbour.encryptJobId()), neighbour);
+        for (int band : JobContentFingerprint.bands(neighbour.fingerprint())) {
+            buckets.computeIfAbsent(band, key -> new ArrayList<>()).add(neighbour);
+        }
+    }
+
+    /**
+     * 与入库时一致：详情描述优先，其次列表中的职位描述
+     */
+    private static Long fingerprintOf(JobDTO job) {
+        return JobContentFingerprint.of(job.getJobName(), job.getCompanyName(), job.getJobDescription(), job.getJobInfo());
+    }
+
+    private static String jobKey(String platform, String encryptJobId) {
+        return platform + ":" + encryptJobId;
+    }
+}
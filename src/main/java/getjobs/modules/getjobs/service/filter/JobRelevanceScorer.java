@@ -0,0 +1,196 @@
+package getjobs.modules.getjobs.service.filter;
+
+import getjobs.infrastructure.ai.extract.KeywordExtractor;
+import getjobs.modules.getjobs.boss.dto.JobDTO;
+import getjobs.repository.JobRepository;
+import getjobs.repository.projection.JobTextDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 职位本地相关度评分（TF-IDF 余弦相似度）
+ * <p>
+ * 以 {@link KeywordExtractor#tokenize} 切分求职意向与职位标题+描述，计算两者的 TF-IDF 余弦相似度（0~1），
+ * 供过滤阶段在调用 AI 之前剔除明显不相关的职位、直接通过高度相关的职位。
+ * 文档频率表首次使用时从 job_info 按ID分批统计，此后过滤到的新职位通过 {@link #observe} 增量计入；
+ * 同一职位只计一次，描述为空的职位不计入，待补全描述后再计入。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Service
+public class JobRelevanceScorer {
+
+    /**
+     * 求职意向的词项权重
+     *
+     * @param weights 词项 -> TF-IDF 权重
+     * @param norm    权重向量的模
+     */
+    public record RelevanceQuery(Map<String, Double> weights, double norm) {
+    }
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final JobRepository jobRepository;
+    private final KeywordExtractor keywordExtractor;
+
+    /**
+     * 词项 -> 包含该词项的职位数
+     */
+    private final Map<String, Integer> documentFrequency = new HashMap<>();
+
+    /**
+     * 已计入文档频率的职位（平台:加密职位ID）
+     */
+    private final Set<String> counted = new HashSet<>();
+
+    private boolean loaded;
+
+    public JobRelevanceScorer(JobRepository jobRepository, KeywordExtractor keywordExtractor) {
+        this.jobRepository = jobRepository;
+        this.keywordExtractor = keywordExtractor;
+    }
+
+    /**
+     * 已计入文档频率的职位数
+     */
+    public synchronized int documentCount() {
+        ensureLoaded();
+        return counted.size();
+    }
+
+    /**
+     * 将尚未计入的职位计入文档频率
+     *
+     * @param jobs 职位列表
+     */
+    public synchronized void observe(List<JobDTO> jobs) {
+        ensureLoaded();
+        for (JobDTO job : jobs) {
+            count(job.getPlatform(), job.getEncryptJobId(), documentText(job));
+        }
+    }
+
+    /**
+     * 构建求职意向的查询向量
+     *
+     * @param profileText 求职意向文本（职位角色、技能等）
+     * @return 查询向量；文本中没有可用词项时返回 null
+     */
+    public synchronized RelevanceQuery query(String profileText) {
+        ensureLoaded();
+        Map<String, Double> weights = weigh(keywordExtractor.tokenize(profileText));
+        if (weights.isEmpty()) {
+            return null;
+        }
+        return new RelevanceQuery(weights, norm(weights));
+    }
+
+    /**
+     * 计算职位与求职意向的余弦相似度
+     *
+     * @param query 查询向量
+     * @param job   职位
+     * @return 0~1 的相似度；职位没有描述时返回 -1
+     */
+    public synchronized double score(RelevanceQuery query, JobDTO job) {
+        String text = documentText(job);
+        if (text == null) {
+            return -1;
+        }
+        Map<String, Double> weights = weigh(keywordExtractor.tokenize(text));
+        if (weights.isEmpty()) {
+            return 0;
+        }
+        double dot = 0;
+        for (Map.Entry<String, Double> entry : query.weights().entrySet()) {
+            Double weight = weights.get(entry.getKey());
+            if (weight != null) {
+                dot += entry.getValue() * weight;
+            }
+        }
+        return dot == 0 ? 0 : dot / (query.norm() * norm(weights));
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        List<JobTextDTO> batch;
+        do {
+            batch = jobRepository.findTextsAfterId(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (JobTextDTO row : batch) {
+                count(row.platform(), row.encryptJobId(),
+                        documentText(row.jobTitle(), row.jobPostDescription(), row.jobDescription()));
+                afterId = row.id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        loaded = true;
+        log.info("职位相关度文档频率表已加载，职位数: {}, 词项数: {}, 耗时: {}ms",
+                counted.size(), documentFrequency.size(), System.currentTimeMillis() - start);
+    }
+
+    private void count(String platform, String encryptJobId, String text) {
+        if (text == null || !counted.add(platform + ":" + encryptJobId)) {
+            return;
+        }
+        for (String term : new HashSet<>(keywordExtractor.tokenize(text))) {
+            documentFrequency.merge(term, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 词项权重：(1 + ln 词频) × IDF
+     */
+    private Map<String, Double> weigh(List<String> terms) {
+        Map<String, Integer> termFrequency = new HashMap<>();
+        for (String term : terms) {
+            termFrequency.merge(term, 1, Integer::sum);
+        }
+        Map<String, Double> weights = new HashMap<>(termFrequency.size() * 2);
+        termFrequency.forEach((term, tf) -> weights.put(term, (1 + Math.log(tf)) * idf(term)));
+        return weights;
+    }
+
+    /**
+     * 平滑 IDF：ln(1 + (N - df + 0.5) / (df + 0.5))，恒为正
+     */
+    private double idf(String term) {
+        int df = documentFrequency.getOrDefault(term, 0);
+        return Math.log(1 + (counted.size() - df + 0.5) / (df + 0.5));
+    }
+
+    private static double norm(Map<String, Double> weights) {
+        double sum = 0;
+        for (double weight : weights.values()) {
+            sum += weight * weight;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * 与内容指纹一致：详情描述优先，其次列表中的职位描述
+     */
+    private static String documentText(JobDTO job) {
+        return documentText(job.getJobName(), job.getJobDescription(), job.getJobInfo());
+    }
+
+    private static String documentText(String title, String description, String fallbackDescription) {
+        String body = description != null && !description.isBlank() ? description : fallbackDescription;
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        return title == null ? body : title + "\n" + body;
+    }
+}
@@ -0,0 +1,214 @@
+package getjobs.modules.getjobs.service.ingest;
+
+import getjobs.repository.JobDetailPatchRepository;
+import getjobs.repository.JobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 职位详情合并写入服务（各平台通用）
+ * <p>
+ * 投递过程中浏览详情会频繁触发同一职位的详情接口，逐次整行回写会持续占用 SQLite 写锁。本服务：
+ * <ul>
+ * <li>调用方将详情响应解析为“实体字段名 -> 新值”后 {@link #submit}，不在调用线程访问数据库；</li>
+ * <li>同一职位在 {@code detail-merge-window-ms} 窗口内的多次响应合并，后到的值覆盖先到的值；</li>
+ * <li>窗口到期后通过 {@link JobDetailPatchRepository#patchChangedFields} 只写入发生变化的列，无变化则不写。</li>
+ * </ul>
+ * 采集结束、开始投递前应调用 {@link #flushAll} 立即写入仍在窗口内的详情。
+ * 到期的职位在同一个事务中提交，事务失败时逐个重试。待合并数量与写入结果通过 Micrometer 暴露（{@code job.detail.merge.*}）。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Component
+public class JobDetailMergeService {
+
+    private record Key(String platform, String encryptJobId) {
+    }
+
+    private static final class Pending {
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+        private final long firstSeenNanos = System.nanoTime();
+    }
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobIngestionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public JobDetailMergeService(JobRepository jobRepository,
+            TransactionTemplate transactionTemplate,
+            JobIngestionProperties properties,
+            MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("job.detail.merge.pending", pending, Map::size)
+                .description("等待合并写入的职位详情数量")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long period = Math.max(50, properties.getDetailMergeWindowMs() / 4);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-detail-merger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushDue, period, period, TimeUnit.MILLISECONDS);
+        log.info("职位详情合并写入已启动 (合并窗口: {}ms)", properties.getDetailMergeWindowMs());
+    }
+
+    /**
+     * 停止定时刷新，并写完所有待合并的详情
+     */
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush(true);
+    }
+
+    /**
+     * 立即写入所有待合并的详情，不等待合并窗口到期
+     * <p>
+     * 应在入库流水线写完（{@link JobIngestionPipeline#awaitIdle}）之后调用，详情响应由流水线写线程提交到本服务。
+     * </p>
+     */
+    public void flushAll() {
+        try {
+            flush(true);
+        } catch (Exception e) {
+            log.error("职位详情合并写入时发生未知异常", e);
+        }
+    }
+
+    /**
+     * 提交一次职位详情
+     *
+     * @param platform     平台编码
+     * @param encryptJobId 加密职位ID
+     * @param fields       实体字段名 -> 新值，值为 null 的字段忽略
+     */
+    public void submit(String platform, String encryptJobId, Map<String, Object> fields) {
+        if (encryptJobId == null || encryptJobId.isBlank() || fields == null || fields.isEmpty()) {
+            return;
+        }
+        pending.compute(new Key(platform, encryptJobId), (key, existing) -> {
+            if (existing != null) {
+                counter("job.detail.merge.coalesced", platform).increment();
+            }
+            Pending target = existing == null ? new Pending() : existing;
+            fields.forEach((field, value) -> {
+                if (value != null) {
+                    target.fields.put(field, value);
+                }
+            });
+            return target;
+        });
+    }
+
+    private void flushDue() {
+        try {
+            flush(false);
+        } catch (Exception e) {
+            log.error("职位详情合并写入时发生未知异常", e);
+        }
+    }
+
+    private void flush(boolean all) {
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getDetailMergeWindowMs());
+        long now = System.nanoTime();
+        Map<Key, Pending> due = new LinkedHashMap<>();
+        for (Map.Entry<Key, Pending> entry : pending.entrySet()) {
+            if (all || now - entry.getValue().firstSeenNanos >= windowNanos) {
+                Pending removed = pending.remove(entry.getKey());
+                if (removed != null) {
+                    due.put(entry.getKey(), removed);
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> results = transactionTemplate.execute(status -> {
+                List<String> outcomes = new ArrayList<>(due.size());
+                due.forEach((key, detail) -> outcomes.add(apply(key, detail)));
+                return outcomes;
+            });
+            List<Key> keys = new ArrayList<>(due.keySet());
+            for (int i = 0; results != null && i < results.size(); i++) {
+                counter("job.detail.merge.writes", keys.get(i).platform(), results.get(i)).increment();
+            }
+        } catch (Exception e) {
+            log.warn("职位详情合并写入事务失败，逐个重试 {} 个职位: {}", due.size(), e.getMessage());
+            due.forEach((key, detail) -> {
+                try {
+                    String result = transactionTemplate.execute(status -> apply(key, detail));
+                    counter("job.detail.merge.writes", key.platform(), result).increment();
+                } catch (Exception ex) {
+                    counter("job.detail.merge.writes", key.platform(), "failed").increment();
+                    log.error("职位详情写入失败，平台: {}, encryptJobId: {}", key.platform(), key.encryptJobId(), ex);
+                }
+            });
+        }
+    }
+
+    /**
+     * 写入单个职位的合并结果
+     *
+     * @return 写入结果：patched / unchanged / missing
+     */
+    private String apply(Key key, Pending detail) {
+        int changed = jobRepository.patchChangedFields(key.platform(), key.encryptJobId(), detail.fields);
+        if (changed == JobDetailPatchRepository.NOT_FOUND) {
+            log.warn("未找到encryptJobId为 {} 的职位记录，平台: {}", key.encryptJobId(), key.platform());
+            return "missing";
+        }
+        return changed > 0 ? "patched" : "unchanged";
+    }
+
+    private Counter counter(String name, String platform) {
+        return Counter.builder(name)
+                .tag("platform", platform == null ? "unknown" : platform)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(String name, String platform, String result) {
+        return Counter.builder(name)
+                .tag("platform", platform == null ? "unknown" : platform)
+                .tag("result", result == null ? "unknown" : result)
+                .register(meterRegistry);
+    }
+}
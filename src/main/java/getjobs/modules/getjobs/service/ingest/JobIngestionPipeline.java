@@ -0,0 +1,295 @@
+package getjobs.modules.getjobs.service.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 岗位入库流水线（单写线程）
+ * <p>
+ * Playwright 的 {@code page.onResponse} 回调运行在浏览器驱动的分发线程上，若在回调里同步解析 JSON 并写 SQLite，
+ * 会直接拖慢页面滚动，并与其他写操作争抢 SQLite 写锁。流水线将二者解耦：
+ * <ul>
+ * <li>回调线程只读取响应体并 {@link #submit} 入有界队列，队列满时丢弃并计数，从不阻塞；</li>
+ * <li>唯一的写线程从队列攒批，每 {@code batch-size} 个响应或 {@code max-wait-ms} 毫秒提交一个事务；</li>
+ * <li>批事务失败时逐条重试，单个异常响应不会拖累同批其他数据。</li>
+ * </ul>
+ * 队列深度、入库延迟、丢弃数等通过 Micrometer 暴露（{@code job.ingestion.*}）。
+ * 采集结束后读取数据库前应调用 {@link #awaitIdle} 等待已入队的响应全部写完。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+@Component
+public class JobIngestionPipeline {
+
+    /**
+     * 响应体处理器：在写线程的事务内解析并入库
+     */
+    @FunctionalInterface
+    public interface BodyHandler {
+
+        /**
+         * @param body   响应体
+         * @param source 数据来源描述
+         */
+        void handle(String body, String source);
+    }
+
+    private record Entry(String platform, String source, String body, BodyHandler handler, long enqueuedAtNanos) {
+    }
+
+    private static final long IDLE_POLL_MS = 200;
+
+    private static final long AWAIT_POLL_MS = 50;
+
+    private final JobIngestionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<Entry> queue;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong lastLagMs = new AtomicLong(0);
+    /**
+     * 已入队但尚未写完的响应数（包括写线程正在处理的批次）
+     */
+    private final AtomicInteger unfinished = new AtomicInteger(0);
+    private final Timer batchTimer;
+    private final Counter failedCounter;
+
+    private Thread writerThread;
+
+    public JobIngestionPipeline(JobIngestionProperties properties,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+
+        Gauge.builder("job.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("待入库的拦截响应数量")
+                .register(meterRegistry);
+        Gauge.builder("job.ingestion.lag", lastLagMs, AtomicLong::get)
+                .description("最近一批响应从入队到提交完成的耗时")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("job.ingestion.oldest.age", this, JobIngestionPipeline::oldestAgeMs)
+                .description("队首响应已等待的时长")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("job.ingestion.batch")
+                .description("单批入库事务耗时")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("job.ingestion.failed")
+                .description("重试后仍入库失败的响应数")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            writerThread = new Thread(this::run, "job-ingestion-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+            log.info("岗位入库流水线已启动 (队列容量: {}, 批大小: {}, 最长等待: {}ms)",
+                    properties.getQueueCapacity(), properties.getBatchSize(), properties.getMaxWaitMs());
+        }
+    }
+
+    /**
+     * 停止写线程，并在当前线程写完队列中剩余的响应
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        log.info("正在停止岗位入库流水线，剩余 {} 个响应", queue.size());
+        if (writerThread != null) {
+            try {
+                writerThread.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("等待岗位入库写线程结束时被中断");
+            }
+        }
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            writeBatch(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        log.info("岗位入库流水线已停止");
+    }
+
+    /**
+     * 提交响应体等待入库（非阻塞）
+     *
+     * @param platform 平台编码
+     * @param source   数据来源描述
+     * @param body     响应体
+     * @param handler  响应体处理器
+     * @return 是否成功入队；队列已满时返回 false
+     */
+    public boolean submit(String platform, String source, String body, BodyHandler handler) {
+        if (body == null || body.isEmpty()) {
+            return false;
+        }
+        unfinished.incrementAndGet();
+        if (!queue.offer(new Entry(platform, source, body, handler, System.nanoTime()))) {
+            unfinished.decrementAndGet();
+            counter("job.ingestion.dropped", platform).increment();
+            log.warn("岗位入库队列已满({}), 丢弃响应，平台: {}, 来源: {}", properties.getQueueCapacity(), platform, source);
+            return false;
+        }
+        counter("job.ingestion.accepted", platform).increment();
+        return true;
+    }
+
+    /**
+     * 等待已入队的响应全部写入数据库
+     * <p>
+     * 用于采集结束后、从数据库加载岗位之前，避免读到只写了一部分的数据。
+     * 等待期间仍在入队的响应同样会被等待。
+     * </p>
+     *
+     * @param timeoutMs 最长等待时间（毫秒）
+     * @return 是否已全部写完；超时或被中断时返回 false
+     */
+    public boolean awaitIdle(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMs));
+        while (unfinished.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(AWAIT_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 未写完的响应数（队列中与正在写入的）
+     */
+    public int getUnfinishedCount() {
+        return unfinished.get();
+    }
+
+    /**
+     * 获取流水线统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running.get());
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", properties.getQueueCapacity());
+        stats.put("unfinished", unfinished.get());
+        stats.put("lastLagMs", lastLagMs.get());
+        stats.put("oldestAgeMs", oldestAgeMs());
+        stats.put("batches", batchTimer.count());
+        stats.put("failed", (long) failedCounter.count());
+        return stats;
+    }
+
+    private void run() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getMaxWaitMs()));
+        List<Entry> batch = new ArrayList<>(batchSize);
+
+        while (running.get()) {
+            try {
+                Entry first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Entry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeBatch(batch);
+                break;
+            } catch (Exception e) {
+                log.error("岗位入库写线程处理批次时发生未知异常", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(this::handle));
+            } catch (Exception e) {
+                log.warn("批量入库事务失败，逐条重试 {} 个响应: {}", batch.size(), e.getMessage());
+                for (Entry entry : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> handle(entry));
+                    } catch (Exception ex) {
+                        failedCounter.increment();
+                        log.error("响应入库失败，平台: {}, 来源: {}", entry.platform(), entry.source(), ex);
+                    }
+                }
+            }
+            long end = System.nanoTime();
+            batchTimer.record(end - start, TimeUnit.NANOSECONDS);
+            lastLagMs.set(TimeUnit.NANOSECONDS.toMillis(end - batch.get(0).enqueuedAtNanos()));
+            for (Entry entry : batch) {
+                counter("job.ingestion.processed", entry.platform()).increment();
+            }
+        } finally {
+            unfinished.addAndGet(-batch.size());
+        }
+    }
+
+    private void handle(Entry entry) {
+        entry.handler().handle(entry.body(), entry.source());
+    }
+
+    private double oldestAgeMs() {
+        Entry head = queue.peek();
+        return head == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - head.enqueuedAtNanos());
+    }
+
+    private Counter counter(String name, String platform) {
+        return Counter.builder(name)
+                .tag("platform", platform == null ? "unknown" : platform)
+                .register(meterRegistry);
+    }
+}
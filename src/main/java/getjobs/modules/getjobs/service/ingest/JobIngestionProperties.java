@@ -0,0 +1,69 @@
+package getjobs.modules.getjobs.service.ingest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 岗位入库流水线配置属性
+ * <p>
+ * 通过 application.yml 中的 job.ingestion.* 进行配置：
+ * </p>
+ *
+ * <pre>{@code
+ * job:
+ *   ingestion:
+ *     queue-capacity: 1000   # 待入库响应队列容量（默认 1000）
+ *     batch-size: 20         # 单个事务最多合并的响应数（默认 20）
+ *     max-wait-ms: 500       # 攒批最长等待时间（默认 500 毫秒）
+ *     detail-merge-window-ms: 2000  # 同一职位详情响应的合并窗口（默认 2000 毫秒）
+ *     drain-timeout-ms: 30000       # 投递前等待入库队列写完的最长时间（默认 30 秒）
+ * }</pre>
+ *
+ * @author getjobs
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "job.ingestion")
+public class JobIngestionProperties {
+
+    /**
+     * 待入库响应队列容量
+     * <p>
+     * 默认值：1000。队列满时新响应被丢弃并计数，拦截回调永不阻塞
+     * </p>
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * 单个事务最多合并的响应数
+     * <p>
+     * 默认值：20
+     * </p>
+     */
+    private int batchSize = 20;
+
+    /**
+     * 攒批最长等待时间（毫秒）
+     * <p>
+     * 默认值：500。首个响应入队后最多等待该时长即提交，无论是否攒满
+     * </p>
+     */
+    private long maxWaitMs = 500;
+
+    /**
+     * 同一职位详情响应的合并窗口（毫秒）
+     * <p>
+     * 默认值：2000。窗口内同一职位的多次详情响应合并为一次增量更新
+     * </p>
+     */
+    private long detailMergeWindowMs = 2000;
+
+    /**
+     * 采集结束后、从数据库加载岗位前，等待入库队列写完的最长时间（毫秒）
+     * <p>
+     * 默认值：30000。超时后记录告警并继续，未写完的岗位留到下一次投递
+     * </p>
+     */
+    private long drainTimeoutMs = 30000;
+}
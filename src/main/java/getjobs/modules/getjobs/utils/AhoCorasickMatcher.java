@@ -0,0 +1,152 @@
+package getjobs.modules.getjobs.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick 多关键词匹配器
+ * <p>
+ * 构建后不可变、线程安全。对文本做一次扫描即可判断是否包含任一关键词，
+ * 结果与对每个关键词分别调用 {@link String#contains(CharSequence)} 一致（区分大小写）；空白关键词被忽略。
+ * </p>
+ *
+ * @author getjobs
+ */
+public final class AhoCorasickMatcher {
+
+    private static final AhoCorasickMatcher EMPTY = new AhoCorasickMatcher(List.of());
+
+    /**
+     * 状态转移表：goto[state] 为字符 -> 下一状态
+     */
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+    /**
+     * 失败指针
+     */
+    private final int[] fail;
+
+    /**
+     * 到达该状态时命中的关键词（含沿失败链继承的输出），未命中为 null
+     */
+    private final String[] output;
+
+    private final int keywordCount;
+
+    private AhoCorasickMatcher(Collection<String> keywords) {
+        List<String> outputs = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        outputs.add(null);
+        int count = 0;
+        for (String keyword : keywords) {
+            if (keyword == null || keyword.isBlank()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(state).put(c, next);
+                    transitions.add(new HashMap<>());
+                    outputs.add(null);
+                }
+                state = next;
+            }
+            if (outputs.get(state) == null) {
+                outputs.set(state, keyword);
+            }
+            count++;
+        }
+        this.keywordCount = count;
+        this.output = outputs.toArray(new String[0]);
+        this.fail = buildFailureLinks();
+    }
+
+    /**
+     * 由关键词构建匹配器
+     *
+     * @param keywords 关键词（可为空）
+     * @return 匹配器
+     */
+    public static AhoCorasickMatcher of(Collection<String> keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return EMPTY;
+        }
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(keywords);
+        return matcher.keywordCount == 0 ? EMPTY : matcher;
+    }
+
+    /**
+     * 是否没有任何有效关键词
+     */
+    public boolean isEmpty() {
+        return keywordCount == 0;
+    }
+
+    /**
+     * 文本是否包含任一关键词
+     *
+     * @param text 文本（为空时返回 false）
+     * @return 是否命中
+     */
+    public boolean matches(String text) {
+        return findFirst(text) != null;
+    }
+
+    /**
+     * 返回文本中最先结束的命中关键词
+     *
+     * @param text 文本（为空时返回 null）
+     * @return 命中的关键词，未命中返回 null
+     */
+    public String findFirst(String text) {
+        if (keywordCount == 0 || text == null || text.isEmpty()) {
+            return null;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next;
+            while ((next = transitions.get(state).get(c)) == null && state != 0) {
+                state = fail[state];
+            }
+            state = next == null ? 0 : next;
+            if (output[state] != null) {
+                return output[state];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按广度优先计算失败指针，并沿失败链合并输出
+     */
+    private int[] buildFailureLinks() {
+        int[] fail = new int[transitions.size()];
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = fail[state];
+                Integer target;
+                while ((target = transitions.get(fallback).get(edge.getKey())) == null && fallback != 0) {
+                    fallback = fail[fallback];
+                }
+                fail[child] = target == null ? 0 : target;
+                if (output[child] == null) {
+                    output[child] = output[fail[child]];
+                }
+                queue.add(child);
+            }
+        }
+        return fail;
+    }
+}
@@ -0,0 +1,260 @@
+package getjobs.modules.getjobs.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.repository.entity.JobEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BOSS直聘职位列表流式解码器
+ * <p>
+ * 基于 Jackson {@link JsonParser} 逐个 token 读取 joblist / recommend 接口响应，直接写入 {@link JobEntity} 字段，
+ * 不构建中间的树或 {@code Map}。未识别的字段通过 {@link JsonParser#skipChildren()} 跳过。
+ * 字段映射与取值规则与原 {@code Map} 转换逻辑保持一致：数组字段原样保存为 JSON 文本，空数组视为 null。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Component
+public class BossJobListStreamDecoder {
+
+    private static final String JOB_URL_PREFIX = "https://www.zhipin.com/job_detail/";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * 解码结果
+     *
+     * @param code    响应码
+     * @param message 响应消息
+     * @param jobs    职位实体（响应中没有 jobList 时为空列表）
+     */
+    public record Result(Integer code, String message, List<JobEntity> jobs) {
+    }
+
+    /**
+     * 解码职位列表响应
+     *
+     * @param body 响应体JSON字符串
+     * @return 解码结果
+     * @throws IOException JSON 格式错误时抛出
+     */
+    public Result decode(String body) throws IOException {
+        Integer code = null;
+        String message = null;
+        List<JobEntity> jobs = new ArrayList<>();
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("BOSS直聘响应不是JSON对象");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "code" -> code = readInteger(parser, token);
+                    case "message" -> message = readString(parser, token);
+                    case "zpData" -> readZpData(parser, token, jobs);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new Result(code, message, jobs);
+    }
+
+    private void readZpData(JsonParser parser, JsonToken token, List<JobEntity> jobs) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if ("jobList".equals(field) && valueToken == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    jobs.add(readJob(parser));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * 读取单个职位对象（当前 token 为 START_OBJECT），读取结束后停在对应的 END_OBJECT
+     */
+    private JobEntity readJob(JsonParser parser) throws IOException {
+        JobEntity job = new JobEntity();
+        job.setPlatform(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode());
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                // 基础职位信息
+                case "jobName" -> job.setJobTitle(readString(parser, token));
+                case "salaryDesc" -> job.setSalaryDesc(readString(parser, token));
+                case "jobExperience" -> job.setJobExperience(readString(parser, token));
+                case "jobDegree" -> job.setJobDegree(readString(parser, token));
+                case "jobLabels" -> job.setJobLabels(readArrayAsJson(parser, token));
+                case "skills" -> job.setSkills(readArrayAsJson(parser, token));
+
+                // 公司信息
+                case "brandName" -> job.setCompanyName(readString(parser, token));
+                case "brandIndustry" -> job.setCompanyIndustry(readString(parser, token));
+                case "brandStageName" -> job.setCompanyStage(readString(parser, token));
+                case "brandScaleName" -> job.setCompanyScale(readString(parser, token));
+                case "brandLogo" -> job.setCompanyLogo(readString(parser, token));
+
+                // 工作地点信息
+                case "cityName" -> job.setWorkCity(readString(parser, token));
+                case "areaDistrict" -> job.setWorkArea(readString(parser, token));
+                case "businessDistrict" -> job.setBusinessDistrict(readString(parser, token));
+                case "gps" -> readGps(parser, token, job);
+
+                // HR信息
+                case "bossName" -> job.setHrName(readString(parser, token));
+                case "bossTitle" -> job.setHrTitle(readString(parser, token));
+                case "bossAvatar" -> job.setHrAvatar(readString(parser, token));
+                case "bossOnline" -> job.setHrOnline(readBoolean(parser, token));
+                case "bossCert" -> job.setHrCertLevel(readInteger(parser, token));
+
+                // 系统信息
+                case "encryptJobId" -> job.setEncryptJobId(readString(parser, token));
+                case "encryptBossId" -> job.setEncryptHrId(readString(parser, token));
+                case "encryptBrandId" -> job.setEncryptCompanyId(readString(parser, token));
+                case "securityId" -> job.setSecurityId(readString(parser, token));
+
+                // 状态信息
+                case "optimal" -> job.setIsOptimal(readBoolean(parser, token));
+                case "proxyJob" -> job.setIsProxyJob(readBoolean(parser, token));
+                case "proxyType" -> job.setProxyType(readInteger(parser, token));
+                case "goldHunter" -> job.setIsGoldHunter(readBoolean(parser, token));
+                case "contact" -> job.setIsContacted(readBoolean(parser, token));
+                case "isShield" -> job.setIsShielded(isOne(readInteger(parser, token)));
+                case "jobValidStatus" -> job.setJobValidStatus(readInteger(parser, token));
+
+                // 其他信息
+                case "welfareList" -> job.setWelfareList(readArrayAsJson(parser, token));
+                case "iconFlagList" -> job.setIconFlagList(readArrayAsJson(parser, token));
+                case "beforeNameIcons" -> job.setBeforeNameIcons(readArrayAsJson(parser, token));
+                case "afterNameIcons" -> job.setAfterNameIcons(readArrayAsJson(parser, token));
+                case "iconWord" -> job.setIconWord(readString(parser, token));
+                case "leastMonthDesc" -> job.setLeastMonthDesc(readString(parser, token));
+                case "daysPerWeekDesc" -> job.setDaysPerWeekDesc(readString(parser, token));
+                case "showTopPosition" -> job.setShowTopPosition(readBoolean(parser, token));
+                case "outland" -> job.setIsOutland(isOne(readInteger(parser, token)));
+                case "anonymous" -> job.setAnonymousStatus(readInteger(parser, token));
+                case "itemId" -> job.setItemId(readInteger(parser, token));
+                case "expectId" -> job.setExpectId(readLong(parser, token));
+                case "city" -> job.setCityCode(readLong(parser, token));
+                case "industry" -> job.setIndustryCode(readLong(parser, token));
+                case "jobType" -> job.setJobType(readInteger(parser, token));
+                case "atsDirectPost" -> job.setAtsDirectPost(readBoolean(parser, token));
+                case "lid" -> job.setSearchId(readString(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+
+        // 构造职位链接
+        if (job.getEncryptJobId() != null) {
+            job.setJobUrl(JOB_URL_PREFIX + job.getEncryptJobId() + ".html");
+        }
+        // 结构化月薪列（salary_min_monthly / salary_max_monthly / salary_months）
+        SalaryParser.apply(job);
+        return job;
+    }
+
+    private void readGps(JsonParser parser, JsonToken token, JobEntity job) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            switch (field) {
+                case "longitude" -> job.setLongitude(readDecimal(parser, valueToken));
+                case "latitude" -> job.setLatitude(readDecimal(parser, valueToken));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private String readString(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isScalarValue()) {
+            return token == JsonToken.VALUE_NULL ? null : parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private Integer readInteger(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private Long readLong(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            return parser.getLongValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private BigDecimal readDecimal(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            return BigDecimal.valueOf(parser.getDoubleValue());
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private Boolean readBoolean(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isBoolean()) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        if (token.isNumeric()) {
+            return parser.getIntValue() == 1;
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * 将当前数组原样写出为紧凑 JSON 文本，空数组返回 null
+     */
+    private String readArrayAsJson(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        if (parser.nextToken() == JsonToken.END_ARRAY) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.writeStartArray();
+            do {
+                generator.copyCurrentStructure(parser);
+            } while (parser.nextToken() != JsonToken.END_ARRAY);
+            generator.writeEndArray();
+        }
+        return writer.toString();
+    }
+
+    private static Boolean isOne(Integer value) {
+        return value == null ? null : value == 1;
+    }
+}
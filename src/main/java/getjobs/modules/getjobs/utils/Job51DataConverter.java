@@ -239,6 +239,9 @@ public class Job51DataConverter {
                 log.warn("薪资范围解析失败: min={}, max={}", jobItem.getJobSalaryMin(), jobItem.getJobSalaryMax());
             }
         }
+
+        // 结构化月薪列（salary_min_monthly / salary_max_monthly / salary_months）
+        SalaryParser.apply(jobEntity);
     }
 
     /**
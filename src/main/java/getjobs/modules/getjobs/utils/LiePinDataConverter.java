@@ -56,6 +56,9 @@ public class LiePinDataConverter {
                 jobEntity.setItemId(comp.getCompId());
             }
 
+            // 结构化月薪列（salary_min_monthly / salary_max_monthly / salary_months）
+            SalaryParser.apply(jobEntity);
+
             jobEntity.setStatus(0);
             jobEntity.setIsFavorite(false);
             jobEntity.setIsContacted(false);
@@ -0,0 +1,205 @@
+package getjobs.modules.getjobs.utils;
+
+import getjobs.repository.entity.JobEntity;
+
+/**
+ * 薪资文本解析器（四个平台通用）
+ * <p>
+ * 单次顺序扫描，不使用正则与中间字符串，结果统一换算为月薪（元）。支持的格式示例：
+ * <ul>
+ * <li>15-30K、8-15k、15-45k·18薪（千/月，可带薪数）</li>
+ * <li>1-1.5万、1万-1.5万·13薪、8千、8000-12000元、8000-12000元/月</li>
+ * <li>20-30万/年、年薪20-30万（年薪按 12 个月折算）</li>
+ * <li>200-250元/天（按每月 21.75 个工作日折算）、100-150元/时（再按每天 8 小时折算）</li>
+ * </ul>
+ * 面议、无数字或数字个数超过两个等无法判定的文本返回 null。
+ * </p>
+ *
+ * @author getjobs
+ */
+public final class SalaryParser {
+
+    /**
+     * 解析结果
+     *
+     * @param minMonthly 最低月薪（元）
+     * @param maxMonthly 最高月薪（元）
+     * @param months     每年发放薪数（如 13、18），未注明时为 null
+     */
+    public record SalaryRange(int minMonthly, int maxMonthly, Integer months) {
+    }
+
+    private static final double WORK_DAYS_PER_MONTH = 21.75;
+
+    private static final int WORK_HOURS_PER_DAY = 8;
+
+    private static final int PERIOD_MONTH = 0;
+    private static final int PERIOD_DAY = 1;
+    private static final int PERIOD_HOUR = 2;
+    private static final int PERIOD_YEAR = 3;
+
+    private SalaryParser() {
+    }
+
+    /**
+     * 根据职位的 salaryDesc 填充结构化薪资列，无法解析时清空
+     *
+     * @param job 职位实体
+     */
+    public static void apply(JobEntity job) {
+        SalaryRange range = parse(job.getSalaryDesc());
+        job.setSalaryMinMonthly(range != null ? range.minMonthly() : null);
+        job.setSalaryMaxMonthly(range != null ? range.maxMonthly() : null);
+        job.setSalaryMonths(range != null ? range.months() : null);
+    }
+
+    /**
+     * 解析薪资文本
+     *
+     * @param text 薪资文本
+     * @return 月薪范围，无法解析时返回 null
+     */
+    public static SalaryRange parse(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        double first = 0;
+        double second = 0;
+        int firstUnit = 0;
+        int secondUnit = 0;
+        int count = 0;
+        Integer months = null;
+        int period = PERIOD_MONTH;
+
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                double value = 0;
+                double scale = 1;
+                boolean fraction = false;
+                while (i < length) {
+                    c = text.charAt(i);
+                    if (isDigit(c)) {
+                        if (fraction) {
+                            scale /= 10;
+                            value += (c - '0') * scale;
+                        } else {
+                            value = value * 10 + (c - '0');
+                        }
+                    } else if (c == '.' && !fraction && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                        fraction = true;
+                    } else {
+                        break;
+                    }
+                    i++;
+                }
+                int next = skipSpaces(text, i);
+                char suffix = next < length ? text.charAt(next) : 0;
+                if (suffix == '薪') {
+                    months = (int) value;
+                    i = next + 1;
+                    continue;
+                }
+                int unit = unitOf(suffix);
+                if (unit != 0) {
+                    i = next + 1;
+                }
+                if (count == 0) {
+                    first = value;
+                    firstUnit = unit;
+                } else if (count == 1) {
+                    second = value;
+                    secondUnit = unit;
+                }
+                count++;
+                continue;
+            }
+            if (c == '/' || c == '每') {
+                int next = skipSpaces(text, i + 1);
+                if (next < length) {
+                    period = periodOf(text.charAt(next), period);
+                }
+            } else if (c == '年' && i + 1 < length && text.charAt(i + 1) == '薪') {
+                period = PERIOD_YEAR;
+                i++;
+            }
+            i++;
+        }
+
+        if (count == 0 || count > 2) {
+            return null;
+        }
+        if (count == 1) {
+            second = first;
+            secondUnit = firstUnit;
+        }
+        // “1-1.5万”中的下限沿用上限的单位，反之亦然
+        if (firstUnit == 0) {
+            firstUnit = secondUnit;
+        }
+        if (secondUnit == 0) {
+            secondUnit = firstUnit;
+        }
+        if (firstUnit == 0) {
+            // 无单位：日薪、时薪或四位数以上按元计，其余无法判定
+            if (period == PERIOD_DAY || period == PERIOD_HOUR || first >= 1000) {
+                firstUnit = 1;
+                secondUnit = 1;
+            } else {
+                return null;
+            }
+        }
+
+        double min = first * firstUnit;
+        double max = second * secondUnit;
+        double factor = switch (period) {
+            case PERIOD_DAY -> WORK_DAYS_PER_MONTH;
+            case PERIOD_HOUR -> WORK_DAYS_PER_MONTH * WORK_HOURS_PER_DAY;
+            case PERIOD_YEAR -> 1.0 / 12;
+            default -> 1.0;
+        };
+        min *= factor;
+        max *= factor;
+        if (min > max) {
+            double swap = min;
+            min = max;
+            max = swap;
+        }
+        if (max <= 0) {
+            return null;
+        }
+        return new SalaryRange((int) Math.round(min), (int) Math.round(max), months);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int skipSpaces(CharSequence text, int index) {
+        while (index < text.length() && text.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int unitOf(char c) {
+        return switch (c) {
+            case 'k', 'K', '千' -> 1000;
+            case 'w', 'W', '万' -> 10000;
+            case '元' -> 1;
+            default -> 0;
+        };
+    }
+
+    private static int periodOf(char c, int current) {
+        return switch (c) {
+            case '天', '日' -> PERIOD_DAY;
+            case '时', '小' -> PERIOD_HOUR;
+            case '年' -> PERIOD_YEAR;
+            case '月' -> PERIOD_MONTH;
+            default -> current;
+        };
+    }
+}
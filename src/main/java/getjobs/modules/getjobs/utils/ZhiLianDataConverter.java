@@ -219,6 +219,9 @@ public class ZhiLianDataConverter {
                 jobEntity.setSalaryDesc(salaryReal);
             }
         }
+
+        // 结构化月薪列（salary_min_monthly / salary_max_monthly / salary_months）
+        SalaryParser.apply(jobEntity);
     }
 
     /**
@@ -7,17 +7,17 @@ import getjobs.infrastructure.playwright.PlaywrightService;
 import getjobs.modules.getjobs.zhilian.dto.ZhiLianApiResponse;
 import getjobs.repository.entity.JobEntity;
 import getjobs.repository.JobRepository;
+import getjobs.modules.getjobs.service.JobIngestionDedupService;
+import getjobs.modules.getjobs.service.ingest.JobIngestionPipeline;
 import getjobs.modules.getjobs.utils.ZhiLianDataConverter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PostConstruct;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * 智联招聘接口监控服务
@@ -33,6 +33,8 @@ public class ZhiLianApiMonitorService {
 
     private final JobRepository jobRepository;
     private final ZhiLianDataConverter dataConverter;
+    private final JobIngestionDedupService jobIngestionDedupService;
+    private final JobIngestionPipeline jobIngestionPipeline;
     private final PlaywrightService playwrightService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -94,11 +96,13 @@ public class ZhiLianApiMonitorService {
             log.info("响应体长度: {} 字符", body.length());
             log.debug("响应体内容: {}", body);
 
-            // 尝试解析JSON并美化输出
-            formatJsonResponse(body);
+            // 仅在 debug 日志开启时才解析并美化输出，避免每个响应都被额外解析一遍
+            if (log.isDebugEnabled()) {
+                formatJsonResponse(body);
+            }
 
-            // 解析并保存职位数据
-            parseAndSaveZhiLianData(body, "智联招聘职位搜索");
+            // 交由入库流水线的写线程解析并保存，回调线程不触碰数据库
+            jobIngestionPipeline.submit(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getPlatformCode(), "智联招聘职位搜索", body, this::parseAndSaveZhiLianData);
 
         } catch (PlaywrightException e) {
             log.error("读取智联招聘响应体失败: {}", e.getMessage());
@@ -124,8 +128,10 @@ public class ZhiLianApiMonitorService {
      * 
      * @param body   响应体JSON字符串
      * @param source 数据来源描述
+     * <p>
+     * 由入库流水线写线程调用，事务由流水线的 TransactionTemplate 提供。
+     * </p>
      */
-    @Transactional
     public void parseAndSaveZhiLianData(String body, String source) {
         try {
             // 解析智联招聘API响应
@@ -164,13 +170,13 @@ public class ZhiLianApiMonitorService {
                     .toList();
 
             if (!jobEntities.isEmpty()) {
-                // 检查是否已存在相同的职位（基于encryptJobId）
-                List<JobEntity> newJobs = jobEntities.stream()
-                        .filter(entity -> !isJobExists(entity.getEncryptJobId()))
-                        .collect(Collectors.toList());
+                // 按 encryptJobId 批量去重（本批内重复 + 库里已存在）
+                List<JobEntity> newJobs = jobIngestionDedupService.filterNewJobs(
+                        RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getPlatformCode(), jobEntities);
 
                 if (!newJobs.isEmpty()) {
-                    jobRepository.saveAll(newJobs);
+                    jobRepository.upsertAll(newJobs);
+                    jobIngestionDedupService.markPersisted(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getPlatformCode(), newJobs);
                     log.info("成功保存 {} 个新职位到数据库，来源: {}", newJobs.size(), source);
 
                     // 打印保存的职位信息
@@ -188,25 +194,6 @@ public class ZhiLianApiMonitorService {
         }
     }
 
-    /**
-     * 检查职位是否已存在
-     * 
-     * @param encryptJobId 职位ID
-     * @return 是否存在
-     */
-    private boolean isJobExists(String encryptJobId) {
-        if (encryptJobId == null || encryptJobId.trim().isEmpty()) {
-            return false;
-        }
-
-        try {
-            return jobRepository.existsByEncryptJobId(encryptJobId);
-        } catch (Exception e) {
-            log.warn("检查职位是否存在时发生错误: {}", e.getMessage());
-            return false;
-        }
-    }
-
     /**
      * 手动启动监控（如果需要重新启动）
      */
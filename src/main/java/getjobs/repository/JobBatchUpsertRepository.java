@@ -0,0 +1,45 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.JobEntity;
+
+import java.util.Collection;
+
+/**
+ * 职位批量 Upsert 仓储扩展
+ * <p>
+ * 以 (platform, encrypt_job_id) 唯一键为冲突目标，使用 JDBC 批处理执行幂等写入：
+ * SQLite 使用 {@code INSERT ... ON CONFLICT DO UPDATE}，MySQL 使用 {@code INSERT ... ON DUPLICATE KEY UPDATE}。
+ * </p>
+ *
+ * @author getjobs
+ */
+public interface JobBatchUpsertRepository {
+
+    /**
+     * 批量写入职位：不存在则插入，已存在则仅用非空的列表字段刷新原记录
+     * <p>
+     * 状态、过滤原因、AI 匹配结果、收藏等由后续流程维护的字段不会被覆盖。
+     * </p>
+     *
+     * @param jobs 职位实体
+     * @return 受影响的行数
+     */
+    int upsertAll(Collection<JobEntity> jobs);
+
+    /**
+     * job_info 上是否已存在 (platform, encrypt_job_id) 唯一索引
+     *
+     * @return 唯一索引是否存在
+     */
+    boolean hasUniqueKey();
+
+    /**
+     * 确保 job_info 上存在 (platform, encrypt_job_id) 唯一索引
+     * <p>
+     * 需在历史重复数据清理之后调用；唯一索引就绪前 {@link #upsertAll(Collection)} 退化为普通批量插入。
+     * </p>
+     *
+     * @return 唯一索引是否就绪
+     */
+    boolean ensureUniqueKey();
+}
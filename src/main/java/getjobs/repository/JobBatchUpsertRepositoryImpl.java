@@ -0,0 +1,166 @@
+package getjobs.repository;
+
+import getjobs.common.util.JobContentFingerprint;
+import getjobs.repository.JobColumnMapping.ColumnBinding;
+import getjobs.repository.entity.JobEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 职位批量 Upsert 仓储实现
+ * <p>
+ * 列映射复用 {@link JobColumnMapping}，新增实体字段无需同步修改 SQL。
+ * 批大小复用 {@code hibernate.jdbc.batch_size} 配置：job_info 主键为 IDENTITY 自增，Hibernate 无法对其插入做批处理，
+ * 因此这里直接走 JDBC 批处理。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+public class JobBatchUpsertRepositoryImpl implements JobBatchUpsertRepository {
+
+    private static final String TABLE = JobColumnMapping.TABLE;
+
+    private static final String UNIQUE_KEY_NAME = "uk_job_info_platform_encrypt_job_id";
+
+    /**
+     * 冲突时不覆盖的列：唯一键本身，以及由过滤/投递/用户操作维护的列
+     */
+    private static final Set<String> PRESERVED_ON_CONFLICT = Set.of(
+            "platform", "encrypt_job_id", "created_at", "is_deleted", "remark",
+            "status", "filter_reason", "ai_matched", "ai_match_score", "ai_match_reason", "is_favorite",
+            "filter_content_hash", "filter_config_hash", "ai_verdict_hash");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final List<ColumnBinding> columns;
+
+    private volatile Boolean mysql;
+
+    private volatile boolean uniqueKeyReady;
+
+    public JobBatchUpsertRepositoryImpl(DataSource dataSource,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.batchSize = Math.max(1, batchSize);
+        this.columns = JobColumnMapping.COLUMNS;
+    }
+
+    @Override
+    public int upsertAll(Collection<JobEntity> jobs) {
+        if (jobs == null || jobs.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (JobEntity job : jobs) {
+            job.setUpdatedAt(now);
+            if (job.getContentFingerprint() == null) {
+                // 无职位描述时为 null，冲突更新经 COALESCE 保留已有指纹
+                job.setContentFingerprint(JobContentFingerprint.of(
+                        job.getJobTitle(), job.getCompanyName(), job.getJobPostDescription(), job.getJobDescription()));
+            }
+        }
+
+        String sql = uniqueKeyReady ? buildUpsertSql() : buildInsertSql();
+        int[][] results = jdbcTemplate.batchUpdate(sql, new ArrayList<>(jobs), batchSize,
+                (ps, job) -> bindColumns(ps, job));
+
+        int affected = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                // 部分驱动批处理返回 SUCCESS_NO_INFO(-2)，按 1 行计
+                affected += count >= 0 ? count : 1;
+            }
+        }
+        log.debug("批量 Upsert 职位完成，提交 {} 条，影响 {} 行，唯一键就绪: {}", jobs.size(), affected, uniqueKeyReady);
+        return affected;
+    }
+
+    @Override
+    public boolean hasUniqueKey() {
+        Integer existing = isMySql()
+                ? jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                        Integer.class, TABLE, UNIQUE_KEY_NAME)
+                : jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = ?",
+                        Integer.class, UNIQUE_KEY_NAME);
+        return existing != null && existing > 0;
+    }
+
+    @Override
+    public boolean ensureUniqueKey() {
+        try {
+            if (isMySql()) {
+                if (!hasUniqueKey()) {
+                    jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD UNIQUE KEY " + UNIQUE_KEY_NAME
+                            + " (platform, encrypt_job_id)");
+                }
+            } else {
+                jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + UNIQUE_KEY_NAME
+                        + " ON " + TABLE + " (platform, encrypt_job_id)");
+            }
+            uniqueKeyReady = true;
+        } catch (Exception e) {
+            uniqueKeyReady = false;
+            log.error("创建 job_info (platform, encrypt_job_id) 唯一索引失败，批量写入将退化为普通插入: {}", e.getMessage());
+        }
+        return uniqueKeyReady;
+    }
+
+    private String buildInsertSql() {
+        String names = columns.stream().map(ColumnBinding::name).collect(Collectors.joining(", "));
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO " + TABLE + " (" + names + ") VALUES (" + placeholders + ")";
+    }
+
+    private String buildUpsertSql() {
+        List<String> updatable = columns.stream()
+                .map(ColumnBinding::name)
+                .filter(name -> !PRESERVED_ON_CONFLICT.contains(name))
+                .toList();
+        if (isMySql()) {
+            return buildInsertSql() + " ON DUPLICATE KEY UPDATE " + updatable.stream()
+                    .map(name -> name + " = COALESCE(VALUES(" + name + "), " + name + ")")
+                    .collect(Collectors.joining(", "));
+        }
+        return buildInsertSql() + " ON CONFLICT (platform, encrypt_job_id) DO UPDATE SET " + updatable.stream()
+                .map(name -> name + " = COALESCE(excluded." + name + ", " + TABLE + "." + name + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    private void bindColumns(PreparedStatement ps, JobEntity job) throws SQLException {
+        int index = 1;
+        for (ColumnBinding column : columns) {
+            Object value;
+            try {
+                value = column.field().get(job);
+            } catch (IllegalAccessException e) {
+                throw new SQLException("读取职位字段失败: " + column.field().getName(), e);
+            }
+            JobColumnMapping.bindValue(ps, index++, value, column.field().getType());
+        }
+    }
+
+    private boolean isMySql() {
+        if (mysql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            mysql = product != null && product.toLowerCase().contains("mysql");
+        }
+        return mysql;
+    }
+}
@@ -0,0 +1,106 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.JobEntity;
+import jakarta.persistence.Column;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * job_info 列映射
+ * <p>
+ * 由 {@link JobEntity} 及其父类上的 {@link Column} 注解反射生成并缓存，供绕过 Hibernate 的 JDBC 写入共用，
+ * 新增实体字段无需同步修改 SQL。
+ * </p>
+ *
+ * @author getjobs
+ */
+final class JobColumnMapping {
+
+    static final String TABLE = "job_info";
+
+    /**
+     * 按实体继承层次（父类在前）排列的列
+     */
+    static final List<ColumnBinding> COLUMNS = resolveColumns();
+
+    /**
+     * 实体字段名 -> 列
+     */
+    static final Map<String, ColumnBinding> BY_FIELD = indexByField(COLUMNS);
+
+    private JobColumnMapping() {
+    }
+
+    static void bindValue(PreparedStatement ps, int index, Object value, Class<?> type) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType(type));
+        } else if (value instanceof LocalDateTime dateTime) {
+            ps.setTimestamp(index, Timestamp.valueOf(dateTime));
+        } else if (value instanceof BigDecimal decimal) {
+            ps.setBigDecimal(index, decimal);
+        } else if (value instanceof Boolean bool) {
+            ps.setBoolean(index, bool);
+        } else if (value instanceof Integer number) {
+            ps.setInt(index, number);
+        } else if (value instanceof Long number) {
+            ps.setLong(index, number);
+        } else {
+            ps.setString(index, value.toString());
+        }
+    }
+
+    private static int sqlType(Class<?> type) {
+        if (type == LocalDateTime.class) {
+            return Types.TIMESTAMP;
+        } else if (type == BigDecimal.class) {
+            return Types.NUMERIC;
+        } else if (type == Boolean.class) {
+            return Types.BOOLEAN;
+        } else if (type == Integer.class) {
+            return Types.INTEGER;
+        } else if (type == Long.class) {
+            return Types.BIGINT;
+        }
+        return Types.VARCHAR;
+    }
+
+    private static List<ColumnBinding> resolveColumns() {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = JobEntity.class; type != null && type != Object.class; type = type.getSuperclass()) {
+            hierarchy.add(0, type);
+        }
+        List<ColumnBinding> bindings = new ArrayList<>();
+        for (Class<?> type : hierarchy) {
+            for (Field field : type.getDeclaredFields()) {
+                Column column = field.getAnnotation(Column.class);
+                if (column == null || column.name().isEmpty()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                bindings.add(new ColumnBinding(column.name(), field));
+            }
+        }
+        return List.copyOf(bindings);
+    }
+
+    private static Map<String, ColumnBinding> indexByField(List<ColumnBinding> columns) {
+        Map<String, ColumnBinding> index = new LinkedHashMap<>();
+        for (ColumnBinding column : columns) {
+            index.put(column.field().getName(), column);
+        }
+        return Map.copyOf(index);
+    }
+
+    record ColumnBinding(String name, Field field) {
+    }
+}
@@ -0,0 +1,34 @@
+package getjobs.repository;
+
+import java.util.Map;
+
+/**
+ * 职位详情增量更新仓储扩展
+ * <p>
+ * 先只读取待更新的列，与新值逐列比较后，仅对发生变化的列执行一条动态拼接的 {@code UPDATE}；
+ * 没有任何变化时不产生写操作，避免浏览详情时反复整行回写。
+ * </p>
+ *
+ * @author getjobs
+ */
+public interface JobDetailPatchRepository {
+
+    /**
+     * 职位不存在时 {@link #patchChangedFields} 的返回值
+     */
+    int NOT_FOUND = -1;
+
+    /**
+     * 按 (platform, encryptJobId) 增量更新职位字段
+     * <p>
+     * 状态、过滤原因、AI 匹配结果、收藏等由后续流程维护的字段以及唯一键不允许通过此方法修改。
+     * </p>
+     *
+     * @param platform     平台编码
+     * @param encryptJobId 加密职位ID
+     * @param fields       实体字段名 -> 新值，值为 null 的字段忽略
+     * @return 实际写入的列数（0 表示无变化）；职位不存在时返回 {@link #NOT_FOUND}
+     * @throws IllegalArgumentException 字段名不存在、不允许修改或值类型不匹配时抛出
+     */
+    int patchChangedFields(String platform, String encryptJobId, Map<String, Object> fields);
+}
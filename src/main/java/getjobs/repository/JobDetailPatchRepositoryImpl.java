@@ -0,0 +1,184 @@
+package getjobs.repository;
+
+import getjobs.common.util.JobContentFingerprint;
+import getjobs.repository.JobColumnMapping.ColumnBinding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 职位详情增量更新仓储实现
+ * <p>
+ * 列名与类型来自 {@link JobColumnMapping}。SQLite 中布尔与整数均以 INTEGER 存储，比较前按实体字段类型归一化。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+public class JobDetailPatchRepositoryImpl implements JobDetailPatchRepository {
+
+    /**
+     * 不允许增量修改的列：主键、唯一键、审计字段，以及由过滤/投递/用户操作维护的列
+     */
+    private static final Set<String> PROTECTED_COLUMNS = Set.of(
+            "id", "platform", "encrypt_job_id", "created_at", "updated_at", "is_deleted", "remark",
+            "status", "filter_reason", "ai_matched", "ai_match_score", "ai_match_reason", "is_favorite",
+            "content_fingerprint", "filter_content_hash", "filter_config_hash", "ai_verdict_hash");
+
+    /**
+     * 参与内容指纹计算的列，任一变化时重新计算 content_fingerprint
+     */
+    private static final List<String> FINGERPRINT_COLUMNS = List.of(
+            "job_title", "company_name", "job_post_description", "job_description");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobDetailPatchRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public int patchChangedFields(String platform, String encryptJobId, Map<String, Object> fields) {
+        List<ColumnBinding> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        fields.forEach((fieldName, value) -> {
+            if (value == null) {
+                return;
+            }
+            ColumnBinding column = JobColumnMapping.BY_FIELD.get(fieldName);
+            if (column == null || PROTECTED_COLUMNS.contains(column.name())) {
+                throw new IllegalArgumentException("不支持增量更新的职位字段: " + fieldName);
+            }
+            if (!column.field().getType().isInstance(value)) {
+                throw new IllegalArgumentException("职位字段 " + fieldName + " 类型不匹配，期望 "
+                        + column.field().getType().getSimpleName() + "，实际 " + value.getClass().getSimpleName());
+            }
+            columns.add(column);
+            values.add(value);
+        });
+        if (columns.isEmpty()) {
+            return 0;
+        }
+
+        String selectSql = "SELECT id, " + columns.stream().map(ColumnBinding::name).collect(Collectors.joining(", "))
+                + " FROM " + JobColumnMapping.TABLE + " WHERE platform = ? AND encrypt_job_id = ? LIMIT 1";
+        CurrentRow current = jdbcTemplate.query(selectSql, (ResultSetExtractor<CurrentRow>) rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = normalize(rs, i + 2, columns.get(i).field().getType());
+            }
+            return new CurrentRow(rs.getLong(1), row);
+        }, platform, encryptJobId);
+        if (current == null) {
+            return NOT_FOUND;
+        }
+
+        List<ColumnBinding> changedColumns = new ArrayList<>();
+        List<Object> changedValues = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            if (!sameValue(current.values()[i], values.get(i))) {
+                changedColumns.add(columns.get(i));
+                changedValues.add(values.get(i));
+            }
+        }
+        if (changedColumns.isEmpty()) {
+            return 0;
+        }
+        if (changedColumns.stream().anyMatch(column -> FINGERPRINT_COLUMNS.contains(column.name()))) {
+            Long fingerprint = recomputeFingerprint(current.id(), changedColumns, changedValues);
+            if (fingerprint != null) {
+                changedColumns.add(JobColumnMapping.BY_FIELD.get("contentFingerprint"));
+                changedValues.add(fingerprint);
+            }
+        }
+
+        String updateSql = "UPDATE " + JobColumnMapping.TABLE + " SET "
+                + changedColumns.stream().map(column -> column.name() + " = ?").collect(Collectors.joining(", "))
+                + ", updated_at = ? WHERE id = ?";
+        jdbcTemplate.update(updateSql, ps -> {
+            int index = 1;
+            for (int i = 0; i < changedColumns.size(); i++) {
+                JobColumnMapping.bindValue(ps, index++, changedValues.get(i), changedColumns.get(i).field().getType());
+            }
+            JobColumnMapping.bindValue(ps, index++, LocalDateTime.now(), LocalDateTime.class);
+            ps.setLong(index, current.id());
+        });
+        log.debug("增量更新职位 {}:{}，变更列: {}", platform, encryptJobId,
+                changedColumns.stream().map(ColumnBinding::name).toList());
+        return changedColumns.size();
+    }
+
+    /**
+     * 以本次变更后的职位名称、公司名称与描述重新计算内容指纹
+     */
+    private Long recomputeFingerprint(long id, List<ColumnBinding> changedColumns, List<Object> changedValues) {
+        String[] values = jdbcTemplate.query("SELECT " + String.join(", ", FINGERPRINT_COLUMNS) + " FROM "
+                + JobColumnMapping.TABLE + " WHERE id = ?", (ResultSetExtractor<String[]>) rs -> rs.next()
+                        ? new String[] { rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4) }
+                        : new String[FINGERPRINT_COLUMNS.size()], id);
+        for (int i = 0; i < changedColumns.size(); i++) {
+            int index = FINGERPRINT_COLUMNS.indexOf(changedColumns.get(i).name());
+            if (index >= 0) {
+                values[index] = (String) changedValues.get(i);
+            }
+        }
+        return JobContentFingerprint.of(values[0], values[1], values[2], values[3]);
+    }
+
+    /**
+     * 按实体字段类型读取并归一化当前列值
+     */
+    private static Object normalize(ResultSet rs, int index, Class<?> type) throws SQLException {
+        Object value = rs.getObject(index);
+        if (value == null) {
+            return null;
+        }
+        if (type == Boolean.class) {
+            if (value instanceof Boolean bool) {
+                return bool;
+            }
+            if (value instanceof Number number) {
+                return number.intValue() != 0;
+            }
+            return "true".equalsIgnoreCase(value.toString()) || "1".equals(value.toString());
+        }
+        if (type == Integer.class && value instanceof Number number) {
+            return number.intValue();
+        }
+        if (type == Long.class && value instanceof Number number) {
+            return number.longValue();
+        }
+        if (type == BigDecimal.class) {
+            return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static boolean sameValue(Object current, Object candidate) {
+        if (current instanceof BigDecimal left && candidate instanceof BigDecimal right) {
+            return left.compareTo(right) == 0;
+        }
+        return Objects.equals(current, candidate);
+    }
+
+    private record CurrentRow(long id, Object[] values) {
+    }
+}
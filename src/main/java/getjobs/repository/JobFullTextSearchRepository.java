@@ -0,0 +1,50 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.JobEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 职位全文检索仓储扩展
+ * <p>
+ * 覆盖职位名称、公司名称、HR 姓名与职位描述（job_description / job_post_description），按相关度排序：
+ * SQLite 使用与 job_info 通过触发器同步的 FTS5 影子表（trigram 分词，支持中文子串匹配），
+ * MySQL 使用 ngram 解析器的 {@code FULLTEXT} 索引。
+ * </p>
+ *
+ * @author getjobs
+ */
+public interface JobFullTextSearchRepository {
+
+    /**
+     * 确保全文索引存在（SQLite 影子表及同步触发器 / MySQL FULLTEXT 索引）
+     * <p>
+     * 首次创建 SQLite 影子表时会从 job_info 全量重建索引。
+     * </p>
+     *
+     * @return 全文索引是否就绪
+     */
+    boolean ensureFullTextIndex();
+
+    /**
+     * 判断关键字能否走全文索引
+     * <p>
+     * 索引未就绪，或关键字中存在短于分词粒度的词（SQLite trigram 要求至少 3 个字符）时返回 false，调用方应回退到模糊匹配。
+     * </p>
+     *
+     * @param keyword 关键字
+     * @return 是否可走全文索引
+     */
+    boolean isFullTextSearchable(String keyword);
+
+    /**
+     * 全文检索职位，按相关度降序、同分按 ID 降序
+     *
+     * @param platform 平台（可为空）
+     * @param status   状态（可为空）
+     * @param keyword  关键字，多个词以空白分隔，需全部命中
+     * @param pageable 分页参数（排序以相关度为准）
+     * @return 分页结果
+     */
+    Page<JobEntity> fullTextSearch(String platform, Integer status, String keyword, Pageable pageable);
+}
@@ -0,0 +1,218 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.JobEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 职位全文检索仓储实现
+ * <p>
+ * SQLite：外部内容（external content）模式的 FTS5 表 {@code job_info_fts}，rowid 即 job_info.id，
+ * 由 INSERT / UPDATE / DELETE 触发器与主表保持同步（批量 Upsert 的 ON CONFLICT DO UPDATE 同样触发 UPDATE 触发器），
+ * 检索结果按 {@code bm25} 排序，标题与公司权重更高。<br>
+ * MySQL：ngram 解析器的 FULLTEXT 索引，{@code MATCH ... AGAINST} 布尔模式检索，按相关度排序。
+ * </p>
+ *
+ * @author getjobs
+ */
+@Slf4j
+public class JobFullTextSearchRepositoryImpl implements JobFullTextSearchRepository {
+
+    private static final String TABLE = "job_info";
+
+    private static final String FTS_TABLE = "job_info_fts";
+
+    private static final String MYSQL_INDEX_NAME = "ft_job_info_search";
+
+    /**
+     * 参与全文检索的列，顺序与 bm25 权重一一对应
+     */
+    private static final String[] COLUMNS = {
+            "job_title", "company_name", "hr_name", "job_description", "job_post_description" };
+
+    private static final String BM25_WEIGHTS = "10.0, 5.0, 3.0, 1.0, 1.0";
+
+    /**
+     * SQLite trigram 分词器的最小可检索长度
+     */
+    private static final int SQLITE_MIN_TERM_LENGTH = 3;
+
+    /**
+     * MySQL ngram 解析器默认 ngram_token_size
+     */
+    private static final int MYSQL_MIN_TERM_LENGTH = 2;
+
+    private static final String FILTERS = "AND (?2 IS NULL OR LOWER(j.platform) = LOWER(?2)) "
+            + "AND (?3 IS NULL OR j.status = ?3) ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean mysql;
+
+    private volatile boolean fullTextReady;
+
+    public JobFullTextSearchRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public boolean ensureFullTextIndex() {
+        try {
+            if (isMySql()) {
+                ensureMySqlIndex();
+            } else {
+                ensureSqliteIndex();
+            }
+            fullTextReady = true;
+        } catch (Exception e) {
+            fullTextReady = false;
+            log.error("创建职位全文索引失败，关键字搜索将回退为模糊匹配: {}", e.getMessage());
+        }
+        return fullTextReady;
+    }
+
+    @Override
+    public boolean isFullTextSearchable(String keyword) {
+        if (!fullTextReady || keyword == null) {
+            return false;
+        }
+        List<String> terms = splitTerms(keyword);
+        int minLength = isMySql() ? MYSQL_MIN_TERM_LENGTH : SQLITE_MIN_TERM_LENGTH;
+        return !terms.isEmpty() && terms.stream().allMatch(term -> term.codePointCount(0, term.length()) >= minLength);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<JobEntity> fullTextSearch(String platform, Integer status, String keyword, Pageable pageable) {
+        boolean onMySql = isMySql();
+        String from;
+        String orderBy;
+        if (onMySql) {
+            String columns = String.join(", ", COLUMNS);
+            from = "FROM " + TABLE + " j WHERE MATCH(" + columns + ") AGAINST (?1 IN BOOLEAN MODE) ";
+            orderBy = "ORDER BY MATCH(" + columns + ") AGAINST (?1 IN BOOLEAN MODE) DESC, j.id DESC";
+        } else {
+            from = "FROM " + FTS_TABLE + " f JOIN " + TABLE + " j ON j.id = f.rowid WHERE " + FTS_TABLE + " MATCH ?1 ";
+            orderBy = "ORDER BY bm25(" + FTS_TABLE + ", " + BM25_WEIGHTS + "), j.id DESC";
+        }
+        String expression = onMySql ? toMySqlBooleanQuery(keyword) : toFtsQuery(keyword);
+
+        Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*) " + from + FILTERS);
+        bind(countQuery, expression, platform, status);
+        long total = ((Number) countQuery.getSingleResult()).longValue();
+        if (total == 0) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        Query query = entityManager.createNativeQuery("SELECT j.* " + from + FILTERS + orderBy, JobEntity.class);
+        bind(query, expression, platform, status);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<JobEntity> content = query.getResultList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private void ensureSqliteIndex() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE type = 'table' AND name = ?", Integer.class, FTS_TABLE);
+        boolean created = existing == null || existing == 0;
+
+        String columns = String.join(", ", COLUMNS);
+        String newValues = prefixed("new.");
+        String oldValues = prefixed("old.");
+        jdbcTemplate.execute("CREATE VIRTUAL TABLE IF NOT EXISTS " + FTS_TABLE + " USING fts5(" + columns
+                + ", content='" + TABLE + "', content_rowid='id', tokenize='trigram')");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS " + FTS_TABLE + "_ai AFTER INSERT ON " + TABLE + " BEGIN "
+                + "INSERT INTO " + FTS_TABLE + " (rowid, " + columns + ") VALUES (new.id, " + newValues + "); END");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS " + FTS_TABLE + "_ad AFTER DELETE ON " + TABLE + " BEGIN "
+                + "INSERT INTO " + FTS_TABLE + " (" + FTS_TABLE + ", rowid, " + columns + ") "
+                + "VALUES ('delete', old.id, " + oldValues + "); END");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS " + FTS_TABLE + "_au AFTER UPDATE OF " + columns
+                + " ON " + TABLE + " BEGIN "
+                + "INSERT INTO " + FTS_TABLE + " (" + FTS_TABLE + ", rowid, " + columns + ") "
+                + "VALUES ('delete', old.id, " + oldValues + "); "
+                + "INSERT INTO " + FTS_TABLE + " (rowid, " + columns + ") VALUES (new.id, " + newValues + "); END");
+
+        if (created) {
+            long start = System.currentTimeMillis();
+            jdbcTemplate.execute("INSERT INTO " + FTS_TABLE + " (" + FTS_TABLE + ") VALUES ('rebuild')");
+            log.info("已创建职位全文索引 {} 并完成全量重建，耗时 {}ms", FTS_TABLE, System.currentTimeMillis() - start);
+        }
+    }
+
+    private void ensureMySqlIndex() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, TABLE, MYSQL_INDEX_NAME);
+        if (existing == null || existing == 0) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD FULLTEXT INDEX " + MYSQL_INDEX_NAME
+                    + " (" + String.join(", ", COLUMNS) + ") WITH PARSER ngram");
+            log.info("已创建职位全文索引 {}", MYSQL_INDEX_NAME);
+        }
+    }
+
+    private void bind(Query query, String expression, String platform, Integer status) {
+        query.setParameter(1, expression);
+        query.setParameter(2, platform);
+        query.setParameter(3, status);
+    }
+
+    /**
+     * 构造 FTS5 查询表达式：每个词作为短语加引号，词之间隐式 AND
+     */
+    private static String toFtsQuery(String keyword) {
+        List<String> phrases = new ArrayList<>();
+        for (String term : splitTerms(keyword)) {
+            phrases.add("\"" + term.replace("\"", "\"\"") + "\"");
+        }
+        return String.join(" ", phrases);
+    }
+
+    /**
+     * 构造 MySQL 布尔模式查询表达式：每个词作为必须命中的短语
+     */
+    private static String toMySqlBooleanQuery(String keyword) {
+        List<String> phrases = new ArrayList<>();
+        for (String term : splitTerms(keyword)) {
+            phrases.add("+\"" + term.replace("\"", " ") + "\"");
+        }
+        return String.join(" ", phrases);
+    }
+
+    private static List<String> splitTerms(String keyword) {
+        return Arrays.stream(keyword.trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private static String prefixed(String prefix) {
+        return String.join(", ", Arrays.stream(COLUMNS).map(column -> prefix + column).toList());
+    }
+
+    private boolean isMySql() {
+        if (mysql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            mysql = product != null && product.toLowerCase().contains("mysql");
+        }
+        return mysql;
+    }
+}
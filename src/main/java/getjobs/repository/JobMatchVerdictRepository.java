@@ -0,0 +1,20 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.JobMatchVerdictEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+/**
+ * AI 岗位匹配结论缓存仓储
+ */
+public interface JobMatchVerdictRepository extends JpaRepository<JobMatchVerdictEntity, Long> {
+
+    /**
+     * 根据缓存键查询结论
+     *
+     * @param cacheKey 缓存键
+     * @return 结论
+     */
+    Optional<JobMatchVerdictEntity> findByCacheKey(String cacheKey);
+}
@@ -1,6 +1,10 @@
 package getjobs.repository;
 
 import getjobs.repository.entity.JobEntity;
+import getjobs.repository.projection.JobDetailFieldsDTO;
+import getjobs.repository.projection.JobFingerprintDTO;
+import getjobs.repository.projection.JobListItemDTO;
+import getjobs.repository.projection.JobTextDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,10 +13,26 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface JobRepository extends JpaRepository<JobEntity, Long> {
+public interface JobRepository extends JpaRepository<JobEntity, Long>, JobBatchUpsertRepository,
+        JobFullTextSearchRepository, JobDetailPatchRepository {
 
+    /**
+     * 列表轻量投影的字段，顺序与 {@link JobListItemDTO} 构造参数一致
+     */
+    String LIST_ITEM_COLUMNS = "j.id, j.platform, j.jobTitle, j.companyName, j.companyScale, j.salaryDesc, " +
+            "j.workCity, j.workArea, j.jobExperience, j.jobDegree, j.hrName, j.hrTitle, j.hrOnline, " +
+            "j.status, j.filterReason, j.aiMatched, j.aiMatchScore, j.isFavorite, j.isContacted, j.jobUrl, j.createdAt";
+
+    /**
+     * 按平台、状态与关键字模糊匹配分页查询职位
+     * <p>
+     * 关键字走 LIKE 全表扫描，仅在全文索引不可用或关键字过短时作为回退，见 {@link JobFullTextSearchRepository}
+     * </p>
+     */
     @Query("SELECT j FROM JobEntity j " +
             "WHERE (:platform IS NULL OR LOWER(j.platform) = LOWER(:platform)) " +
             "AND (:status IS NULL OR j.status = :status) " +
@@ -25,6 +45,70 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
             @Param("keyword") String keyword,
             Pageable pageable);
 
+    /**
+     * 职位列表轻量投影首页（按 created_at、id 倒序）
+     *
+     * @param platform 平台（可为空）
+     * @param status   状态（可为空）
+     * @param limit    条数限制（只取 pageSize，不做 count）
+     * @return 职位列表投影
+     */
+    @Query("SELECT new getjobs.repository.projection.JobListItemDTO(" + LIST_ITEM_COLUMNS + ") FROM JobEntity j " +
+            "WHERE (:platform IS NULL OR j.platform = :platform) " +
+            "AND (:status IS NULL OR j.status = :status) " +
+            "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobListItemDTO> findListItems(@Param("platform") String platform,
+            @Param("status") Integer status,
+            Pageable limit);
+
+    /**
+     * 职位列表轻量投影，从游标 (createdAt, id) 之后继续（keyset 分页）
+     * <p>
+     * {@code createdAt <= :cursorCreatedAt} 让查询可沿 (created_at, id) 索引范围扫描，而不是从头跳过 offset 行。
+     * </p>
+     *
+     * @param platform        平台（可为空）
+     * @param status          状态（可为空）
+     * @param cursorCreatedAt 上一页最后一条的创建时间
+     * @param cursorId        上一页最后一条的ID
+     * @param limit           条数限制
+     * @return 职位列表投影
+     */
+    @Query("SELECT new getjobs.repository.projection.JobListItemDTO(" + LIST_ITEM_COLUMNS + ") FROM JobEntity j " +
+            "WHERE j.createdAt <= :cursorCreatedAt " +
+            "AND (j.createdAt < :cursorCreatedAt OR j.id < :cursorId) " +
+            "AND (:platform IS NULL OR j.platform = :platform) " +
+            "AND (:status IS NULL OR j.status = :status) " +
+            "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JobListItemDTO> findListItemsAfter(@Param("platform") String platform,
+            @Param("status") Integer status,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable limit);
+
+    /**
+     * 按平台、状态统计职位数量（平台、状态均可为空）
+     *
+     * @param platform 平台
+     * @param status   状态
+     * @return 职位数量
+     */
+    @Query("SELECT COUNT(j) FROM JobEntity j " +
+            "WHERE (:platform IS NULL OR j.platform = :platform) " +
+            "AND (:status IS NULL OR j.status = :status)")
+    long countByFilter(@Param("platform") String platform, @Param("status") Integer status);
+
+    /**
+     * 查询单个职位的大字段（列表行展开时按需加载）
+     *
+     * @param id 职位ID
+     * @return 大字段投影
+     */
+    @Query("SELECT new getjobs.repository.projection.JobDetailFieldsDTO(j.id, j.jobDescription, j.jobRequirements, " +
+            "j.jobPostDescription, j.aiMatchReason, j.jobLabels, j.skills, j.welfareList) " +
+            "FROM JobEntity j WHERE j.id = :id")
+    Optional<JobDetailFieldsDTO> findDetailFieldsById(@Param("id") Long id);
+
     /**
      * 根据加密职位ID检查职位是否存在
      *
@@ -33,6 +117,26 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
      */
     boolean existsByEncryptJobId(String encryptJobId);
 
+    /**
+     * 批量查询指定平台下已存在的加密职位ID（入库去重时一次 IN 查询替代逐条 exists）
+     *
+     * @param platform      平台名称
+     * @param encryptJobIds 待检查的加密职位ID
+     * @return 其中已存在于该平台的加密职位ID
+     */
+    @Query("SELECT DISTINCT j.encryptJobId FROM JobEntity j WHERE j.platform = :platform AND j.encryptJobId IN :encryptJobIds")
+    List<String> findExistingEncryptJobIds(@Param("platform") String platform,
+            @Param("encryptJobIds") Collection<String> encryptJobIds);
+
+    /**
+     * 查询指定平台下所有已入库的加密职位ID（用于预热入库去重集合）
+     *
+     * @param platform 平台名称
+     * @return 加密职位ID列表
+     */
+    @Query("SELECT DISTINCT j.encryptJobId FROM JobEntity j WHERE j.platform = :platform AND j.encryptJobId IS NOT NULL")
+    List<String> findEncryptJobIdsByPlatform(@Param("platform") String platform);
+
     /**
      * 根据平台统计职位数量
      *
@@ -57,6 +161,24 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
      */
     JobEntity findByEncryptJobId(String encryptJobId);
 
+    /**
+     * 根据平台和加密职位ID查找职位（(platform, encrypt_job_id) 唯一）
+     *
+     * @param platform     平台名称
+     * @param encryptJobId 加密职位ID
+     * @return 职位实体
+     */
+    Optional<JobEntity> findByPlatformAndEncryptJobId(String platform, String encryptJobId);
+
+    /**
+     * 根据平台和加密职位ID列表批量查找职位
+     *
+     * @param platform      平台名称
+     * @param encryptJobIds 加密职位ID列表
+     * @return 职位实体列表
+     */
+    List<JobEntity> findAllByPlatformAndEncryptJobIdIn(String platform, Collection<String> encryptJobIds);
+
     /**
      * 查找状态不等于指定值的职位
      *
@@ -83,6 +205,14 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
      */
     List<JobEntity> findAllByEncryptJobIdOrderByCreatedAtDesc(String encryptJobId);
 
+    /**
+     * 批量按 encryptJobId 查询，按创建时间、ID 倒序（用于重复记录合并时定位最新一条）
+     *
+     * @param encryptJobIds 加密职位ID集合
+     * @return 匹配的记录
+     */
+    List<JobEntity> findAllByEncryptJobIdInOrderByCreatedAtDescIdDesc(Collection<String> encryptJobIds);
+
     /**
      * 查询存在重复的 encryptJobId 列表（同 ID 多条记录）
      *
@@ -119,6 +249,30 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
      */
     List<JobEntity> findByStatusAndPlatform(Integer status, String platform);
 
+    /**
+     * 按平台、状态分批读取职位（以 id 为游标的 keyset 分页，按 id 升序）
+     * <p>
+     * 过滤、投递过程中职位状态会变化，按 id 游标续读可保证既不漏读也不重复读，且每批都是走索引的有界查询。
+     * </p>
+     *
+     * @param platform 平台名称
+     * @param status   状态值
+     * @param afterId  上一批最后一条的ID，首批传 0
+     * @param limit    批大小
+     * @return 职位实体列表
+     */
+    List<JobEntity> findByPlatformAndStatusAndIdGreaterThanOrderByIdAsc(String platform, Integer status, Long afterId,
+            Pageable limit);
+
+    /**
+     * 按平台、状态统计职位数量
+     *
+     * @param platform 平台名称
+     * @param status   状态值
+     * @return 职位数量
+     */
+    long countByPlatformAndStatus(String platform, Integer status);
+
     /**
      * 根据平台查找职位
      *
@@ -137,6 +291,121 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
     @Query("DELETE FROM JobEntity j WHERE j.platform = :platform AND j.status NOT IN :excludeStatuses")
     void deleteByPlatformAndStatusNotIn(@Param("platform") String platform, @Param("excludeStatuses") List<Integer> excludeStatuses);
 
+    /**
+     * 重置指定平台所有职位的过滤状态（单条 UPDATE，已是待处理且无过滤原因的行不改写）
+     *
+     * @param platform  平台名称
+     * @param pending   待处理状态值
+     * @param updatedAt 更新时间
+     * @return 更新条数
+     */
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.status = :pending, j.filterReason = NULL, j.updatedAt = :updatedAt " +
+            "WHERE j.platform = :platform AND (j.status <> :pending OR j.filterReason IS NOT NULL)")
+    int resetFilterByPlatform(@Param("platform") String platform,
+            @Param("pending") Integer pending,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 将薪资范围与期望不重叠的待处理职位标记为已过滤（走 idx_job_info_salary_range 索引）
+     * <p>
+     * 未解析出结构化薪资（列为空）的职位不受影响，仍由过滤阶段逐个判断。
+     * </p>
+     *
+     * @param platform     平台名称
+     * @param pending      待处理状态值
+     * @param filtered     已过滤状态值
+     * @param minMonthly   期望最低月薪（元）
+     * @param maxMonthly   期望最高月薪（元，可为空）
+     * @param filterReason 过滤原因
+     * @param updatedAt    更新时间
+     * @return 更新条数
+     */
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.status = :filtered, j.filterReason = :filterReason, j.updatedAt = :updatedAt " +
+            "WHERE j.platform = :platform AND j.status = :pending " +
+            "AND (j.salaryMaxMonthly < :minMonthly OR (:maxMonthly IS NOT NULL AND j.salaryMinMonthly > :maxMonthly))")
+    int filterPendingBySalaryRange(@Param("platform") String platform,
+            @Param("pending") Integer pending,
+            @Param("filtered") Integer filtered,
+            @Param("minMonthly") Integer minMonthly,
+            @Param("maxMonthly") Integer maxMonthly,
+            @Param("filterReason") String filterReason,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 按加密职位ID批量更新状态与过滤原因
+     *
+     * @param platform      平台名称（可为空，为空时不限平台）
+     * @param encryptJobIds 加密职位ID
+     * @param status        新状态
+     * @param filterReason  过滤原因（为空时清空原因）
+     * @param updatedAt     更新时间
+     * @return 更新条数
+     */
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.status = :status, j.filterReason = :filterReason, j.updatedAt = :updatedAt " +
+            "WHERE j.encryptJobId IN :encryptJobIds AND (:platform IS NULL OR j.platform = :platform)")
+    int updateStatusByEncryptJobIds(@Param("platform") String platform,
+            @Param("encryptJobIds") Collection<String> encryptJobIds,
+            @Param("status") Integer status,
+            @Param("filterReason") String filterReason,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 按加密职位ID批量更新状态，过滤原因为空时保留原值
+     *
+     * @param platform      平台名称（可为空，为空时不限平台）
+     * @param encryptJobIds 加密职位ID
+     * @param status        新状态
+     * @param filterReason  原因（可为空）
+     * @param updatedAt     更新时间
+     * @return 更新条数
+     */
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.status = :status, j.filterReason = COALESCE(:filterReason, j.filterReason), " +
+            "j.updatedAt = :updatedAt " +
+            "WHERE j.encryptJobId IN :encryptJobIds AND (:platform IS NULL OR j.platform = :platform)")
+    int updateStatusKeepingReasonByEncryptJobIds(@Param("platform") String platform,
+            @Param("encryptJobIds") Collection<String> encryptJobIds,
+            @Param("status") Integer status,
+            @Param("filterReason") String filterReason,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 更新单个职位的状态、过滤原因与 AI 匹配结果（不加载实体）
+     *
+     * @param platform      平台名称
+     * @param encryptJobId  加密职位ID
+     * @param status        新状态
+     * @param filterReason  过滤原因
+     * @param aiMatched     AI 是否匹配
+     * @param aiMatchScore  AI 匹配分数
+     * @param aiMatchReason AI 匹配理由
+     * @param contentHash   过滤结论对应的职位内容指纹
+     * @param configHash    过滤结论对应的过滤配置指纹
+     * @param verdictHash   AI 匹配结论对应的 AI 结论指纹
+     * @param updatedAt     更新时间
+     * @return 更新条数
+     */
+    @Modifying
+    @Query("UPDATE JobEntity j SET j.status = :status, j.filterReason = :filterReason, j.aiMatched = :aiMatched, " +
+            "j.aiMatchScore = :aiMatchScore, j.aiMatchReason = :aiMatchReason, " +
+            "j.filterContentHash = :contentHash, j.filterConfigHash = :configHash, j.aiVerdictHash = :verdictHash, " +
+            "j.updatedAt = :updatedAt " +
+            "WHERE j.platform = :platform AND j.encryptJobId = :encryptJobId")
+    int updateStatusWithAiResult(@Param("platform") String platform,
+            @Param("encryptJobId") String encryptJobId,
+            @Param("status") Integer status,
+            @Param("filterReason") String filterReason,
+            @Param("aiMatched") Boolean aiMatched,
+            @Param("aiMatchScore") String aiMatchScore,
+            @Param("aiMatchReason") String aiMatchReason,
+            @Param("contentHash") Long contentHash,
+            @Param("configHash") Long configHash,
+            @Param("verdictHash") Long verdictHash,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
     /**
      * 删除指定平台下岗位描述（jobPostDescription）为空的记录（监控接口额外拉取、非点击岗位卡搜索的数据）
      *
@@ -146,4 +415,28 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
     @Modifying
     @Query("DELETE FROM JobEntity j WHERE j.platform = :platform AND (j.jobPostDescription IS NULL OR j.jobPostDescription = '')")
     int deleteByPlatformAndJobRequirementsEmpty(@Param("platform") String platform);
+
+    /**
+     * 查询指定状态下已计算内容指纹的职位（跨平台近似重复检测的索引数据）
+     *
+     * @param statuses 状态列表
+     * @return 职位指纹投影
+     */
+    @Query("SELECT new getjobs.repository.projection.JobFingerprintDTO(j.platform, j.encryptJobId, " +
+            "j.contentFingerprint, j.status, j.aiMatched, j.aiMatchScore, j.aiMatchReason, j.aiVerdictHash) " +
+            "FROM JobEntity j WHERE j.contentFingerprint IS NOT NULL AND j.status IN :statuses")
+    List<JobFingerprintDTO> findFingerprintsByStatusIn(@Param("statuses") Collection<Integer> statuses);
+
+    /**
+     * 按ID顺序分批读取有描述的职位文本（本地相关度评分的文档频率统计，按ID游标分页）
+     *
+     * @param afterId 上一批最后一条的ID
+     * @param limit   条数限制
+     * @return 职位文本投影
+     */
+    @Query("SELECT new getjobs.repository.projection.JobTextDTO(j.id, j.platform, j.encryptJobId, j.jobTitle, " +
+            "j.jobPostDescription, j.jobDescription) FROM JobEntity j " +
+            "WHERE j.id > :afterId AND (j.jobPostDescription IS NOT NULL OR j.jobDescription IS NOT NULL) " +
+            "ORDER BY j.id ASC")
+    List<JobTextDTO> findTextsAfterId(@Param("afterId") Long afterId, Pageable limit);
 }
@@ -1,7 +1,12 @@
 package getjobs.repository;
 
 import getjobs.repository.entity.UserProfile;
+import getjobs.repository.projection.UserProfileVersionDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 /**
  * 用户求职信息Repository
@@ -9,5 +14,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * @author getjobs
  */
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
-}
 
+    /**
+     * 查询求职信息的版本（ID、创建与更新时间），不加载 JSON 大字段
+     * <p>
+     * 保存求职信息时更新时间随之变化，调用方据此判断缓存是否需要重建。
+     * </p>
+     *
+     * @param pageable 分页参数（通常取第一条）
+     * @return 版本列表，按 ID 升序
+     */
+    @Query("SELECT new getjobs.repository.projection.UserProfileVersionDTO(p.id, p.createdAt, p.updatedAt) " +
+            "FROM UserProfile p ORDER BY p.id ASC")
+    List<UserProfileVersionDTO> findVersions(Pageable pageable);
+}
@@ -8,13 +8,21 @@ import java.math.BigDecimal;
 
 /**
  * 职位信息实体类
+ * <p>
+ * (platform, encrypt_job_id) 唯一索引不在此声明，由启动时的迁移步骤在清理历史重复记录后建立
+ * （见 {@code GetJobsDirectoryBootstrapRunner}），避免 schema 更新在存在重复数据的库上建索引失败。
+ * </p>
  * 
  * @author getjobs
  * @since v2.0.1
  */
 @Data
 @Entity
-@Table(name = "job_info")
+@Table(name = "job_info", indexes = {
+        @Index(name = "idx_job_info_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_job_info_platform_status_id", columnList = "platform, status, id"),
+        @Index(name = "idx_job_info_salary_range", columnList = "platform, status, salary_max_monthly, salary_min_monthly")
+})
 @EqualsAndHashCode(callSuper = true)
 public class JobEntity extends BaseEntity {
 
@@ -32,6 +40,24 @@ public class JobEntity extends BaseEntity {
     @Column(name = "salary_desc", length = 100)
     private String salaryDesc;
 
+    /**
+     * 最低月薪（元，由 salaryDesc 解析，无法解析时为空）
+     */
+    @Column(name = "salary_min_monthly")
+    private Integer salaryMinMonthly;
+
+    /**
+     * 最高月薪（元，由 salaryDesc 解析，无法解析时为空）
+     */
+    @Column(name = "salary_max_monthly")
+    private Integer salaryMaxMonthly;
+
+    /**
+     * 每年发放薪数（如 13、18，未注明时为空）
+     */
+    @Column(name = "salary_months")
+    private Integer salaryMonths;
+
     /**
      * 工作经验要求
      */
@@ -717,4 +743,29 @@ public class JobEntity extends BaseEntity {
      */
     @Column(name = "customer_brand_stage_name", length = 100)
     private String customerBrandStageName;
+
+    /**
+     * 职位内容指纹（名称 + 公司 + 描述的 SimHash，用于跨平台近似重复检测）
+     */
+    @Column(name = "content_fingerprint")
+    private Long contentFingerprint;
+
+    /**
+     * 当前过滤结论对应的职位内容指纹（过滤相关字段的哈希），与过滤配置指纹均未变化时不再重新过滤
+     */
+    @Column(name = "filter_content_hash")
+    private Long filterContentHash;
+
+    /**
+     * 当前过滤结论对应的过滤配置指纹（配置中的过滤字段、求职信息黑名单与职位角色、过滤规则与 AI 结论指纹的哈希）
+     */
+    @Column(name = "filter_config_hash")
+    private Long filterConfigHash;
+
+    /**
+     * 当前 AI 匹配结论对应的 AI 结论指纹（职位角色、AI 平台、匹配提示词模板版本、批量大小与职位描述压缩预算的哈希），
+     * 不含平台、城市、薪资等确定性过滤条件，近似重复职位跨平台复用结论时比较此指纹
+     */
+    @Column(name = "ai_verdict_hash")
+    private Long aiVerdictHash;
 }
@@ -0,0 +1,57 @@
+package getjobs.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * AI 岗位匹配结论缓存实体
+ * <p>
+ * 以“模板 + 求职意向 + 归一化职位描述 + 补充规则 + 平台/模型”的哈希为键，
+ * 同一内容（包括不同招聘平台上的同一职位）只调用一次 AI。
+ * </p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "job_match_verdict", indexes = {
+        @Index(name = "uk_job_match_verdict_cache_key", columnList = "cache_key", unique = true)
+})
+public class JobMatchVerdictEntity extends BaseEntity {
+
+    /**
+     * 缓存键（SHA-256 十六进制）
+     */
+    @Column(name = "cache_key", nullable = false, length = 64)
+    private String cacheKey;
+
+    /**
+     * 提示词模板 ID
+     */
+    @Column(name = "template_id", length = 100)
+    private String templateId;
+
+    /**
+     * 生成结论时使用的模型（平台:模型名）
+     */
+    @Column(name = "model", length = 100)
+    private String model;
+
+    /**
+     * 是否匹配
+     */
+    @Column(name = "matched", nullable = false)
+    private Boolean matched;
+
+    /**
+     * 判定原因
+     */
+    @Column(name = "reason", columnDefinition = "TEXT")
+    private String reason;
+
+    /**
+     * 置信度
+     */
+    @Column(name = "confidence", length = 20)
+    private String confidence;
+}
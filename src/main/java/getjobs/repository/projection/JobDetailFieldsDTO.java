@@ -0,0 +1,15 @@
+package getjobs.repository.projection;
+
+/**
+ * 职位大字段投影（列表行展开时按需加载）
+ */
+public record JobDetailFieldsDTO(
+        Long id,
+        String jobDescription,
+        String jobRequirements,
+        String jobPostDescription,
+        String aiMatchReason,
+        String jobLabels,
+        String skills,
+        String welfareList) {
+}
@@ -0,0 +1,15 @@
+package getjobs.repository.projection;
+
+/**
+ * 职位内容指纹投影（跨平台近似重复检测使用，不加载职位描述等大字段）
+ */
+public record JobFingerprintDTO(
+        String platform,
+        String encryptJobId,
+        Long contentFingerprint,
+        Integer status,
+        Boolean aiMatched,
+        String aiMatchScore,
+        String aiMatchReason,
+        Long aiVerdictHash) {
+}
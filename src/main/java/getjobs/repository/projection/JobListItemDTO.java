@@ -0,0 +1,34 @@
+package getjobs.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 职位列表轻量投影
+ * <p>
+ * 仅包含列表视图展示的字段，由 JPQL 构造器表达式直接查询，不加载职位描述、AI 匹配理由、福利等 TEXT 大字段；
+ * 大字段展开时通过 {@link JobDetailFieldsDTO} 按需获取。
+ * </p>
+ */
+public record JobListItemDTO(
+        Long id,
+        String platform,
+        String jobTitle,
+        String companyName,
+        String companyScale,
+        String salaryDesc,
+        String workCity,
+        String workArea,
+        String jobExperience,
+        String jobDegree,
+        String hrName,
+        String hrTitle,
+        Boolean hrOnline,
+        Integer status,
+        String filterReason,
+        Boolean aiMatched,
+        String aiMatchScore,
+        Boolean isFavorite,
+        Boolean isContacted,
+        String jobUrl,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,13 @@
+package getjobs.repository.projection;
+
+/**
+ * 职位文本投影（本地相关度评分统计文档频率使用，只取标题与描述）
+ */
+public record JobTextDTO(
+        Long id,
+        String platform,
+        String encryptJobId,
+        String jobTitle,
+        String jobPostDescription,
+        String jobDescription) {
+}
@@ -0,0 +1,12 @@
+package getjobs.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户求职信息版本投影（判断基于求职信息构建的缓存是否失效）
+ */
+public record UserProfileVersionDTO(
+        Long id,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}